@@ -0,0 +1,60 @@
+#!/usr/bin/env bash
+# Compares platform threads vs virtual threads under 1k and 10k concurrent clients
+# against the deal and activity list endpoints.
+#
+# Each client run is recorded with JFR (same overhead in both modes) and reports the number of
+# jdk.VirtualThreadPinned events next to the driver's throughput; any pinning at all means a carrier
+# thread was blocked. The virtual-thread app also runs with -Djdk.tracePinnedThreads=short, so the
+# frames that pinned are in target/bench-app-true.log.
+#
+# Prerequisites: MySQL configured as in application.properties, a user that may read deals/activities,
+# and enough file descriptors for 10k sockets (ulimit -n 65536).
+#
+# Usage: scripts/thread-model-benchmark.sh <email> <password> [durationSeconds]
+set -euo pipefail
+
+EMAIL=${1:?email required}
+PASSWORD=${2:?password required}
+DURATION=${3:-60}
+PORT=${PORT:-8080}
+BASE_URL="http://localhost:${PORT}"
+PATHS="/api/deals /api/activities"
+
+cd "$(dirname "$0")/.."
+
+./mvnw -q -DskipTests package
+./mvnw -q test-compile dependency:build-classpath -Dmdep.outputFile=target/bench.classpath
+DRIVER_CP="target/test-classes:$(cat target/bench.classpath)"
+APP_JAR=$(ls target/crmji-*.jar | grep -v original | head -n 1)
+
+for MODE in false true; do
+    echo "=== spring.threads.virtual.enabled=${MODE} ==="
+    JVM_OPTS=""
+    if [ "${MODE}" = true ]; then
+        JVM_OPTS="-Djdk.tracePinnedThreads=short"
+    fi
+    # shellcheck disable=SC2086
+    java ${JVM_OPTS} -jar "${APP_JAR}" --server.port="${PORT}" --spring.threads.virtual.enabled="${MODE}" \
+        --spring.jpa.show-sql=false --logging.level.org.springframework.security=WARN > "target/bench-app-${MODE}.log" 2>&1 &
+    APP_PID=$!
+    trap 'kill ${APP_PID} 2>/dev/null || true' EXIT
+
+    until curl -sf "${BASE_URL}/actuator/health" > /dev/null; do sleep 1; done
+
+    for CLIENTS in 1000 10000; do
+        echo "--- ${CLIENTS} clients, ${DURATION}s ---"
+        RECORDING="target/bench-${MODE}-${CLIENTS}.jfr"
+        # Threshold 0: every pinned park counts, not only those over the default 20 ms
+        jcmd "${APP_PID}" JFR.start name=bench settings=default "jdk.VirtualThreadPinned#threshold=0ms" > /dev/null
+        # shellcheck disable=SC2086
+        java -cp "${DRIVER_CP}" com.ConnectSphere.crmji.loadtest.ThreadModelLoadDriver \
+            "${BASE_URL}" "${EMAIL}" "${PASSWORD}" "${CLIENTS}" "${DURATION}" ${PATHS}
+        jcmd "${APP_PID}" JFR.stop name=bench filename="${RECORDING}" > /dev/null
+        PINNED=$(jfr summary "${RECORDING}" | awk '$1 == "jdk.VirtualThreadPinned" { print $2 }')
+        echo "Pinned virtual threads (jdk.VirtualThreadPinned): ${PINNED:-0}  (recording: ${RECORDING})"
+    done
+
+    kill "${APP_PID}"
+    wait "${APP_PID}" 2>/dev/null || true
+    trap - EXIT
+done
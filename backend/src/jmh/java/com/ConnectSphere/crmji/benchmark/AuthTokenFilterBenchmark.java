@@ -0,0 +1,96 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.security.AuthTokenFilter;
+import com.ConnectSphere.crmji.security.CustomUserDetailsService;
+import com.ConnectSphere.crmji.security.JwtUtils;
+import com.ConnectSphere.crmji.security.PrincipalCache;
+import com.ConnectSphere.crmji.security.RevokedTokenSet;
+import com.ConnectSphere.crmji.security.TokenRevocationService;
+import com.ConnectSphere.crmji.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokenFilter end to end: header extraction, token verification, principal resolution
+ * and security context population. The user store is an in-memory stub, so "database" mode
+ * measures the filter's own overhead around the lookup, not MySQL latency. revokedTokens other
+ * tokens are revoked, which should not change the time for a token that is not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthTokenFilterBenchmark {
+
+    @Param({"claims", "database"})
+    public String principalMode;
+
+    @Param({"0", "100000"})
+    public int revokedTokens;
+
+    private AuthTokenFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        UserPrincipal principal = BenchmarkFixtures.principal();
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService() {
+            @Override
+            public UserDetails loadUserByUsername(String email) {
+                return principal;
+            }
+
+            @Override
+            public UserDetails loadUserById(Long id) {
+                return principal;
+            }
+        };
+
+        PrincipalCache principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(principalCache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(principalCache, "maxSize", 10_000L);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 600L);
+        ReflectionTestUtils.invokeMethod(principalCache, "init");
+
+        RevokedTokenSet revoked = new RevokedTokenSet(100_000, 0.001);
+        for (int i = 0; i < revokedTokens; i++) {
+            revoked.add(UUID.randomUUID().toString(), Long.MAX_VALUE);
+        }
+        TokenRevocationService tokenRevocationService = new TokenRevocationService();
+        ReflectionTestUtils.setField(tokenRevocationService, "revokedTokens", revoked);
+
+        JwtUtils jwtUtils = BenchmarkFixtures.jwtUtils(10_000);
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "principalMode", principalMode);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+
+        authorizationHeader = "Bearer " + jwtUtils.generateJwtToken(BenchmarkFixtures.authentication(principal));
+    }
+
+    @Benchmark
+    public Authentication authenticateRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/deals");
+        request.addHeader("Authorization", authorizationHeader);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
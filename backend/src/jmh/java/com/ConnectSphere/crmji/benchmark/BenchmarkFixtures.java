@@ -0,0 +1,111 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.security.JwtUtils;
+import com.ConnectSphere.crmji.security.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the objects the benchmarks exercise, wired by hand instead of through a Spring context
+ * so that only the code under test is measured.
+ */
+final class BenchmarkFixtures {
+
+    // Same length as the secret in application.properties (HS512 needs at least 512 bits)
+    static final String JWT_SECRET =
+            "benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    static final String[] STAGES = {"PROSPECTING", "QUALIFICATION", "PROPOSAL", "NEGOTIATION", "CLOSED_WON", "CLOSED_LOST"};
+
+    private BenchmarkFixtures() {}
+
+    /**
+     * @param verifiedCacheSize size of the verified-token cache; 0 makes JwtUtils build no cache at all,
+     *                          so every call verifies the signature
+     */
+    static JwtUtils jwtUtils(long verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86_400_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaxSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+    static UserPrincipal principal() {
+        return new UserPrincipal(42L, "benchmark@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")), true);
+    }
+
+    static Authentication authentication(UserPrincipal principal) {
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    static List<Contact> contacts(int count) {
+        List<Contact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Contact contact = new Contact();
+            contact.setId((long) i);
+            contact.setFirstName("First" + i);
+            contact.setLastName("Last" + i);
+            contact.setEmail("contact" + i + "@example.com");
+            contact.setPhone("+1-555-" + (1000 + i % 9000));
+            contact.setCompany("Company " + (i % 500));
+            contact.setJobTitle("Buyer");
+            contact.setNotes("Met at the spring trade show; follow up about the enterprise plan.");
+            contact.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+            contact.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 9, 0).plusMinutes(i));
+            contacts.add(contact);
+        }
+        return contacts;
+    }
+
+    static List<Deal> deals(int count) {
+        List<Deal> deals = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Deal deal = new Deal();
+            deal.setId((long) i);
+            deal.setName("Deal " + i);
+            deal.setDescription("Annual subscription renewal with expanded seat count.");
+            deal.setValue(BigDecimal.valueOf(1_000 + (i % 97) * 250L, 2));
+            deal.setStage(STAGES[i % STAGES.length]);
+            deal.setProbability(Deal.calculateDefaultProbability(deal.getStage()));
+            deal.setCloseDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+            deal.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+            deal.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 9, 0).plusMinutes(i));
+            deals.add(deal);
+        }
+        return deals;
+    }
+
+    static List<Activity> activities(int count) {
+        List<Activity> activities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Activity activity = new Activity();
+            activity.setId((long) i);
+            activity.setType(i % 2 == 0 ? "CALL" : "MEETING");
+            activity.setSubject("Follow-up " + i);
+            activity.setNotes("Discussed pricing and next steps.");
+            activity.setDueDate(LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(i));
+            activity.setCompleted(i % 3 == 0);
+            activity.setCreatedAt(LocalDateTime.of(2024, 1, 1, 9, 0).plusMinutes(i));
+            activity.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 9, 0).plusMinutes(i));
+            activities.add(activity);
+        }
+        return activities;
+    }
+}
@@ -0,0 +1,100 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.repository.DealRepository;
+import com.ConnectSphere.crmji.repository.DealStageSummary;
+import com.ConnectSphere.crmji.service.DealService;
+import com.ConnectSphere.crmji.service.PipelineAnalytics;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deal stage probability lookup and pipeline value computation.
+ *
+ * pipelineValueInMemoryReduce is the original getTotalPipelineValue() implementation (stream reduce
+ * over every loaded deal), kept as a baseline. totalPipelineValue and pipelineAnalyticsFromStageRows
+ * measure the in-JVM part of the current SQL-aggregated service methods against a stubbed repository.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DealBenchmark {
+
+    @Param({"1000", "100000"})
+    public int dealCount;
+
+    private List<Deal> deals;
+    private DealService dealService;
+
+    @Setup
+    public void setUp() {
+        deals = BenchmarkFixtures.deals(dealCount);
+
+        List<DealStageSummary> stageRows = new ArrayList<>();
+        for (String stage : BenchmarkFixtures.STAGES) {
+            List<Deal> inStage = deals.stream().filter(deal -> deal.getStage().equals(stage)).toList();
+            BigDecimal total = inStage.stream().map(Deal::getValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+            BigDecimal weighted = inStage.stream()
+                    .map(deal -> deal.getValue().multiply(BigDecimal.valueOf(deal.getProbability())))
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            stageRows.add(stageRow(stage, inStage.size(), total, weighted));
+        }
+
+        // Repository stub answering the aggregate queries with precomputed rows
+        DealRepository repository = (DealRepository) Proxy.newProxyInstance(
+                DealRepository.class.getClassLoader(), new Class<?>[] {DealRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "summarizeByStage" -> stageRows;
+                    case "sumValue" -> stageRows.stream().map(DealStageSummary::getTotalValue).reduce(BigDecimal.ZERO, BigDecimal::add);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        dealService = new DealService();
+        ReflectionTestUtils.setField(dealService, "dealRepository", repository);
+    }
+
+    @Benchmark
+    public void calculateDefaultProbability(Blackhole blackhole) {
+        for (String stage : BenchmarkFixtures.STAGES) {
+            blackhole.consume(Deal.calculateDefaultProbability(stage));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal pipelineValueInMemoryReduce() {
+        return deals.stream()
+                .map(Deal::getValue)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal totalPipelineValue() {
+        return dealService.getTotalPipelineValue();
+    }
+
+    @Benchmark
+    public PipelineAnalytics pipelineAnalyticsFromStageRows() {
+        return dealService.getPipelineAnalytics();
+    }
+
+    private static DealStageSummary stageRow(String stage, long count, BigDecimal total, BigDecimal weighted) {
+        return new DealStageSummary() {
+            public String getStage() { return stage; }
+            public Long getDealCount() { return count; }
+            public Long getValuedDealCount() { return count; }
+            public BigDecimal getTotalValue() { return total; }
+            public BigDecimal getValueTimesProbability() { return weighted; }
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.security.JwtUtils;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.Authentication;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and verification in JwtUtils, with and without the verified-token cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils nonCachingJwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = BenchmarkFixtures.jwtUtils(10_000);
+        nonCachingJwtUtils = BenchmarkFixtures.jwtUtils(0);
+        authentication = BenchmarkFixtures.authentication(BenchmarkFixtures.principal());
+        token = cachingJwtUtils.generateJwtToken(authentication);
+        cachingJwtUtils.parseVerifiedClaims(token); // Prime the cache
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateJwtToken(authentication);
+    }
+
+    // Full HS512 signature verification and claims parsing on every call
+    @Benchmark
+    public Optional<Claims> verifyToken() {
+        return nonCachingJwtUtils.parseVerifiedClaims(token);
+    }
+
+    // Repeat request with the same bearer token: SHA-256 digest plus a cache lookup
+    @Benchmark
+    public Optional<Claims> verifyCachedToken() {
+        return cachingJwtUtils.parseVerifiedClaims(token);
+    }
+
+    @Benchmark
+    public boolean validateInvalidToken() {
+        return cachingJwtUtils.validateJwtToken(token + "tampered");
+    }
+}
@@ -0,0 +1,64 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.repository.DealListItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response encodings for a 10k-deal list: JSON or CBOR, uncompressed or gzip.
+ *
+ * Measures the CPU cost of producing the payload (serialization plus, with gzip, compression at the
+ * default level Tomcat uses). The payload size of each combination is printed once per trial, as
+ * "payload bytes: ...", above the timing results.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PayloadBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    @Param({"10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<DealListItem> deals;
+
+    @Setup
+    public void setUp() throws IOException {
+        // The same builder defaults Spring Boot applies to both message converters
+        objectMapper = "cbor".equals(format)
+                ? Jackson2ObjectMapperBuilder.cbor().build()
+                : Jackson2ObjectMapperBuilder.json().build();
+        deals = BenchmarkFixtures.deals(size).stream()
+                .map(deal -> new DealListItem(deal.getId(), deal.getName(), deal.getValue(), deal.getStage(),
+                        deal.getProbability(), deal.getCloseDate(), deal.getCreatedAt(), deal.getUpdatedAt()))
+                .toList();
+        System.out.printf("%npayload bytes: %s%s, %d deals: %,d%n",
+                format, gzip ? "+gzip" : "", size, encode().length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(buffer, 8192) : buffer) {
+            objectMapper.writeValue(out, deals);
+        }
+        return buffer.toByteArray();
+    }
+}
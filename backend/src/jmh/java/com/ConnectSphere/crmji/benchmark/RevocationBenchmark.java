@@ -0,0 +1,47 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.security.RevokedTokenSet;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request revocation check in RevokedTokenSet: a token that is not revoked (answered by the Bloom
+ * filter alone, the common case) and one that is (filter hit, then the exact map).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RevocationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int revokedTokens;
+
+    private RevokedTokenSet revoked;
+    private String revokedTokenId;
+    private String liveTokenId;
+
+    @Setup
+    public void setUp() {
+        revoked = new RevokedTokenSet(100_000, 0.001);
+        for (int i = 0; i < revokedTokens; i++) {
+            revokedTokenId = UUID.randomUUID().toString();
+            revoked.add(revokedTokenId, Long.MAX_VALUE);
+        }
+        liveTokenId = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean checkLiveToken() {
+        return revoked.contains(liveTokenId);
+    }
+
+    @Benchmark
+    public boolean checkRevokedToken() {
+        return revoked.contains(revokedTokenId);
+    }
+}
@@ -0,0 +1,55 @@
+package com.ConnectSphere.crmji.benchmark;
+
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of entity lists as returned by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"50", "500", "10000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<Deal> deals;
+    private List<Contact> contacts;
+    private List<Activity> activities;
+
+    @Setup
+    public void setUp() {
+        // Same defaults Spring Boot applies (java.time support, ISO dates)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        deals = BenchmarkFixtures.deals(size);
+        contacts = BenchmarkFixtures.contacts(size);
+        activities = BenchmarkFixtures.activities(size);
+    }
+
+    @Benchmark
+    public byte[] serializeDeals() throws Exception {
+        return objectMapper.writeValueAsBytes(deals);
+    }
+
+    @Benchmark
+    public byte[] serializeContacts() throws Exception {
+        return objectMapper.writeValueAsBytes(contacts);
+    }
+
+    @Benchmark
+    public byte[] serializeActivities() throws Exception {
+        return objectMapper.writeValueAsBytes(activities);
+    }
+}
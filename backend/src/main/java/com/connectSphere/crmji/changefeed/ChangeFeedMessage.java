@@ -0,0 +1,19 @@
+package com.ConnectSphere.crmji.changefeed;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Payload of one change feed event ("data:" line of the SSE event).
+ * @param entity the collection the record belongs to: "contacts", "leads", "deals" or "activities"
+ * @param id the record's ID
+ * @param changeType what happened to the record
+ * @param data the record as returned by its GET endpoint, already serialized to JSON (written as is),
+ *             or null for deletions
+ */
+public record ChangeFeedMessage(
+        String entity,
+        long id,
+        EntityChangeEvent.ChangeType changeType,
+        @JsonRawValue String data
+) {}
@@ -0,0 +1,157 @@
+package com.ConnectSphere.crmji.changefeed;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.model.Lead;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes committed changes to contacts, leads, deals and activities to connected clients over
+ * Server-Sent Events, so the frontend can stay current without polling the list endpoints.
+ *
+ * Each changed record is serialized once, after its transaction commits, and queued on every interested
+ * subscriber (see {@link ChangeFeedSubscriber} for buffering, coalescing and slow-client handling).
+ * The writing thread never waits for a client: events are written by virtual threads, so a client
+ * stuck in a socket write only parks its own thread.
+ *
+ * Set-based writes (bulk imports, creates, conversions and deletes) publish their own entity events,
+ * so they are pushed like any other change. Events carry an increasing ID, but there is no replay: after a reconnect, clients reload their data.
+ */
+@Service
+public class ChangeFeedService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.changes.max-subscribers:1000}") // Concurrent SSE connections accepted
+    private int maxSubscribers;
+
+    @Value("${app.changes.max-pending:1000}") // Unsent changes per subscriber before it is disconnected
+    private int maxPending;
+
+    @Value("${app.changes.timeout-ms:1800000}") // Connection lifetime; clients reconnect afterwards
+    private long timeoutMillis;
+
+    private final List<ChangeFeedSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private ExecutorService sendExecutor;
+
+    @PostConstruct
+    void init() {
+        sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        Gauge.builder("changes.subscribers", subscribers::size)
+                .description("Connected change feed clients")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.forEach(ChangeFeedSubscriber::close);
+        sendExecutor.shutdown();
+    }
+
+    /**
+     * Registers a new client.
+     * @param entities the collections to receive changes for, e.g. "deals", "activities"
+     * @return the emitter to return from the controller
+     * @throws IllegalStateException if the subscriber limit is reached
+     */
+    public SseEmitter subscribe(Set<String> entities) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many change feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, Set.copyOf(entities), maxPending, sendExecutor,
+                objectMapper);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * Queues a committed change on every subscriber. Runs immediately when the change is made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        String entity = collectionOf(event.entity());
+        if (entity == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        Long id = idOf(event.entity());
+        String data = null;
+        if (event.changeType() != EntityChangeEvent.ChangeType.DELETED) {
+            try {
+                data = objectMapper.writeValueAsString(event.entity());
+            } catch (JsonProcessingException e) {
+                logger.warn("Cannot serialize change of {} {}: {}", entity, id, e.getMessage());
+                return;
+            }
+        }
+
+        ChangeFeedSubscriber.PendingChange change = new ChangeFeedSubscriber.PendingChange(
+                sequence.incrementAndGet(), new ChangeFeedMessage(entity, id, event.changeType(), data));
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            subscriber.offer(change);
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and notices clients that went away.
+     */
+    @Scheduled(fixedDelayString = "${app.changes.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            subscriber.heartbeat();
+        }
+    }
+
+    private static String collectionOf(Object entity) {
+        return switch (entity) {
+            case Contact contact -> "contacts";
+            case Lead lead -> "leads";
+            case Deal deal -> "deals";
+            case Activity activity -> "activities";
+            default -> null;
+        };
+    }
+
+    private static Long idOf(Object entity) {
+        return switch (entity) {
+            case Contact contact -> contact.getId();
+            case Lead lead -> lead.getId();
+            case Deal deal -> deal.getId();
+            case Activity activity -> activity.getId();
+            default -> throw new IllegalArgumentException("Not a change feed entity: " + entity.getClass().getName());
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package com.ConnectSphere.crmji.changefeed;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One connected change feed client.
+ *
+ * Changes are queued in a bounded buffer keyed by record, so several changes to the same record
+ * that the client has not received yet collapse into one event carrying the latest state. Queuing
+ * never blocks: the events are written to the connection by a drain task on the feed's executor,
+ * and a client that falls so far behind that the buffer fills up is disconnected. It can reconnect
+ * and reload what it displays.
+ */
+class ChangeFeedSubscriber {
+
+    /**
+     * A change waiting to be sent; the record in it is already serialized, so building the event only
+     * wraps that JSON.
+     */
+    record PendingChange(long sequence, ChangeFeedMessage message) {}
+
+    private final SseEmitter emitter;
+    private final Set<String> entities;
+    private final int maxPending;
+    private final Executor sendExecutor;
+    private final ObjectMapper objectMapper;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<String, PendingChange> pending = new LinkedHashMap<>(); // Guarded by lock
+    private boolean draining; // Guarded by lock
+    private volatile boolean closed;
+
+    ChangeFeedSubscriber(SseEmitter emitter, Set<String> entities, int maxPending, Executor sendExecutor,
+                         ObjectMapper objectMapper) {
+        this.emitter = emitter;
+        this.entities = entities;
+        this.maxPending = maxPending;
+        this.sendExecutor = sendExecutor;
+        this.objectMapper = objectMapper;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Queues a change for this client if it subscribed to the record's collection.
+     * @param change the change to send
+     */
+    void offer(PendingChange change) {
+        ChangeFeedMessage message = change.message();
+        if (closed || !entities.contains(message.entity())) {
+            return;
+        }
+
+        boolean overflowed = false;
+        boolean startDrain = false;
+        lock.lock();
+        try {
+            String key = message.entity() + ":" + message.id();
+            PendingChange previous = pending.remove(key); // Re-inserted at the end: latest change goes last
+            if (previous != null && previous.message().changeType() == EntityChangeEvent.ChangeType.CREATED
+                    && message.changeType() == EntityChangeEvent.ChangeType.UPDATED) {
+                // The client has not seen the record yet, so it is still a creation (with the latest state)
+                change = new PendingChange(change.sequence(), new ChangeFeedMessage(message.entity(), message.id(),
+                        EntityChangeEvent.ChangeType.CREATED, message.data()));
+            }
+            pending.put(key, change);
+
+            if (pending.size() > maxPending) {
+                overflowed = true;
+                pending.clear();
+            } else if (!draining) {
+                draining = true;
+                startDrain = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (overflowed) {
+            close(); // Too slow to keep up: drop it rather than buffer without limit
+        } else if (startDrain) {
+            sendExecutor.execute(this::drain);
+        }
+    }
+
+    /**
+     * Sends an SSE comment line so proxies keep the connection open and dead connections are detected.
+     */
+    void heartbeat() {
+        lock.lock();
+        try {
+            if (draining || closed) {
+                return; // Data is flowing (or about to), which keeps the connection alive anyway
+            }
+            draining = true;
+        } finally {
+            lock.unlock();
+        }
+        sendExecutor.execute(() -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+            drain();
+        });
+    }
+
+    void close() {
+        if (!closed) {
+            closed = true;
+            emitter.complete();
+        }
+    }
+
+    /**
+     * Writes queued changes until the buffer is empty. Runs on the send executor, one task per subscriber at a time.
+     */
+    private void drain() {
+        while (!closed) {
+            List<PendingChange> batch;
+            lock.lock();
+            try {
+                if (pending.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (PendingChange change : batch) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name("change")
+                            .data(objectMapper.writeValueAsString(change.message()), MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close(); // Client went away
+            }
+        }
+    }
+}
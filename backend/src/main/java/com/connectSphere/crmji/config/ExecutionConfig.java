@@ -0,0 +1,60 @@
+package com.ConnectSphere.crmji.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.sql.Driver;
+import java.sql.DriverManager;
+
+/**
+ * Enables @Async and @Scheduled execution.
+ *
+ * Threading model is chosen with spring.threads.virtual.enabled. When true, Spring Boot runs
+ * Tomcat request handling, the @Async executor (applicationTaskExecutor) and the @Scheduled
+ * scheduler on virtual threads; when false they use the usual platform thread pools.
+ *
+ * Virtual threads only pay off if blocking calls on the request path unmount from their carrier.
+ * On JDK 21-23 a virtual thread that blocks inside a synchronized block pins its carrier, so the
+ * JDBC driver must be MySQL Connector/J 9.0+ (synchronized replaced by ReentrantLock) and the pool
+ * HikariCP 5.1+; application code on the request path uses java.util.concurrent locks only.
+ * Pinning can be observed with the JFR event jdk.VirtualThreadPinned; scripts/thread-model-benchmark.sh
+ * records it and reports the count next to each throughput figure.
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecutionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    private static final String MYSQL_DRIVER_CLASS = "com.mysql.cj.jdbc.Driver";
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Warns at startup if virtual threads are enabled on a driver that would pin carrier threads.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkVirtualThreadSupport() {
+        if (!virtualThreadsEnabled) {
+            return;
+        }
+        logger.info("Running request handling, @Async and @Scheduled work on virtual threads (JDK {})",
+                Runtime.version().feature());
+
+        DriverManager.drivers()
+                .filter(driver -> driver.getClass().getName().equals(MYSQL_DRIVER_CLASS))
+                .findFirst()
+                .map(Driver::getMajorVersion)
+                .filter(major -> major < 9)
+                .ifPresent(major -> logger.warn("MySQL Connector/J {}.x uses synchronized blocks that pin virtual "
+                        + "threads under load; upgrade to 9.0+ before enabling spring.threads.virtual.enabled", major));
+    }
+}
@@ -0,0 +1,137 @@
+package com.ConnectSphere.crmji.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Checks at startup that every derived repository finder (findByX, existsByX, ...) can use an index.
+ *
+ * For each such method the filtered properties are mapped to their columns, and at least one of them
+ * must be the leading column of an index on the entity's table (primary key, unique constraint, foreign
+ * key or an index from the migrations). A finder without one would scan the whole table, so startup
+ * fails and names the method; the fix is a new migration under db/migration.
+ *
+ * Methods with an explicit @Query are skipped; their indexes are reviewed together with the query.
+ * Disabled with app.schema.verify-finder-indexes=false.
+ */
+@Component
+public class FinderIndexVerifier implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(FinderIndexVerifier.class);
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.schema.verify-finder-indexes:true}")
+    private boolean enabled;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Repositories repositories = new Repositories(applicationContext);
+        Map<String, Set<String>> leadingColumnsByTable = new HashMap<>();
+        List<String> unindexed = new ArrayList<>();
+        int checked = 0;
+
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            AbstractEntityPersister persister = (AbstractEntityPersister)
+                    sessionFactory.getMappingMetamodel().getEntityDescriptor(domainType);
+            Set<String> leadingColumns = leadingColumnsByTable.computeIfAbsent(persister.getTableName(), this::leadingIndexColumns);
+
+            for (Method method : information.getQueryMethods()) {
+                if (method.isAnnotationPresent(Query.class)) {
+                    continue;
+                }
+                Set<String> columns = filteredColumns(new PartTree(method.getName(), domainType), persister);
+                if (columns.isEmpty()) {
+                    continue; // No WHERE clause, e.g. findAllByOrderByX
+                }
+                checked++;
+                if (columns.stream().noneMatch(leadingColumns::contains)) {
+                    unindexed.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName() + " " + columns);
+                }
+            }
+        }
+
+        if (!unindexed.isEmpty()) {
+            throw new IllegalStateException("Repository finders without a supporting index, add a migration: " + unindexed);
+        }
+        logger.info("Verified index support for {} repository finders", checked);
+    }
+
+    /**
+     * Maps the properties a derived query filters on to their columns.
+     * An association path such as contactId maps to the foreign key column.
+     */
+    private static Set<String> filteredColumns(PartTree tree, AbstractEntityPersister persister) {
+        Set<String> columns = new HashSet<>();
+        for (Part part : tree.getParts()) {
+            String property = part.getProperty().getSegment();
+            String[] propertyColumns = property.equals(persister.getIdentifierPropertyName())
+                    ? persister.getIdentifierColumnNames()
+                    : persister.getPropertyColumnNames(property);
+            Arrays.stream(propertyColumns).map(column -> column.toLowerCase(Locale.ROOT)).forEach(columns::add);
+        }
+        return columns;
+    }
+
+    /**
+     * Reads the first column of every index on a table from the JDBC metadata.
+     */
+    private Set<String> leadingIndexColumns(String table) {
+        Set<String> columns = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), tableName, false, true)) {
+                while (indexes.next()) {
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (indexes.getShort("ORDINAL_POSITION") == 1 && column != null) {
+                        columns.add(column.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not read the indexes of table " + table, e);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ConnectSphere.crmji.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary response format chosen by content negotiation.
+ *
+ * A client sending "Accept: application/cbor" receives the same objects encoded as CBOR (RFC 8949) instead
+ * of JSON: numbers, dates and field names lose their text form, so payloads are smaller and cheaper to
+ * produce and parse. JSON stays first in the converter list, so requests without that Accept header are
+ * answered as before. The CBOR mapper is built from Spring Boot's Jackson builder and so shares its
+ * spring.jackson.* settings and modules (ISO java.time values, ...).
+ *
+ * Response compression is configured separately with server.compression.* in application.properties.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * Registered by Spring Boot next to its JSON converter; replaces the default CBOR converter Spring MVC
+     * would otherwise create with a plain builder.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
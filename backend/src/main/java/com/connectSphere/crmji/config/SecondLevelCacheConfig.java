@@ -0,0 +1,83 @@
+package com.ConnectSphere.crmji.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for the entities looked up by ID most often (Contact, Deal, User)
+ * and for the User email natural-id lookup (login, /api/auth/me).
+ *
+ * Regions are bounded Caffeine caches behind the JCache API, created here so that their size and TTL
+ * come from application.properties. Entities use the READ_WRITE strategy: writes through Hibernate
+ * update or evict the cached entry when the transaction completes, so readers never see stale data.
+ * Writes that bypass Hibernate (JdbcTemplate batches, SQL run by hand) are not seen; they must evict
+ * the affected entries themselves, and the TTL bounds how long such an entry can remain stale.
+ *
+ * Hit/miss counts are published per region by Hibernate's statistics (hibernate.second.level.cache.requests,
+ * hibernate.cache.natural.id.requests) and per cache by JCache (cache.gets, cache.evictions).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Region names used in the @Cache / @NaturalIdCache annotations on the entities
+    public static final String CONTACTS_REGION = "contacts";
+    public static final String DEALS_REGION = "deals";
+    public static final String USERS_REGION = "users";
+    public static final String USERS_BY_EMAIL_REGION = "users-by-email";
+
+    private static final List<String> REGIONS = List.of(CONTACTS_REGION, DEALS_REGION, USERS_REGION, USERS_BY_EMAIL_REGION);
+
+    @Value("${app.cache.entities.max-size:10000}") // Maximum entries per region
+    private long maxSize;
+
+    @Value("${app.cache.entities.ttl-seconds:600}") // Upper bound on how long an entry is served from memory
+    private long ttlSeconds;
+
+    /**
+     * Creates the JCache manager holding one bounded cache per region.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry meterRegistry) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("crmji-second-level-cache"), getClass().getClassLoader());
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+            configuration.setStatisticsEnabled(true);
+            Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+            JCacheMetrics.monitor(meterRegistry, cache);
+        }
+        return cacheManager;
+    }
+
+    /**
+     * Points Hibernate at the cache manager above. A region without a configured cache is an error
+     * rather than an unbounded default cache.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+}
@@ -1,11 +1,16 @@
 package com.ConnectSphere.crmji.controller;
 
 import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.repository.ActivityListItem;
+import com.ConnectSphere.crmji.service.ActivityBulkService;
 import com.ConnectSphere.crmji.service.ActivityService;
+import com.ConnectSphere.crmji.service.BulkDeleteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -33,6 +38,11 @@ record UpdateActivityRequest(
         Long dealId
 ) {}
 
+// DTO for deleting many Activities at once
+record DeleteActivitiesRequest(
+        List<Long> ids
+) {}
+
 @RestController
 @RequestMapping("/api/activities")
 public class ActivityController {
@@ -40,25 +50,45 @@ public class ActivityController {
     @Autowired
     private ActivityService activityService;
 
+    @Autowired
+    private ActivityBulkService activityBulkService;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
     @GetMapping
-    public ResponseEntity<Object> getAllActivities() {
-        List<Activity> activities = activityService.getAllActivities();
-        return activities.isEmpty() ?
-                new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
-                new ResponseEntity<>(activities, HttpStatus.OK);
+    public ResponseEntity<Object> getAllActivities(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer limit,
+                                                   WebRequest request) {
+        try {
+            // Answer 304 from the table's change stamp before loading the page
+            if (ConditionalGet.notModified(request, activityService.getActivitiesChangeStamp())) {
+                return null;
+            }
+            CursorPage<ActivityListItem> page = activityService.getAllActivities(cursor, limit);
+            return page.items().isEmpty() ?
+                    new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
+                    ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(page);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getActivityById(@PathVariable Long id) {
+    public ResponseEntity<Object> getActivityById(@PathVariable Long id, WebRequest request) {
         Optional<Activity> activity = activityService.getActivityById(id);
-        return activity.isPresent() ?
-                new ResponseEntity<>(activity.get(), HttpStatus.OK) :
-                new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+        if (activity.isEmpty()) {
+            return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+        }
+        if (ConditionalGet.notModified(request, id, activity.get().getUpdatedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(activity.get());
     }
 
     @GetMapping("/contact/{contactId}")
     public ResponseEntity<Object> getActivitiesByContact(@PathVariable Long contactId) {
-        List<Activity> activities = activityService.getActivitiesByContact(contactId);
+        List<ActivityListItem> activities = activityService.getActivitiesByContact(contactId);
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -66,7 +96,7 @@ public class ActivityController {
 
     @GetMapping("/deal/{dealId}")
     public ResponseEntity<Object> getActivitiesByDeal(@PathVariable Long dealId) {
-        List<Activity> activities = activityService.getActivitiesByDeal(dealId);
+        List<ActivityListItem> activities = activityService.getActivitiesByDeal(dealId);
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -74,7 +104,7 @@ public class ActivityController {
 
     @GetMapping("/upcoming")
     public ResponseEntity<Object> getUpcomingActivities() {
-        List<Activity> activities = activityService.getUpcomingActivities();
+        List<ActivityListItem> activities = activityService.getUpcomingActivities();
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -82,7 +112,7 @@ public class ActivityController {
 
     @GetMapping("/overdue")
     public ResponseEntity<Object> getOverdueActivities() {
-        List<Activity> activities = activityService.getOverdueActivities();
+        List<ActivityListItem> activities = activityService.getOverdueActivities();
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -90,7 +120,7 @@ public class ActivityController {
 
     @GetMapping("/completed")
     public ResponseEntity<Object> getCompletedActivities() {
-        List<Activity> activities = activityService.getCompletedActivities();
+        List<ActivityListItem> activities = activityService.getCompletedActivities();
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -98,7 +128,7 @@ public class ActivityController {
 
     @GetMapping("/type/{type}")
     public ResponseEntity<Object> getActivitiesByType(@PathVariable String type) {
-        List<Activity> activities = activityService.getActivitiesByType(type);
+        List<ActivityListItem> activities = activityService.getActivitiesByType(type);
         return activities.isEmpty() ?
                 new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
                 new ResponseEntity<>(activities, HttpStatus.OK);
@@ -107,27 +137,7 @@ public class ActivityController {
     @PostMapping
     public ResponseEntity<Object> createActivity(@RequestBody CreateActivityRequest request) {
         try {
-            Activity newActivity = new Activity();
-            newActivity.setType(request.type());
-            newActivity.setSubject(request.subject());
-            newActivity.setNotes(request.notes());
-            newActivity.setDueDate(request.dueDate());
-            newActivity.setCompleted(request.completed() != null ? request.completed() : false);
-
-            // Set contact relationship if provided
-            if (request.contactId() != null) {
-                com.ConnectSphere.crmji.model.Contact contact = new com.ConnectSphere.crmji.model.Contact();
-                contact.setId(request.contactId());
-                newActivity.setContact(contact);
-            }
-
-            // Set deal relationship if provided
-            if (request.dealId() != null) {
-                com.ConnectSphere.crmji.model.Deal deal = new com.ConnectSphere.crmji.model.Deal();
-                deal.setId(request.dealId());
-                newActivity.setDeal(deal);
-            }
-
+            Activity newActivity = toActivity(request);
             Activity savedActivity = activityService.createActivity(newActivity);
             return new ResponseEntity<>(savedActivity, HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
@@ -135,6 +145,22 @@ public class ActivityController {
         }
     }
 
+    /**
+     * Creates many activities at once. All referenced contacts and deals are checked with one query each
+     * and the rows are inserted in JDBC batches; if any activity is invalid, none is created.
+     * @param requests the activities to create
+     * @return the created activities with their IDs, in request order
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<Object> createActivities(@RequestBody List<CreateActivityRequest> requests) {
+        try {
+            List<Activity> activities = requests.stream().map(this::toActivity).toList();
+            return new ResponseEntity<>(activityBulkService.createActivities(activities), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Object> updateActivity(@PathVariable Long id, @RequestBody UpdateActivityRequest request) {
         try {
@@ -175,4 +201,43 @@ public class ActivityController {
             return new ResponseEntity<>("Activity not found", HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * POST /api/activities/bulk-delete
+     * Deletes many activities with set-based DELETE ... WHERE id IN statements, in chunks.
+     * @param request the activity IDs
+     * @return the delete report, listing IDs that were not found
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Object> deleteActivities(@RequestBody DeleteActivitiesRequest request) {
+        try {
+            return new ResponseEntity<>(bulkDeleteService.deleteActivities(request.ids()), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private Activity toActivity(CreateActivityRequest request) {
+        Activity newActivity = new Activity();
+        newActivity.setType(request.type());
+        newActivity.setSubject(request.subject());
+        newActivity.setNotes(request.notes());
+        newActivity.setDueDate(request.dueDate());
+        newActivity.setCompleted(request.completed() != null ? request.completed() : false);
+
+        // Set contact relationship if provided
+        if (request.contactId() != null) {
+            com.ConnectSphere.crmji.model.Contact contact = new com.ConnectSphere.crmji.model.Contact();
+            contact.setId(request.contactId());
+            newActivity.setContact(contact);
+        }
+
+        // Set deal relationship if provided
+        if (request.dealId() != null) {
+            com.ConnectSphere.crmji.model.Deal deal = new com.ConnectSphere.crmji.model.Deal();
+            deal.setId(request.dealId());
+            newActivity.setDeal(deal);
+        }
+        return newActivity;
+    }
+}
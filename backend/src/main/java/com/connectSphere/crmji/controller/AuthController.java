@@ -3,19 +3,28 @@ package com.ConnectSphere.crmji.controller;
 import com.ConnectSphere.crmji.model.User;
 import com.ConnectSphere.crmji.repository.UserRepository;
 import com.ConnectSphere.crmji.security.JwtUtils;
+import com.ConnectSphere.crmji.security.LoginAdmission;
+import com.ConnectSphere.crmji.security.LoginRejectedException;
+import com.ConnectSphere.crmji.security.TokenRevocationService;
 import com.ConnectSphere.crmji.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * DTO for user login request
@@ -43,12 +52,20 @@ record SignupRequest(
         String role
 ) {}
 
+/**
+ * DTO for revoking a token
+ * @param token The JWT to revoke
+ */
+record RevokeTokenRequest(
+        String token
+) {}
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginAdmission loginAdmission;
 
     @Autowired
     private UserRepository userRepository;
@@ -59,22 +76,39 @@ public class AuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * POST /api/auth/login
-     * Authenticates a user and returns a JWT token
+     * Authenticates a user and returns a JWT token. The password is checked on the login pool
+     * (see LoginAdmission) and the request thread is released meanwhile.
      * @param loginRequest Login credentials (email and password)
-     * @return JWT token and user details
+     * @param request The HTTP request, for the client address attempts are counted against
+     * @return JWT token and user details, 401 (UNAUTHORIZED) for bad credentials, 429 (TOO MANY REQUESTS)
+     *         after too many failures, or 503 (SERVICE UNAVAILABLE) when too many logins are in progress
      */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        // Authenticate user credentials
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.email(), loginRequest.password())
-        );
-
-        // Set authentication in security context
-        SecurityContextHolder.getContext().setAuthentication(authentication);
+    public CompletableFuture<ResponseEntity<?>> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                                                 HttpServletRequest request) {
+        String path = request.getServletPath();
+        try {
+            return loginAdmission.authenticate(loginRequest.email(), loginRequest.password(), request.getRemoteAddr())
+                    .handle((authentication, error) -> {
+                        Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                        return switch (cause) {
+                            case null -> loginResponse(authentication);
+                            case LoginRejectedException e -> rejected(e);
+                            case AuthenticationException e -> unauthorized(e, path);
+                            default -> throw new CompletionException(cause);
+                        };
+                    });
+        } catch (LoginRejectedException e) {
+            return CompletableFuture.completedFuture(rejected(e));
+        }
+    }
 
+    private ResponseEntity<?> loginResponse(Authentication authentication) {
         // Generate JWT token
         String jwt = jwtUtils.generateJwtToken(authentication);
         UserPrincipal userDetails = (UserPrincipal) authentication.getPrincipal();
@@ -89,6 +123,22 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
 
+    // Same body as AuthEntryPointJwt, which answered failed logins before they moved off the request thread
+    private static ResponseEntity<?> unauthorized(AuthenticationException e, String path) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.UNAUTHORIZED.value());
+        body.put("error", "Unauthorized");
+        body.put("message", e.getMessage());
+        body.put("path", path);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(body);
+    }
+
+    private static ResponseEntity<?> rejected(LoginRejectedException e) {
+        return ResponseEntity.status(e.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
     /**
      * POST /api/auth/register
      * Registers a new user account
@@ -115,6 +165,48 @@ public class AuthController {
         return ResponseEntity.ok("User registered successfully!");
     }
 
+    /**
+     * POST /api/auth/logout
+     * Revokes the bearer token the request was made with, on every instance within a few seconds
+     * @param authorization The Authorization header ("Bearer ...")
+     * @return Success message, 401 if the request carries no valid token, or 400 if the token
+     *         was issued without an ID and cannot be revoked
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        String token = authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null;
+        Optional<Claims> claims = jwtUtils.parseVerifiedClaims(token);
+        if (claims.isEmpty() || tokenRevocationService.isRevoked(claims.get())) {
+            return ResponseEntity.status(401).body("Not authenticated");
+        }
+        return revoke(claims.get(), "Logged out");
+    }
+
+    /**
+     * POST /api/auth/revoke
+     * Revokes any token, e.g. one that leaked (admins only)
+     * @param request The token to revoke
+     * @return Success message, or 400 if the token is invalid, expired or cannot be revoked
+     */
+    @PostMapping("/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> revokeToken(@RequestBody RevokeTokenRequest request) {
+        Optional<Claims> claims = jwtUtils.parseVerifiedClaims(request.token());
+        if (claims.isEmpty()) {
+            return ResponseEntity.badRequest().body("Error: Token is invalid or already expired");
+        }
+        return revoke(claims.get(), "Token revoked");
+    }
+
+    private ResponseEntity<?> revoke(Claims claims, String message) {
+        try {
+            tokenRevocationService.revoke(claims);
+            return ResponseEntity.ok(message);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+        }
+    }
+
     /**
      * GET /api/auth/me
      * Returns the currently authenticated user's details
@@ -0,0 +1,74 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.changefeed.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/changes")
+@PreAuthorize("isAuthenticated()")
+public class ChangeFeedController {
+
+    private static final List<String> COLLECTIONS = List.of("contacts", "leads", "deals", "activities");
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * GET /api/changes/stream?types=deals,activities
+     * Server-Sent Events stream of committed creates, updates and deletes. Each "change" event carries
+     * {entity, id, changeType, data}, where data is the record as returned by its GET endpoint (null on delete).
+     * Several changes to one record the client has not received yet arrive as one event with the latest state.
+     * Only collections the caller may list are streamed (contacts: ADMIN, leads: ADMIN or MANAGER).
+     * A client that falls too far behind is disconnected and should reconnect and reload.
+     * @param types Comma-separated collections to stream (omit for all permitted ones).
+     * @return the event stream, 400 (BAD REQUEST) for an unknown collection,
+     *         or 503 (SERVICE UNAVAILABLE) if the subscriber limit is reached.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Object> stream(@RequestParam(required = false) List<String> types,
+                                         Authentication authentication) {
+        Set<String> collections = permittedCollections(authentication);
+        if (types != null && !types.isEmpty()) {
+            for (String type : types) {
+                if (!COLLECTIONS.contains(type)) {
+                    return new ResponseEntity<>("Unknown collection: " + type + " (use contacts, leads, deals or activities)",
+                            HttpStatus.BAD_REQUEST);
+                }
+            }
+            collections.retainAll(types);
+        }
+
+        try {
+            return new ResponseEntity<>(changeFeedService.subscribe(collections), HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    // Mirrors the access rules of the list endpoints for each collection
+    private Set<String> permittedCollections(Authentication authentication) {
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        Set<String> permitted = new LinkedHashSet<>(List.of("deals", "activities"));
+        if (roles.contains("ROLE_ADMIN")) {
+            permitted.add("contacts");
+        }
+        if (roles.contains("ROLE_ADMIN") || roles.contains("ROLE_MANAGER")) {
+            permitted.add("leads");
+        }
+        return permitted;
+    }
+}
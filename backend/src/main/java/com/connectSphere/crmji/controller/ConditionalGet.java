@@ -0,0 +1,55 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * ETag / Last-Modified validators for the GET endpoints, derived from updatedAt.
+ *
+ * A single entity's ETag is its ID and updatedAt; a list's is the table's row count and newest updatedAt
+ * ({@link ChangeStamp}), read before any row is loaded. ETags are weak because the same data may be sent in
+ * different encodings. The check answers If-None-Match (and If-Modified-Since) with 304 Not Modified and
+ * sets both validator headers on the response.
+ */
+final class ConditionalGet {
+
+    // Lets clients store the response but makes them revalidate it on every use. Without an explicit
+    // Cache-Control, Spring Security sends "no-store" and clients would never send If-None-Match.
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Checks a list request against the table's change stamp. An empty table is never "not modified",
+     * so the endpoint still answers with its usual 404.
+     * @return true if the client's copy is current and a 304 has been prepared; the handler returns null
+     */
+    static boolean notModified(WebRequest request, ChangeStamp stamp) {
+        if (stamp.getRowCount() == 0) {
+            return false;
+        }
+        String eTag = "W/\"" + stamp.getRowCount() + "-" + toEpochMillis(stamp.getLastModified()) + "\"";
+        return request.checkNotModified(eTag, toEpochMillis(stamp.getLastModified()));
+    }
+
+    /**
+     * Checks a single-entity request against the entity's updatedAt.
+     * @return true if the client's copy is current and a 304 has been prepared; the handler returns null
+     */
+    static boolean notModified(WebRequest request, Long id, LocalDateTime updatedAt) {
+        if (updatedAt == null) {
+            return false;
+        }
+        return request.checkNotModified("W/\"" + id + "-" + toEpochMillis(updatedAt) + "\"", toEpochMillis(updatedAt));
+    }
+
+    // Timestamps are written with LocalDateTime.now(), i.e. in the JVM's zone; -1 means unknown
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp == null ? -1 : timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
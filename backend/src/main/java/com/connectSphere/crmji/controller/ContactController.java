@@ -2,12 +2,18 @@ package com.ConnectSphere.crmji.controller;
 
 // Spring Web Annotations for building REST APIs
 import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.repository.ContactListItem;
+import com.ConnectSphere.crmji.service.BulkDeleteService;
+import com.ConnectSphere.crmji.service.ContactOverview;
+import com.ConnectSphere.crmji.service.ContactOverviewService;
 import com.ConnectSphere.crmji.service.ContactService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Optional;
@@ -56,6 +62,16 @@ record UpdateContactRequest(
         String notes
 ) {}
 
+/**
+ * DTO for deleting many Contacts at once.
+ * @param ids the IDs of the contacts to delete
+ * @param cascade whether to delete the contacts' deals and activities too (default false)
+ */
+record DeleteContactsRequest(
+        List<Long> ids,
+        Boolean cascade
+) {}
+
 @RestController // Marks this class as a Controller where every method returns a domain object instead of a view.
 @RequestMapping("/api/contacts") // Maps all HTTP requests starting with '/api/contacts' to this controller.
 @PreAuthorize("hasRole('ADMIN')")
@@ -65,10 +81,21 @@ public class ContactController {
     @Autowired
     private ContactService contactService;
 
+    @Autowired
+    private ContactOverviewService contactOverviewService;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
     /**
-     * GET /api/contacts
-     * Fetches all contacts in the system.
-     * @return ResponseEntity with a list of all Contacts and HTTP status 200 (OK).
+     * GET /api/contacts?cursor=...&limit=...
+     * Fetches one page of contacts. Pass the returned nextCursor to get the following page.
+     * @param cursor Opaque cursor from the previous page (omit for the first page).
+     * @param limit Page size (omit for the configured default).
+     * @param request Carries If-None-Match / If-Modified-Since for a conditional GET.
+     * @return ResponseEntity with a page of Contacts and HTTP status 200 (OK), 304 (NOT MODIFIED) if no
+     *         contact changed since the client's copy, status 404 (NOT FOUND) if there are none,
+     *         or 400 (BAD REQUEST) for an invalid cursor/limit.
      */
 //    @GetMapping
 //    public ResponseEntity<List<Contact>> getAllContacts() {
@@ -78,17 +105,28 @@ public class ContactController {
 //        return new ResponseEntity<>(contacts, HttpStatus.OK);
 //    }
     @GetMapping
-    public ResponseEntity<Object> getAllContacts() {
-        // Delegate the call to the Service layer
-        List<Contact> contacts = contactService.getAllContacts();
+    public ResponseEntity<Object> getAllContacts(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer limit,
+                                                 WebRequest request) {
+        try {
+            // Answer 304 from the table's change stamp before loading the page
+            if (ConditionalGet.notModified(request, contactService.getContactsChangeStamp())) {
+                return null;
+            }
+            // Delegate the call to the Service layer
+            CursorPage<ContactListItem> page = contactService.getAllContacts(cursor, limit);
 
-        // Check if the list is empty
-        if (contacts.isEmpty()) {
-            // Return a message with a NOT_FOUND status
-            return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
-        } else {
-            // Wrap the list in a ResponseEntity with an OK status
-            return new ResponseEntity<>(contacts, HttpStatus.OK);
+            // Check if the page is empty
+            if (page.items().isEmpty()) {
+                // Return a message with a NOT_FOUND status
+                return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+            } else {
+                // Wrap the page in a ResponseEntity with an OK status
+                return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(page);
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor or limit
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -96,24 +134,45 @@ public class ContactController {
      * GET /api/contacts/{id}
      * Fetches a single contact by its unique ID.
      * @param id The path variable representing the Contact's ID.
-     * @return ResponseEntity with the found Contact and status 200 (OK),
-     *         or status 404 (NOT FOUND) if the contact doesn't exist.
+     * @param request Carries If-None-Match / If-Modified-Since for a conditional GET.
+     * @return ResponseEntity with the found Contact and status 200 (OK), 304 (NOT MODIFIED) if it is
+     *         unchanged since the client's copy, or status 404 (NOT FOUND) if the contact doesn't exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getContactById(@PathVariable Long id) {
+    public ResponseEntity<Object> getContactById(@PathVariable Long id, WebRequest request) {
         // Service returns an Optional to handle the "not found" case
         Optional<Contact> contact = contactService.getContactById(id);
 
         // Use a conditional check to handle the two cases
         if (contact.isPresent()) {
+            // The contact usually comes from the second-level cache; 304 skips serializing it
+            if (ConditionalGet.notModified(request, id, contact.get().getUpdatedAt())) {
+                return null;
+            }
             // If found, return the contact with an OK status
-            return new ResponseEntity<>(contact.get(), HttpStatus.OK);
+            return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(contact.get());
         } else {
             // If empty, return a "no data" message with a NOT_FOUND status
             return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
         }
     }
 
+    /**
+     * GET /api/contacts/{id}/overview
+     * Fetches everything the contact page shows in one request: the contact, its most recent deals,
+     * its deal totals per stage and its most recent activities. The queries run concurrently.
+     * @param id The path variable representing the Contact's ID.
+     * @return ResponseEntity with the ContactOverview and status 200 (OK),
+     *         or status 404 (NOT FOUND) if the contact doesn't exist.
+     */
+    @GetMapping("/{id}/overview")
+    public ResponseEntity<Object> getContactOverview(@PathVariable Long id) {
+        Optional<ContactOverview> overview = contactOverviewService.getOverview(id);
+        return overview.isPresent() ?
+                new ResponseEntity<>(overview.get(), HttpStatus.OK) :
+                new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+    }
+
     /**
      * POST /api/contacts
      * Creates a new contact.
@@ -208,4 +267,22 @@ public class ContactController {
             return new ResponseEntity<>("Contact not found", HttpStatus.NOT_FOUND);
         }
     }
+
+    /**
+     * POST /api/contacts/bulk-delete
+     * Deletes many contacts with set-based statements, in chunks. Contacts that still have deals or
+     * activities are kept and reported as blocked unless cascade is true.
+     * @param request The contact IDs and the cascade flag.
+     * @return ResponseEntity with the delete report and HTTP status 200 (OK), or 400 (BAD REQUEST) if no
+     *         or too many IDs are given.
+     */
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Object> deleteContacts(@RequestBody DeleteContactsRequest request) {
+        try {
+            return new ResponseEntity<>(bulkDeleteService.deleteContacts(request.ids(),
+                    Boolean.TRUE.equals(request.cascade())), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
 }
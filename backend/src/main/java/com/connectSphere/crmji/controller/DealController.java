@@ -1,12 +1,17 @@
 package com.ConnectSphere.crmji.controller;
 
 import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.repository.DealListItem;
+import com.ConnectSphere.crmji.service.BulkDeleteService;
 import com.ConnectSphere.crmji.service.DealService;
+import com.ConnectSphere.crmji.service.PipelineAnalytics;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -34,6 +39,12 @@ record UpdateDealRequest(
         Long contactId
 ) {}
 
+// DTO for deleting many Deals at once; cascade also deletes their activities (default false)
+record DeleteDealsRequest(
+        List<Long> ids,
+        Boolean cascade
+) {}
+
 @RestController
 @RequestMapping("/api/deals")
 public class DealController {
@@ -41,32 +52,51 @@ public class DealController {
     @Autowired
     private DealService dealService;
 
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
     /**
-     * GET /api/deals
-     * Fetches all deals in the system.
+     * GET /api/deals?cursor=...&limit=...
+     * Fetches one page of deals. Pass the returned nextCursor to get the following page.
+     * Answers 304 (NOT MODIFIED) if no deal changed since the client's copy (If-None-Match).
      */
     @GetMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Object> getAllDeals() {
-        List<Deal> deals = dealService.getAllDeals();
-        if (deals.isEmpty()) {
-            return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
-        } else {
-            return new ResponseEntity<>(deals, HttpStatus.OK);
+    public ResponseEntity<Object> getAllDeals(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              WebRequest request) {
+        try {
+            // Answer 304 from the table's change stamp before loading the page
+            if (ConditionalGet.notModified(request, dealService.getDealsChangeStamp())) {
+                return null;
+            }
+            CursorPage<DealListItem> page = dealService.getAllDeals(cursor, limit);
+            if (page.items().isEmpty()) {
+                return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+            } else {
+                return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(page);
+            }
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
      * GET /api/deals/{id}
      * Fetches a single deal by its unique ID.
+     * Answers 304 (NOT MODIFIED) if the deal is unchanged since the client's copy (If-None-Match).
      */
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Object> getDealById(@PathVariable Long id) {
+    public ResponseEntity<Object> getDealById(@PathVariable Long id, WebRequest request) {
         Optional<Deal> deal = dealService.getDealById(id);
-        return deal.isPresent() ?
-                new ResponseEntity<>(deal.get(), HttpStatus.OK) :
-                new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+        if (deal.isEmpty()) {
+            return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+        }
+        if (ConditionalGet.notModified(request, id, deal.get().getUpdatedAt())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(deal.get());
     }
 
     /**
@@ -75,7 +105,7 @@ public class DealController {
      */
     @GetMapping("/contact/{contactId}")
     public ResponseEntity<Object> getDealsByContactId(@PathVariable Long contactId) {
-        List<Deal> deals = dealService.getDealsByContactId(contactId);
+        List<DealListItem> deals = dealService.getDealsByContactId(contactId);
         if (deals.isEmpty()) {
             return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
         } else {
@@ -89,7 +119,7 @@ public class DealController {
      */
     @GetMapping("/stage/{stage}")
     public ResponseEntity<Object> getDealsByStage(@PathVariable String stage) {
-        List<Deal> deals = dealService.getDealsByStage(stage);
+        List<DealListItem> deals = dealService.getDealsByStage(stage);
         if (deals.isEmpty()) {
             return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
         } else {
@@ -107,13 +137,24 @@ public class DealController {
         return new ResponseEntity<>(totalValue, HttpStatus.OK);
     }
 
+    /**
+     * GET /api/deals/stats/pipeline
+     * Gets per-stage deal count, total value, probability-weighted value and average deal size,
+     * plus the same figures for the whole pipeline, aggregated by the database in one query.
+     */
+    @GetMapping("/stats/pipeline")
+    public ResponseEntity<PipelineAnalytics> getPipelineAnalytics() {
+        PipelineAnalytics analytics = dealService.getPipelineAnalytics();
+        return new ResponseEntity<>(analytics, HttpStatus.OK);
+    }
+
     /**
      * GET /api/deals/closing-soon
      * Fetches deals closing within the next 30 days.
      */
     @GetMapping("/closing-soon")
     public ResponseEntity<Object> getDealsClosingSoon() {
-        List<Deal> deals = dealService.getDealsClosingSoon();
+        List<DealListItem> deals = dealService.getDealsClosingSoon();
         if (deals.isEmpty()) {
             return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
         } else {
@@ -195,4 +236,20 @@ public class DealController {
             return new ResponseEntity<>("Deal not found", HttpStatus.NOT_FOUND);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * POST /api/deals/bulk-delete
+     * Deletes many deals with set-based statements, in chunks. Deals that still have activities are
+     * kept and reported as blocked unless cascade is true. Answers 400 if no or too many IDs are given.
+     */
+    @PostMapping("/bulk-delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Object> deleteDeals(@RequestBody DeleteDealsRequest request) {
+        try {
+            return new ResponseEntity<>(bulkDeleteService.deleteDeals(request.ids(),
+                    Boolean.TRUE.equals(request.cascade())), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.dedup.DuplicateReport;
+import com.ConnectSphere.crmji.dedup.DuplicateScanService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/duplicates")
+@PreAuthorize("hasRole('ADMIN')")
+public class DuplicateController {
+
+    @Autowired
+    private DuplicateScanService duplicateScanService;
+
+    /**
+     * GET /api/duplicates
+     * Returns the clusters of probable duplicate contacts and leads found by the last scan.
+     * @return ResponseEntity with the DuplicateReport and status 200 (OK),
+     *         status 503 (SERVICE UNAVAILABLE) while the first scan is still running,
+     *         or 404 (NOT FOUND) with "no data" message if no scan has been run.
+     */
+    @GetMapping
+    public ResponseEntity<Object> getDuplicates() {
+        DuplicateReport report = duplicateScanService.getLatestReport();
+        if (report != null) {
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        }
+        return duplicateScanService.isScanning() ?
+                new ResponseEntity<>("Duplicate scan in progress, try again shortly", HttpStatus.SERVICE_UNAVAILABLE) :
+                new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * POST /api/duplicates/scan
+     * Scans all contacts and leads for probable duplicates in the background.
+     * @return status 202 (ACCEPTED) if a scan was started, or 409 (CONFLICT) if one is already running.
+     */
+    @PostMapping("/scan")
+    public ResponseEntity<Object> scan() {
+        return duplicateScanService.startScan() ?
+                new ResponseEntity<>("Duplicate scan started", HttpStatus.ACCEPTED) :
+                new ResponseEntity<>("A duplicate scan is already running", HttpStatus.CONFLICT);
+    }
+}
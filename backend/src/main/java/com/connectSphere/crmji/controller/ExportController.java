@@ -0,0 +1,65 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.service.ExportFormat;
+import com.ConnectSphere.crmji.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+
+@RestController
+@RequestMapping("/api/export")
+@PreAuthorize("hasRole('ADMIN')")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * GET /api/export/{entity}?format=ndjson|csv
+     * Streams every row of contacts, leads, deals or activities as NDJSON (default) or CSV.
+     * Rows are written while they are read from the database, so memory stays flat regardless of table size.
+     * @param entity one of "contacts", "leads", "deals", "activities"
+     * @param format "ndjson" or "csv"
+     * @return a streaming response, or 400 (BAD REQUEST) for an unknown entity or format
+     */
+    @GetMapping("/{entity}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String entity,
+                                                        @RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.fromParameter(format);
+        } catch (IllegalArgumentException e) {
+            return badRequest(e.getMessage());
+        }
+
+        StreamingResponseBody body = switch (entity) {
+            case "contacts" -> out -> exportService.exportContacts(out, exportFormat);
+            case "leads" -> out -> exportService.exportLeads(out, exportFormat);
+            case "deals" -> out -> exportService.exportDeals(out, exportFormat);
+            case "activities" -> out -> exportService.exportActivities(out, exportFormat);
+            default -> null;
+        };
+        if (body == null) {
+            return badRequest("Unknown export entity: " + entity);
+        }
+
+        String fileName = entity + "." + exportFormat.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> badRequest(String message) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .contentType(MediaType.TEXT_PLAIN)
+                .body(out -> out.write(message.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -1,13 +1,27 @@
 package com.ConnectSphere.crmji.controller;
 
+import com.ConnectSphere.crmji.model.Deal;
 import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.repository.LeadListItem;
+import com.ConnectSphere.crmji.service.LeadConversionService;
+import com.ConnectSphere.crmji.service.LeadImportReport;
+import com.ConnectSphere.crmji.service.LeadImportService;
 import com.ConnectSphere.crmji.service.LeadService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -58,6 +72,37 @@ record UpdateLeadStatusRequest(
         String status
 ) {}
 
+/**
+ * DTO for converting leads into contacts.
+ * Exactly one of leadIds and status selects the leads.
+ * @param leadIds The IDs of the leads to convert.
+ * @param status Convert every unconverted lead with this status (e.g. "QUALIFIED").
+ * @param deal Optional initial deal to create for each converted lead.
+ */
+record ConvertLeadsRequest(
+        List<Long> leadIds,
+        String status,
+        InitialDealRequest deal
+) {}
+
+/**
+ * DTO for the initial deal created with each converted lead. All fields are optional:
+ * the name defaults to the lead's company (or name), the stage to PROSPECTING and the
+ * probability to the stage's default.
+ * @param name
+ * @param stage
+ * @param value
+ * @param probability
+ * @param closeDate
+ */
+record InitialDealRequest(
+        String name,
+        String stage,
+        BigDecimal value,
+        Integer probability,
+        LocalDate closeDate
+) {}
+
 @RestController // Marks this class as a Controller where every method returns a domain object instead of a view.
 @RequestMapping("/api/leads") // Maps all HTTP requests starting with '/api/leads' to this controller.
 @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -67,24 +112,47 @@ public class LeadController {
     @Autowired
     private LeadService leadService;
 
+    @Autowired
+    private LeadImportService leadImportService;
+
+    @Autowired
+    private LeadConversionService leadConversionService;
+
     /**
-     * GET /api/leads
-     * Fetches all leads in the system.
-     * @return ResponseEntity with a list of all Leads and HTTP status 200 (OK),
-     *         or status 404 (NOT FOUND) with "no data" message if no leads exist.
+     * GET /api/leads?cursor=...&limit=...
+     * Fetches one page of leads. Pass the returned nextCursor to get the following page.
+     * @param cursor Opaque cursor from the previous page (omit for the first page).
+     * @param limit Page size (omit for the configured default).
+     * @param request Carries If-None-Match / If-Modified-Since for a conditional GET.
+     * @return ResponseEntity with a page of Leads and HTTP status 200 (OK),
+     *         304 (NOT MODIFIED) if no lead changed since the client's copy,
+     *         status 404 (NOT FOUND) with "no data" message if no leads exist,
+     *         or 400 (BAD REQUEST) for an invalid cursor/limit.
      */
     @GetMapping
-    public ResponseEntity<Object> getAllLeads() {
-        // Delegate the call to the Service layer
-        List<Lead> leads = leadService.getAllLeads();
+    public ResponseEntity<Object> getAllLeads(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer limit,
+                                              WebRequest request) {
+        try {
+            // Answer 304 from the table's change stamp before loading the page
+            if (ConditionalGet.notModified(request, leadService.getLeadsChangeStamp())) {
+                return null;
+            }
 
-        // Check if the list is empty
-        if (leads.isEmpty()) {
-            // Return a message with a NOT_FOUND status
-            return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
-        } else {
-            // Wrap the list in a ResponseEntity with an OK status
-            return new ResponseEntity<>(leads, HttpStatus.OK);
+            // Delegate the call to the Service layer
+            CursorPage<LeadListItem> page = leadService.getAllLeads(cursor, limit);
+
+            // Check if the page is empty
+            if (page.items().isEmpty()) {
+                // Return a message with a NOT_FOUND status
+                return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
+            } else {
+                // Wrap the page in a ResponseEntity with an OK status
+                return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(page);
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed cursor or limit
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
@@ -92,18 +160,23 @@ public class LeadController {
      * GET /api/leads/{id}
      * Fetches a single lead by its unique ID.
      * @param id The path variable representing the Lead's ID.
+     * @param request Carries If-None-Match / If-Modified-Since for a conditional GET.
      * @return ResponseEntity with the found Lead and status 200 (OK),
+     *         304 (NOT MODIFIED) if it is unchanged since the client's copy,
      *         or status 404 (NOT FOUND) with "no data" message if the lead doesn't exist.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Object> getLeadById(@PathVariable Long id) {
+    public ResponseEntity<Object> getLeadById(@PathVariable Long id, WebRequest request) {
         // Service returns an Optional to handle the "not found" case
         Optional<Lead> lead = leadService.getLeadById(id);
 
         // Use a conditional check to handle the two cases
         if (lead.isPresent()) {
+            if (ConditionalGet.notModified(request, id, lead.get().getUpdatedAt())) {
+                return null;
+            }
             // If found, return the lead with an OK status
-            return new ResponseEntity<>(lead.get(), HttpStatus.OK);
+            return ResponseEntity.ok().cacheControl(ConditionalGet.REVALIDATE).body(lead.get());
         } else {
             // If empty, return a "no data" message with a NOT_FOUND status
             return new ResponseEntity<>("no data", HttpStatus.NOT_FOUND);
@@ -153,6 +226,82 @@ public class LeadController {
         return new ResponseEntity<>(savedLead, HttpStatus.CREATED);
     }
 
+    /**
+     * POST /api/leads/import (Content-Type: text/csv)
+     * Bulk-imports leads from a CSV request body. The body is parsed as it streams in.
+     * @param request The HTTP request whose body is the CSV file (with a header row).
+     * @return ResponseEntity with the import report and status 200 (OK),
+     *         or status 400 (BAD REQUEST) if the file is empty, malformed or lacks required columns.
+     */
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Object> importLeads(HttpServletRequest request) {
+        try (InputStream body = request.getInputStream()) {
+            return runImport(body);
+        } catch (IOException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/leads/import (multipart/form-data, part "file")
+     * Bulk-imports leads from an uploaded CSV file.
+     * @param file The uploaded CSV file (with a header row).
+     * @return ResponseEntity with the import report and status 200 (OK),
+     *         or status 400 (BAD REQUEST) if the file is empty, malformed or lacks required columns.
+     */
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Object> importLeadsFile(@RequestParam("file") MultipartFile file) {
+        try (InputStream body = file.getInputStream()) {
+            return runImport(body);
+        } catch (IOException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private ResponseEntity<Object> runImport(InputStream body) throws IOException {
+        try {
+            LeadImportReport report = leadImportService.importCsv(body);
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/leads/convert
+     * Converts leads into contacts (linking leads whose email already belongs to a contact), optionally
+     * creating an initial deal for each, and marks them CONVERTED. Runs in chunked transactions.
+     * @param request The leads to convert, by ID or by status, and the optional initial deal.
+     * @return ResponseEntity with the conversion report and status 200 (OK),
+     *         or status 400 (BAD REQUEST) if the selection or deal is invalid.
+     */
+    @PostMapping("/convert")
+    public ResponseEntity<Object> convertLeads(@RequestBody ConvertLeadsRequest request) {
+        boolean byIds = request.leadIds() != null && !request.leadIds().isEmpty();
+        boolean byStatus = request.status() != null && !request.status().isBlank();
+        if (byIds == byStatus) {
+            return new ResponseEntity<>("Provide either leadIds or status", HttpStatus.BAD_REQUEST);
+        }
+
+        Deal initialDeal = null;
+        if (request.deal() != null) {
+            initialDeal = new Deal();
+            initialDeal.setName(request.deal().name());
+            initialDeal.setStage(request.deal().stage());
+            initialDeal.setValue(request.deal().value());
+            initialDeal.setProbability(request.deal().probability());
+            initialDeal.setCloseDate(request.deal().closeDate());
+        }
+
+        try {
+            return new ResponseEntity<>(byIds
+                    ? leadConversionService.convertByIds(request.leadIds(), initialDeal)
+                    : leadConversionService.convertByStatus(request.status(), initialDeal), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * PUT /api/leads/{id}
      * Fully updates an existing lead. Updates only the fields provided in the request.
@@ -0,0 +1,105 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.search.SearchDocumentType;
+import com.ConnectSphere.crmji.search.SearchHit;
+import com.ConnectSphere.crmji.search.SearchIndexService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/api/search")
+@PreAuthorize("isAuthenticated()")
+public class SearchController {
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Value("${app.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${app.search.max-limit:100}")
+    private int maxLimit;
+
+    /**
+     * GET /api/search?q=...&types=contacts,leads,activities&limit=...
+     * Ranked full-text search over contact names, companies, job titles and notes, leads, and activity
+     * subjects and notes. Every word must match; words of two or more characters also match as prefixes.
+     * Only record types the caller may list are searched (contacts: ADMIN, leads: ADMIN or MANAGER).
+     * @param q the search text.
+     * @param types Comma-separated record types to search (omit for all permitted types).
+     * @param limit Maximum number of hits (omit for the configured default).
+     * @return ResponseEntity with the hits, best first, and status 200 (OK),
+     *         status 404 (NOT FOUND) with "no data" message if nothing matches,
+     *         400 (BAD REQUEST) for an empty query or invalid types/limit,
+     *         or 503 (SERVICE UNAVAILABLE) while the index is still being built after startup.
+     */
+    @GetMapping
+    public ResponseEntity<Object> search(@RequestParam String q,
+                                         @RequestParam(required = false) List<String> types,
+                                         @RequestParam(required = false) Integer limit,
+                                         Authentication authentication) {
+        if (!searchIndexService.isReady()) {
+            return new ResponseEntity<>("Search index is being built, try again shortly", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        try {
+            if (q.isBlank()) {
+                throw new IllegalArgumentException("Search query must not be empty");
+            }
+            int resolvedLimit = limit == null ? defaultLimit : limit;
+            if (resolvedLimit < 1 || resolvedLimit > maxLimit) {
+                throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+            }
+
+            Set<SearchDocumentType> searchTypes = permittedTypes(authentication);
+            if (types != null && !types.isEmpty()) {
+                searchTypes.retainAll(types.stream().map(SearchDocumentType::fromParameter).collect(Collectors.toSet()));
+            }
+
+            List<SearchHit> hits = searchIndexService.search(q, searchTypes, resolvedLimit);
+            return hits.isEmpty() ?
+                    new ResponseEntity<>("no data", HttpStatus.NOT_FOUND) :
+                    new ResponseEntity<>(hits, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * POST /api/search/reindex
+     * Rebuilds the search index from the database in the background; the current index keeps serving meanwhile.
+     * @return status 202 (ACCEPTED) if a rebuild was started, or 409 (CONFLICT) if one is already running.
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Object> reindex() {
+        return searchIndexService.startRebuild() ?
+                new ResponseEntity<>("Search index rebuild started", HttpStatus.ACCEPTED) :
+                new ResponseEntity<>("A search index rebuild is already running", HttpStatus.CONFLICT);
+    }
+
+    // Mirrors the access rules of the list endpoints for each record type
+    private Set<SearchDocumentType> permittedTypes(Authentication authentication) {
+        Set<String> roles = authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet());
+        Set<SearchDocumentType> permitted = EnumSet.of(SearchDocumentType.ACTIVITY);
+        if (roles.contains("ROLE_ADMIN")) {
+            permitted.add(SearchDocumentType.CONTACT);
+        }
+        if (roles.contains("ROLE_ADMIN") || roles.contains("ROLE_MANAGER")) {
+            permitted.add(SearchDocumentType.LEAD);
+        }
+        return permitted;
+    }
+}
@@ -0,0 +1,76 @@
+package com.ConnectSphere.crmji.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Primary/replica data sources, enabled with app.datasource.replica.enabled=true.
+ *
+ * The primary pool is built from spring.datasource.* as Spring Boot would build it, the replica pool from
+ * app.datasource.replica.* (credentials default to the primary's). The application's DataSource is a
+ * {@link ReadWriteRoutingDataSource} over both, behind a LazyConnectionDataSourceProxy so the route is
+ * chosen once the transaction's read-only flag is known. Flyway, JPA and JdbcTemplate all use that
+ * DataSource; migrations run outside read-only transactions and therefore on the primary.
+ *
+ * The pools are named "primary" and "replica", which is the pool tag of the hikaricp.* metrics.
+ * Spring Boot applies the {@link RoutingContextTaskDecorator} bean to applicationTaskExecutor, and the
+ * contact overview applies it to its own pool, so queries run there are routed as on the submitting thread.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${app.datasource.replica.url}") String url,
+            @Value("${app.datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.replica.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${app.datasource.replica.read-your-writes-ms:5000}") long readYourWritesMs, // Reads stay on the primary this long after a user's write
+            @Value("${app.datasource.replica.max-tracked-writers:10000}") long maxTrackedWriters) {
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, Duration.ofMillis(readYourWritesMs), maxTrackedWriters);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public RoutingContextTaskDecorator routingContextTaskDecorator() {
+        return new RoutingContextTaskDecorator();
+    }
+}
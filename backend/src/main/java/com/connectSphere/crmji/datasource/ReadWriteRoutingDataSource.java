@@ -0,0 +1,123 @@
+package com.ConnectSphere.crmji.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routes connections to the primary or the read replica.
+ *
+ * A connection taken inside a read-only transaction ({@code @Transactional(readOnly = true)}, including
+ * Spring Data's read-only repository methods) goes to the replica; everything else, writes and
+ * non-transactional access alike, goes to the primary. The decision is made when the connection is
+ * first used, so this data source must sit behind a LazyConnectionDataSourceProxy: transaction managers
+ * open the connection before the transaction's read-only flag is published.
+ *
+ * Read-your-writes: once a read-write transaction of an authenticated user commits, that user's reads
+ * stay on the primary for the configured window, which should exceed the replica's usual lag.
+ * Code that must see the latest data regardless can wrap the call in {@link #readFromPrimary(Supplier)}.
+ * Writes made outside a transaction (autocommit JDBC) do not start the window. Both the user and the
+ * readFromPrimary flag are thread-bound; {@link RoutingContextTaskDecorator} carries them onto the
+ * application task executor.
+ */
+public final class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA
+    }
+
+    // Set while the current thread runs inside readFromPrimary
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    // Users whose read-write transaction committed within the read-your-writes window
+    private final Cache<String, Boolean> recentWriters;
+
+    /**
+     * @param primary the data source receiving writes and non-read-only work
+     * @param replica the data source receiving read-only transactions
+     * @param readYourWritesWindow how long a user's reads stay on the primary after they commit a write
+     * @param maxTrackedWriters maximum number of users tracked within the window
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow,
+                                      long maxTrackedWriters) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maxTrackedWriters)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+    }
+
+    /**
+     * Runs work with every connection routed to the primary, including read-only transactions.
+     * @param work the work to run, typically a call to a read-only service method
+     * @return the work's result
+     */
+    public static <T> T readFromPrimary(Supplier<T> work) {
+        Boolean previous = PRIMARY_FORCED.get();
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_FORCED.remove();
+            } else {
+                PRIMARY_FORCED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * @return true if the current thread runs inside {@link #readFromPrimary(Supplier)}
+     */
+    static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+                // Equal markers collapse in the synchronization set, so this registers once per transaction
+                TransactionSynchronizationManager.registerSynchronization(new WriteMarker(user, recentWriters));
+            }
+            return Route.PRIMARY;
+        }
+        if (isPrimaryForced() || (user != null && recentWriters.getIfPresent(user) != null)) {
+            return Route.PRIMARY;
+        }
+        return Route.REPLICA;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Starts the user's read-your-writes window when their read-write transaction commits.
+     */
+    private record WriteMarker(String user, Cache<String, Boolean> recentWriters) implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+}
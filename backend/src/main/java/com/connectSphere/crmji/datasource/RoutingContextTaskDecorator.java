@@ -0,0 +1,28 @@
+package com.ConnectSphere.crmji.datasource;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+/**
+ * Carries the routing context of the submitting thread onto executor threads.
+ *
+ * {@link ReadWriteRoutingDataSource} decides per connection from the current user (for the
+ * read-your-writes window) and the {@link ReadWriteRoutingDataSource#readFromPrimary} flag, both held in
+ * thread locals. Work handed to an executor would otherwise run without either and read from the replica
+ * inside the window. The task runs with a copy of the submitter's SecurityContext and primary flag, and
+ * the executor thread's own are restored afterwards.
+ */
+public class RoutingContextTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        Runnable task = ReadWriteRoutingDataSource.isPrimaryForced()
+                ? () -> ReadWriteRoutingDataSource.readFromPrimary(() -> {
+                    runnable.run();
+                    return null;
+                })
+                : runnable;
+        // Captures the SecurityContext now, on the submitting thread
+        return new DelegatingSecurityContextRunnable(task);
+    }
+}
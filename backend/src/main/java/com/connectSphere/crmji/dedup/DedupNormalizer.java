@@ -0,0 +1,140 @@
+package com.ConnectSphere.crmji.dedup;
+
+import org.apache.commons.codec.language.DoubleMetaphone;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalizes the fields compared by duplicate detection, so that formatting differences
+ * ("ACME, Inc." / "Acme Inc", "Jane.Doe+crm@gmail.com" / "janedoe@gmail.com") do not hide a match.
+ */
+final class DedupNormalizer {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    // Company name words that carry no identity
+    private static final Set<String> COMPANY_STOP_WORDS = Set.of(
+            "inc", "incorporated", "llc", "ltd", "limited", "corp", "corporation", "co", "company",
+            "gmbh", "ag", "sa", "sarl", "bv", "nv", "plc", "pty", "srl", "the", "and", "group", "holdings");
+
+    // Shared by unrelated people, so useless as a blocking key
+    private static final Set<String> FREE_MAIL_DOMAINS = Set.of(
+            "gmail.com", "googlemail.com", "yahoo.com", "hotmail.com", "outlook.com", "live.com", "msn.com",
+            "icloud.com", "me.com", "aol.com", "gmx.com", "gmx.de", "web.de", "proton.me", "protonmail.com", "mail.com");
+
+    private static final DoubleMetaphone METAPHONE = new DoubleMetaphone();
+
+    private DedupNormalizer() {}
+
+    /**
+     * @return the letters and digits of the text, lower-cased and without accents ("" for null)
+     */
+    static String compact(String text) {
+        return String.join("", words(text));
+    }
+
+    /**
+     * @return the company name without punctuation and legal-form words ("" for null)
+     */
+    static String company(String company) {
+        StringBuilder normalized = new StringBuilder();
+        for (String word : words(company)) {
+            if (!COMPANY_STOP_WORDS.contains(word)) {
+                normalized.append(word);
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Lower-cases an email and drops the "+tag" part of the local part; for Gmail, also the dots,
+     * which Gmail ignores.
+     * @return the normalized address, or "" if there is none
+     */
+    static String email(String email) {
+        if (email == null) {
+            return "";
+        }
+        String trimmed = email.trim().toLowerCase(Locale.ROOT);
+        int at = trimmed.lastIndexOf('@');
+        if (at <= 0 || at == trimmed.length() - 1) {
+            return "";
+        }
+        String local = trimmed.substring(0, at);
+        String domain = trimmed.substring(at + 1);
+        int plus = local.indexOf('+');
+        if (plus > 0) {
+            local = local.substring(0, plus);
+        }
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            local = local.replace(".", "");
+            domain = "gmail.com";
+        }
+        return local + "@" + domain;
+    }
+
+    /**
+     * @param normalizedEmail an address returned by {@link #email(String)}
+     * @return the domain, or "" if there is none or it is a free-mail provider
+     */
+    static String companyDomain(String normalizedEmail) {
+        int at = normalizedEmail.lastIndexOf('@');
+        if (at < 0) {
+            return "";
+        }
+        String domain = normalizedEmail.substring(at + 1);
+        return FREE_MAIL_DOMAINS.contains(domain) ? "" : domain;
+    }
+
+    /**
+     * @param normalizedEmail an address returned by {@link #email(String)}
+     * @return the part before the @, letters and digits only
+     */
+    static String emailLocalPart(String normalizedEmail) {
+        int at = normalizedEmail.lastIndexOf('@');
+        return at < 0 ? "" : compact(normalizedEmail.substring(0, at));
+    }
+
+    /**
+     * @return the last 10 digits of the number (dropping country and trunk prefixes), or "" if it has fewer than 7
+     */
+    static String phone(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < phone.length(); i++) {
+            if (Character.isDigit(phone.charAt(i))) {
+                digits.append(phone.charAt(i));
+            }
+        }
+        if (digits.length() < 7) {
+            return "";
+        }
+        return digits.length() > 10 ? digits.substring(digits.length() - 10) : digits.toString();
+    }
+
+    /**
+     * @param compactName a name returned by {@link #compact(String)}
+     * @return its Double Metaphone code, so "Smith" and "Smyth" agree; the name itself if it has no code
+     */
+    static String phonetic(String compactName) {
+        if (compactName.isEmpty()) {
+            return "";
+        }
+        String code = METAPHONE.doubleMetaphone(compactName);
+        return code == null || code.isEmpty() ? compactName : code;
+    }
+
+    private static String[] words(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String cleaned = normalized.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        return cleaned.isEmpty() ? new String[0] : cleaned.split(" ");
+    }
+}
@@ -0,0 +1,33 @@
+package com.ConnectSphere.crmji.dedup;
+
+/**
+ * The fields of a contact or lead that duplicate detection looks at. Also used to list cluster members.
+ * @param source the table the record comes from
+ * @param id the record's ID
+ * @param firstName first name
+ * @param lastName last name
+ * @param email email address, may be null
+ * @param phone phone number, may be null
+ * @param company company name, may be null
+ */
+public record DedupRecord(
+        DedupSource source,
+        long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String company
+) {
+
+    /**
+     * Identifies a record without its fields.
+     * @param source the table the record comes from
+     * @param id the record's ID
+     */
+    public record Key(DedupSource source, long id) {}
+
+    public Key key() {
+        return new Key(source, id);
+    }
+}
@@ -0,0 +1,10 @@
+package com.ConnectSphere.crmji.dedup;
+
+/**
+ * The table a duplicate candidate comes from. Leads and contacts are compared with each other too,
+ * since a lead is often a person who is already a contact.
+ */
+public enum DedupSource {
+    CONTACT,
+    LEAD
+}
@@ -0,0 +1,310 @@
+package com.ConnectSphere.crmji.dedup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Finds clusters of probable duplicates among contacts and leads without comparing every pair.
+ *
+ * Each record is put into a few buckets, and only records sharing a bucket are compared:
+ * <ul>
+ *   <li>blocking keys: same normalized email, same phone number, same phonetic first + last name,
+ *       same normalized company + phonetic last name, same company email domain + phonetic last name;</li>
+ *   <li>MinHash/LSH: a MinHash signature of the character trigrams of name, company and email local part
+ *       is cut into {@code bands} bands of {@code rows} values, and each band is a bucket. Two records
+ *       with trigram similarity s share at least one band with probability 1 - (1 - s^rows)^bands,
+ *       an S-curve that is steep around (1/bands)^(1/rows).</li>
+ * </ul>
+ * A compared pair is a match if it has the same normalized email, the same phone and (non-empty) phonetic last name,
+ * the same phonetic full name and the same company or company domain, or an estimated trigram similarity
+ * of at least {@code threshold}. Matches are merged transitively with union-find.
+ *
+ * Buckets are found by sorting one packed (bucket hash, record number) long per key, so the cost is
+ * O(n log n) plus the comparisons inside buckets. Buckets larger than {@code maxBucketSize} (a very
+ * common name, a shared switchboard number) are skipped, which keeps the total near-linear; their
+ * records can still meet through their other keys.
+ *
+ * Records are kept as hashes and signatures only (about 200 bytes each), so millions fit in memory.
+ * Not thread-safe: one detector serves one scan.
+ */
+public class DuplicateDetector {
+
+    private static final int SHINGLE_LENGTH = 3;
+
+    /**
+     * Candidate clusters found by {@link #findClusters()}.
+     * @param clusters groups of two or more records, largest first
+     * @param skippedBuckets buckets that exceeded the size limit and were not compared within
+     */
+    public record Result(List<List<DedupRecord.Key>> clusters, long skippedBuckets) {}
+
+    private final int bands;
+    private final int rows;
+    private final int signatureLength;
+    private final double threshold;
+    private final int maxBucketSize;
+
+    // MinHash functions h_i(x) = (a_i * x + b_i) >>> 32
+    private final long[] multipliers;
+    private final long[] increments;
+
+    // Per record, in parallel arrays indexed by record number
+    private int count;
+    private DedupSource[] sources = new DedupSource[1024];
+    private long[] ids = new long[1024];
+    private long[] emailHashes = new long[1024];
+    private long[] phoneHashes = new long[1024];
+    private long[] fullNameHashes = new long[1024];
+    private long[] lastNameHashes = new long[1024];
+    private long[] companyHashes = new long[1024];
+    private long[] domainHashes = new long[1024];
+    private int[] signatures;
+
+    // (32-bit bucket hash << 32) | record number
+    private long[] postings = new long[8192];
+    private int postingCount;
+
+    /**
+     * @param bands LSH bands
+     * @param rows MinHash values per band
+     * @param threshold estimated trigram similarity at or above which two records match
+     * @param maxBucketSize buckets with more records than this are not compared within
+     */
+    public DuplicateDetector(int bands, int rows, double threshold, int maxBucketSize) {
+        if (bands < 1 || rows < 1 || threshold <= 0 || threshold > 1 || maxBucketSize < 2) {
+            throw new IllegalArgumentException("bands and rows must be positive, threshold in (0, 1] and maxBucketSize at least 2");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.signatureLength = bands * rows;
+        this.threshold = threshold;
+        this.maxBucketSize = maxBucketSize;
+        this.signatures = new int[1024 * signatureLength];
+
+        // Fixed seed: the same data always gives the same clusters
+        SplittableRandom random = new SplittableRandom(0x5EEDL);
+        multipliers = new long[signatureLength];
+        increments = new long[signatureLength];
+        for (int i = 0; i < signatureLength; i++) {
+            multipliers[i] = random.nextLong() | 1L;
+            increments[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * @return the number of records added
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Adds a record to compare.
+     * @param record the record
+     */
+    public void add(DedupRecord record) {
+        ensureCapacity(count + 1);
+        int number = count++;
+
+        String firstName = DedupNormalizer.compact(record.firstName());
+        String lastName = DedupNormalizer.compact(record.lastName());
+        String company = DedupNormalizer.company(record.company());
+        String email = DedupNormalizer.email(record.email());
+        String domain = DedupNormalizer.companyDomain(email);
+        String phone = DedupNormalizer.phone(record.phone());
+        String lastNameCode = DedupNormalizer.phonetic(lastName);
+        String fullNameCode = lastNameCode.isEmpty() ? "" : DedupNormalizer.phonetic(firstName) + "|" + lastNameCode;
+
+        sources[number] = record.source();
+        ids[number] = record.id();
+        emailHashes[number] = hash(email);
+        phoneHashes[number] = hash(phone);
+        fullNameHashes[number] = hash(fullNameCode);
+        lastNameHashes[number] = hash(lastNameCode);
+        companyHashes[number] = hash(company);
+        domainHashes[number] = hash(domain);
+
+        addPosting("e", email, number);
+        addPosting("p", phone, number);
+        addPosting("n", fullNameCode, number);
+        if (!lastNameCode.isEmpty()) {
+            addPosting("c", company.isEmpty() ? "" : company + "|" + lastNameCode, number);
+            addPosting("d", domain.isEmpty() ? "" : domain + "|" + lastNameCode, number);
+        }
+
+        String text = firstName + " " + lastName + " " + company + " " + DedupNormalizer.emailLocalPart(email);
+        if (computeSignature(text.trim(), number)) {
+            int offset = number * signatureLength;
+            for (int band = 0; band < bands; band++) {
+                long bandHash = band;
+                for (int row = 0; row < rows; row++) {
+                    bandHash = mix(bandHash * 31 + signatures[offset + band * rows + row]);
+                }
+                appendPosting(bandHash, number);
+            }
+        }
+    }
+
+    /**
+     * Compares the records sharing a bucket and groups the matches.
+     * @return the clusters of two or more records, largest first
+     */
+    public Result findClusters() {
+        long[] sorted = Arrays.copyOf(postings, postingCount);
+        Arrays.sort(sorted);
+
+        UnionFind clusters = new UnionFind(count);
+        long skippedBuckets = 0;
+        int start = 0;
+        while (start < sorted.length) {
+            long bucket = sorted[start] >>> 32;
+            int end = start + 1;
+            while (end < sorted.length && sorted[end] >>> 32 == bucket) {
+                end++;
+            }
+            if (end - start > maxBucketSize) {
+                skippedBuckets++;
+            } else {
+                for (int i = start; i < end; i++) {
+                    int a = (int) sorted[i];
+                    for (int j = i + 1; j < end; j++) {
+                        int b = (int) sorted[j];
+                        if (clusters.find(a) != clusters.find(b) && matches(a, b)) {
+                            clusters.union(a, b);
+                        }
+                    }
+                }
+            }
+            start = end;
+        }
+
+        Map<Integer, List<DedupRecord.Key>> byRoot = new HashMap<>();
+        for (int number = 0; number < count; number++) {
+            if (clusters.sizeOf(number) > 1) {
+                byRoot.computeIfAbsent(clusters.find(number), root -> new ArrayList<>())
+                        .add(new DedupRecord.Key(sources[number], ids[number]));
+            }
+        }
+        List<List<DedupRecord.Key>> result = new ArrayList<>(byRoot.values());
+        result.sort(Comparator.<List<DedupRecord.Key>>comparingInt(List::size).reversed()
+                .thenComparingLong(cluster -> cluster.get(0).id()));
+        return new Result(result, skippedBuckets);
+    }
+
+    private boolean matches(int a, int b) {
+        if (emailHashes[a] != 0 && emailHashes[a] == emailHashes[b]) {
+            return true;
+        }
+        if (phoneHashes[a] != 0 && phoneHashes[a] == phoneHashes[b]
+                && lastNameHashes[a] != 0 && lastNameHashes[a] == lastNameHashes[b]) {
+            return true;
+        }
+        if (fullNameHashes[a] != 0 && fullNameHashes[a] == fullNameHashes[b]
+                && ((companyHashes[a] != 0 && companyHashes[a] == companyHashes[b])
+                    || (domainHashes[a] != 0 && domainHashes[a] == domainHashes[b]))) {
+            return true;
+        }
+        return estimatedSimilarity(a, b) >= threshold;
+    }
+
+    /**
+     * Fraction of equal MinHash values, an unbiased estimate of the trigram Jaccard similarity.
+     */
+    private double estimatedSimilarity(int a, int b) {
+        int offsetA = a * signatureLength;
+        int offsetB = b * signatureLength;
+        int equal = 0;
+        for (int i = 0; i < signatureLength; i++) {
+            if (signatures[offsetA + i] == signatures[offsetB + i]) {
+                equal++;
+            }
+        }
+        return (double) equal / signatureLength;
+    }
+
+    /**
+     * Computes the MinHash signature of the text's character trigrams into the record's slot.
+     * @return false if the text is too short to have trigrams (the record then takes no part in LSH)
+     */
+    private boolean computeSignature(String text, int number) {
+        int offset = number * signatureLength;
+        Arrays.fill(signatures, offset, offset + signatureLength, Integer.MAX_VALUE);
+        if (text.length() < SHINGLE_LENGTH) {
+            return false;
+        }
+        for (int start = 0; start + SHINGLE_LENGTH <= text.length(); start++) {
+            long shingle = mix(((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2));
+            for (int i = 0; i < signatureLength; i++) {
+                int value = (int) ((multipliers[i] * shingle + increments[i]) >>> 32);
+                if (value < signatures[offset + i]) {
+                    signatures[offset + i] = value;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addPosting(String kind, String value, int number) {
+        if (!value.isEmpty()) {
+            appendPosting(hash(kind + ":" + value), number);
+        }
+    }
+
+    private void appendPosting(long bucketHash, int number) {
+        if (postingCount == postings.length) {
+            postings = Arrays.copyOf(postings, postings.length * 2);
+        }
+        // A collision of the 32-bit bucket hashes only adds comparisons, never a false match
+        postings[postingCount++] = (bucketHash & 0xFFFFFFFF00000000L) | number;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int newLength = ids.length * 2;
+        sources = Arrays.copyOf(sources, newLength);
+        ids = Arrays.copyOf(ids, newLength);
+        emailHashes = Arrays.copyOf(emailHashes, newLength);
+        phoneHashes = Arrays.copyOf(phoneHashes, newLength);
+        fullNameHashes = Arrays.copyOf(fullNameHashes, newLength);
+        lastNameHashes = Arrays.copyOf(lastNameHashes, newLength);
+        companyHashes = Arrays.copyOf(companyHashes, newLength);
+        domainHashes = Arrays.copyOf(domainHashes, newLength);
+        signatures = Arrays.copyOf(signatures, newLength * signatureLength);
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finalized with {@link #mix(long)}; 0 for the empty string.
+     */
+    private static long hash(String value) {
+        if (value.isEmpty()) {
+            return 0;
+        }
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        long mixed = mix(hash);
+        return mixed == 0 ? 1 : mixed;
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,26 @@
+package com.ConnectSphere.crmji.dedup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Result of a duplicate scan.
+ * @param scannedAt when the scan finished
+ * @param durationMs how long the scan took
+ * @param scannedRecords number of contacts and leads compared
+ * @param clusterCount number of candidate clusters found
+ * @param duplicateRecords number of records that belong to a cluster
+ * @param skippedBuckets blocking buckets too large to compare within (their records may still match through other keys)
+ * @param clusters the largest clusters, largest first, each with its records
+ * @param truncated true if more clusters were found than listed
+ */
+public record DuplicateReport(
+        LocalDateTime scannedAt,
+        long durationMs,
+        long scannedRecords,
+        int clusterCount,
+        long duplicateRecords,
+        long skippedBuckets,
+        List<List<DedupRecord>> clusters,
+        boolean truncated
+) {}
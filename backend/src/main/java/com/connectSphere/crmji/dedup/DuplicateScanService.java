@@ -0,0 +1,197 @@
+package com.ConnectSphere.crmji.dedup;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs duplicate scans over all contacts and the leads not converted yet with a {@link DuplicateDetector}
+ * and keeps the latest report. A converted lead is left out: it carries the same email and name as the
+ * contact it was converted into.
+ *
+ * A scan streams both tables once (the detector keeps only hashes and signatures per record), runs in
+ * the background because it takes seconds to minutes on millions of rows, and loads the full records
+ * only for the clusters it reports.
+ */
+@Service
+public class DuplicateScanService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DuplicateScanService.class);
+
+    // How many rows may accumulate in the persistence context before it is cleared during a scan
+    private static final int CLEAR_INTERVAL = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Value("${app.dedup.bands:8}") // LSH bands; with 4 rows the match probability rises steeply around 0.6 similarity
+    private int bands;
+
+    @Value("${app.dedup.rows:4}") // MinHash values per band
+    private int rows;
+
+    @Value("${app.dedup.threshold:0.6}") // Estimated trigram similarity of name, company and email at which records match
+    private double threshold;
+
+    @Value("${app.dedup.max-bucket-size:1000}") // Larger candidate buckets are skipped to keep the scan near-linear
+    private int maxBucketSize;
+
+    @Value("${app.dedup.max-reported-clusters:500}") // Clusters listed in the report, largest first
+    private int maxReportedClusters;
+
+    private final AtomicBoolean scanning = new AtomicBoolean();
+    private volatile DuplicateReport latestReport;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * @return the report of the last finished scan, or null if none has finished yet
+     */
+    public DuplicateReport getLatestReport() {
+        return latestReport;
+    }
+
+    /**
+     * @return true while a scan is running
+     */
+    public boolean isScanning() {
+        return scanning.get();
+    }
+
+    /**
+     * Starts a scan on a background thread.
+     * @return false if a scan is already running
+     * @throws RejectedExecutionException if the executor does not accept the scan; a later call can retry
+     */
+    public boolean startScan() {
+        if (!scanning.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    latestReport = scan();
+                } catch (RuntimeException e) {
+                    logger.error("Duplicate scan failed", e);
+                } finally {
+                    scanning.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            scanning.set(false); // The task never runs, so its finally block cannot clear the flag
+            throw e;
+        }
+        return true;
+    }
+
+    private DuplicateReport scan() {
+        long start = System.nanoTime();
+        DuplicateDetector detector = new DuplicateDetector(bands, rows, threshold, maxBucketSize);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            load(contactRepository.streamAllForExport(), detector, DuplicateScanService::toRecord);
+            load(leadRepository.streamUnconverted(), detector, DuplicateScanService::toRecord);
+        });
+
+        DuplicateDetector.Result result = detector.findClusters();
+        List<List<DedupRecord.Key>> reported = result.clusters().subList(0, Math.min(result.clusters().size(), maxReportedClusters));
+        long duplicateRecords = result.clusters().stream().mapToLong(List::size).sum();
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Duplicate scan compared {} records in {} ms: {} clusters, {} oversized buckets skipped",
+                detector.size(), durationMs, result.clusters().size(), result.skippedBuckets());
+
+        return new DuplicateReport(LocalDateTime.now(), durationMs, detector.size(), result.clusters().size(),
+                duplicateRecords, result.skippedBuckets(), loadMembers(reported),
+                result.clusters().size() > reported.size());
+    }
+
+    private <T> void load(Stream<T> rows, DuplicateDetector detector, Function<T, DedupRecord> mapper) {
+        try (rows) {
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                detector.add(mapper.apply(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear(); // Detach scanned rows so memory stays flat
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the keys of the reported clusters with the records' current fields, with one query per table.
+     * Records deleted since the scan are left out.
+     */
+    private List<List<DedupRecord>> loadMembers(List<List<DedupRecord.Key>> clusters) {
+        List<Long> contactIds = new ArrayList<>();
+        List<Long> leadIds = new ArrayList<>();
+        for (List<DedupRecord.Key> cluster : clusters) {
+            for (DedupRecord.Key key : cluster) {
+                (key.source() == DedupSource.CONTACT ? contactIds : leadIds).add(key.id());
+            }
+        }
+        Map<DedupRecord.Key, DedupRecord> records = new HashMap<>();
+        contactRepository.findAllById(contactIds).stream().map(DuplicateScanService::toRecord)
+                .forEach(record -> records.put(record.key(), record));
+        leadRepository.findAllById(leadIds).stream().map(DuplicateScanService::toRecord)
+                .forEach(record -> records.put(record.key(), record));
+
+        List<List<DedupRecord>> members = new ArrayList<>(clusters.size());
+        for (List<DedupRecord.Key> cluster : clusters) {
+            members.add(cluster.stream().map(records::get).filter(Objects::nonNull).toList());
+        }
+        return members;
+    }
+
+    private static DedupRecord toRecord(Contact contact) {
+        return new DedupRecord(DedupSource.CONTACT, contact.getId(), contact.getFirstName(), contact.getLastName(),
+                contact.getEmail(), contact.getPhone(), contact.getCompany());
+    }
+
+    private static DedupRecord toRecord(Lead lead) {
+        return new DedupRecord(DedupSource.LEAD, lead.getId(), lead.getFirstName(), lead.getLastName(),
+                lead.getEmail(), lead.getPhone(), lead.getCompany());
+    }
+}
@@ -0,0 +1,52 @@
+package com.ConnectSphere.crmji.dedup;
+
+import java.util.Arrays;
+
+/**
+ * Disjoint-set forest over 0..n-1 with union by size and path halving (near-constant time per operation).
+ */
+final class UnionFind {
+
+    private final int[] parent;
+    private final int[] size;
+
+    UnionFind(int count) {
+        parent = new int[count];
+        size = new int[count];
+        for (int i = 0; i < count; i++) {
+            parent[i] = i;
+        }
+        Arrays.fill(size, 1);
+    }
+
+    int find(int element) {
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * @return false if both were already in the same set
+     */
+    boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int swap = rootA;
+            rootA = rootB;
+            rootB = swap;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        return true;
+    }
+
+    int sizeOf(int element) {
+        return size[find(element)];
+    }
+}
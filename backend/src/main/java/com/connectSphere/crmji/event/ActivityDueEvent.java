@@ -0,0 +1,12 @@
+package com.ConnectSphere.crmji.event;
+
+import com.ConnectSphere.crmji.model.Activity;
+
+/**
+ * Application event published when an open activity reaches its due date (a reminder).
+ * Published from the activity scheduler's thread, outside any transaction.
+ * @param activity a detached snapshot of the activity (relationships not loaded)
+ */
+public record ActivityDueEvent(
+        Activity activity
+) {}
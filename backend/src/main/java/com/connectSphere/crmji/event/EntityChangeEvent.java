@@ -0,0 +1,20 @@
+package com.ConnectSphere.crmji.event;
+
+/**
+ * Application event published whenever a listened-to entity is inserted, updated or deleted.
+ * Published from inside the writing transaction; listeners that need committed data should use
+ * {@code @TransactionalEventListener} (AFTER_COMMIT).
+ * @param changeType what happened to the entity
+ * @param entity the entity instance as it was written
+ */
+public record EntityChangeEvent(
+        ChangeType changeType,
+        Object entity
+) {
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
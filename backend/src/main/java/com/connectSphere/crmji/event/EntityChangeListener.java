@@ -0,0 +1,36 @@
+package com.ConnectSphere.crmji.event;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns entity lifecycle callbacks into {@link EntityChangeEvent}s.
+ * Register it on an entity with {@code @EntityListeners(EntityChangeListener.class)}.
+ * Spring Boot configures Hibernate to obtain entity listeners from the application context,
+ * so this is a regular Spring bean with injected dependencies.
+ */
+@Component
+public class EntityChangeListener {
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.CREATED, entity));
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.UPDATED, entity));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.DELETED, entity));
+    }
+}
@@ -1,14 +1,18 @@
 package com.ConnectSphere.crmji.model;
 
+import com.ConnectSphere.crmji.event.EntityChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class) // Publishes change events (search index, activity scheduler, change feed)
+@SQLRestriction("deleted_at is null") // Soft-deleted rows (tombstones, see BulkDeleteService) are invisible to JPA queries
 @Table(name = "activities")
 @Data
 @NoArgsConstructor
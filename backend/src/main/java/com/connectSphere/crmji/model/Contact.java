@@ -1,15 +1,24 @@
 package com.ConnectSphere.crmji.model;
 
+import com.ConnectSphere.crmji.config.SecondLevelCacheConfig;
+import com.ConnectSphere.crmji.event.EntityChangeListener;
 // JPA Persistence Annotations
 import jakarta.persistence.*;
 // Lombok annotations to reduce boilerplate code
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 // Java Time API for handling dates
 import java.time.LocalDateTime;
 
 @Entity // Marks this class as a JPA Entity, meaning it will be mapped to a database table.
+@EntityListeners(EntityChangeListener.class) // Publishes change events (search index, change feed)
+@Cacheable // Lookups by ID are served from the second-level cache (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CONTACTS_REGION)
+@SQLRestriction("deleted_at is null") // Soft-deleted rows (tombstones, see BulkDeleteService) are invisible to JPA queries
 @Table(name = "contacts") // Explicitly specifies the name of the database table.
 @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods.
 @NoArgsConstructor // Lombok: Generates a no-argument constructor.
@@ -1,16 +1,25 @@
 package com.ConnectSphere.crmji.model;
 
+import com.ConnectSphere.crmji.config.SecondLevelCacheConfig;
+import com.ConnectSphere.crmji.event.EntityChangeListener;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity // Marks this class as a JPA Entity, meaning it will be mapped to a database table.
+@EntityListeners(EntityChangeListener.class) // Publishes change events (change feed)
+@Cacheable // Lookups by ID are served from the second-level cache (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.DEALS_REGION)
+@SQLRestriction("deleted_at is null") // Soft-deleted rows (tombstones, see BulkDeleteService) are invisible to JPA queries
 @Table(name = "deals") // Explicitly specifies the name of the database table.
 @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods.
 @NoArgsConstructor // Lombok: Generates a no-argument constructor.
@@ -75,7 +84,7 @@ public class Deal {
      * @param stage The current stage of the deal
      * @return Default probability percentage (0-100)
      */
-    private int calculateDefaultProbability(String stage) {
+    public static int calculateDefaultProbability(String stage) {
         return switch (stage.toUpperCase()) {
             case "PROSPECTING" -> 10;
             case "QUALIFICATION" -> 25;
@@ -1,6 +1,7 @@
 package com.ConnectSphere.crmji.model;
 
 
+import com.ConnectSphere.crmji.event.EntityChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -9,6 +10,7 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity // Marks this class as a JPA Entity, meaning it will be mapped to a database table.
+@EntityListeners(EntityChangeListener.class) // Publishes change events (search index, change feed)
 @Table(name = "leads") // Explicitly specifies the name of the database table.
 @Data // Lombok: Generates getters, setters, toString, equals, and hashCode methods.
 @NoArgsConstructor // Lombok: Generates a no-argument constructor.
@@ -36,6 +38,12 @@ public class Lead {
     @Column(name = "status", length = 100)
     private String status;
 
+    @Column(name = "converted_contact_id") // The contact this lead was converted into, null until converted
+    private Long convertedContactId;
+
+    @Column(name = "converted_at")
+    private LocalDateTime convertedAt;
+
     @Column(name = "created_at", updatable = false) // 'updatable = false' means this value is set once and never updated.
     private LocalDateTime createdAt;
 
@@ -1,5 +1,7 @@
 package com.ConnectSphere.crmji.model;
 
+import com.ConnectSphere.crmji.config.SecondLevelCacheConfig;
+import com.ConnectSphere.crmji.event.EntityChangeListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -7,10 +9,18 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityChangeListener.class) // Publishes change events (e.g. to invalidate cached principals)
+@Cacheable // Lookups by ID and by email are served from the second-level cache (see SecondLevelCacheConfig)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.USERS_REGION)
+@NaturalIdCache(region = SecondLevelCacheConfig.USERS_BY_EMAIL_REGION)
 @Table(name = "users", uniqueConstraints = {
         @UniqueConstraint(columnNames = "email") // Ensures email addresses are unique in the database
 })
@@ -36,6 +46,7 @@ public class User {
     @NotBlank(message = "Email is required")
     @Size(max = 100, message = "Email cannot exceed 100 characters")
     @Email(message = "Email should be valid")
+    @NaturalId // Login identifier; never changed after sign-up, so the email -> ID resolution can be cached
     @Column(name = "email")
     private String email;
 
@@ -0,0 +1,16 @@
+package com.ConnectSphere.crmji.pagination;
+
+import java.util.List;
+
+/**
+ * One page of a keyset (cursor) paginated listing.
+ * @param items the rows on this page, ordered by ID ascending
+ * @param nextCursor opaque token to pass back as {@code cursor} to fetch the next page, or null on the last page
+ * @param hasMore true if at least one more row exists after this page
+ * @param <T> the type of the rows
+ */
+public record CursorPage<T>(
+        List<T> items,
+        String nextCursor,
+        boolean hasMore
+) {}
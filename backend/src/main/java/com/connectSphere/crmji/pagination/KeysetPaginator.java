@@ -0,0 +1,91 @@
+package com.ConnectSphere.crmji.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Shared helper for keyset (cursor) pagination on the primary key.
+ *
+ * Pages are fetched with "WHERE id > :lastSeenId ORDER BY id LIMIT :n", which is an index range
+ * scan on the primary key, so page 10,000 costs the same as page 1 (no OFFSET scan).
+ * The cursor handed to clients is an opaque, URL-safe token wrapping the last ID of the page.
+ */
+@Component
+public class KeysetPaginator {
+
+    private static final String CURSOR_PREFIX = "v1:";
+
+    @Value("${app.pagination.default-limit:50}") // Page size used when the client does not send a limit
+    private int defaultLimit;
+
+    @Value("${app.pagination.max-limit:500}") // Upper bound on the page size a client may request
+    private int maxLimit;
+
+    /**
+     * Resolves the page size for a request, applying the configured default and maximum.
+     * @param requestedLimit the limit sent by the client, may be null
+     * @return the effective page size
+     * @throws IllegalArgumentException if the requested limit is less than 1
+     */
+    public int resolveLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return defaultLimit;
+        }
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(requestedLimit, maxLimit);
+    }
+
+    /**
+     * Decodes a cursor token into the last ID seen by the client.
+     * @param cursor the opaque cursor token, or null/blank for the first page
+     * @return the ID to continue after (0 for the first page)
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public long decodeCursor(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) { // Also covers NumberFormatException
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Encodes the last ID of a page into an opaque cursor token.
+     * @param lastId the ID of the last row on the page
+     * @return the cursor token
+     */
+    public String encodeCursor(long lastId) {
+        byte[] raw = (CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code pageSize + 1}.
+     * The extra row only signals that another page exists and is not returned.
+     * @param rows the fetched rows, ordered by ID ascending
+     * @param pageSize the page size requested
+     * @param idExtractor function returning the ID of a row
+     * @return the page with its next cursor
+     */
+    public <T> CursorPage<T> toPage(List<T> rows, int pageSize, Function<T, Long> idExtractor) {
+        boolean hasMore = rows.size() > pageSize;
+        List<T> items = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? encodeCursor(idExtractor.apply(items.get(items.size() - 1))) : null;
+        return new CursorPage<>(items, nextCursor, hasMore);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ConnectSphere.crmji.repository;
+
+import com.ConnectSphere.crmji.model.Activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of an activity: every column except the TEXT notes and the foreign keys
+ * (which the Activity JSON does not expose either).
+ * The JSON shape matches Activity without the notes field.
+ */
+public record ActivityListItem(
+        Long id,
+        String type,
+        String subject,
+        LocalDateTime dueDate,
+        Boolean completed,
+        LocalDateTime completionDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    /**
+     * Converts an activity already in memory (e.g. from the activity scheduler).
+     * @param activity the activity
+     * @return its list view
+     */
+    public static ActivityListItem from(Activity activity) {
+        return new ActivityListItem(activity.getId(), activity.getType(), activity.getSubject(), activity.getDueDate(),
+                activity.getCompleted(), activity.getCompletionDate(), activity.getCreatedAt(), activity.getUpdatedAt());
+    }
+}
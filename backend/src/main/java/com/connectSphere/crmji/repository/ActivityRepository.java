@@ -1,32 +1,68 @@
 package com.ConnectSphere.crmji.repository;
 
 import com.ConnectSphere.crmji.model.Activity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
+    // Keyset pagination: next page of activities after the given ID, walking the primary key index.
+    // Returns the list view (no notes column)
+    List<ActivityListItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Streams every activity for bulk export, row by row (Integer.MIN_VALUE fetch size for MySQL Connector/J)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select a from Activity a order by a.id")
+    Stream<Activity> streamAllForExport();
+
+    // Validator of conditional GETs on the list endpoint (see ContactRepository.findChangeStamp).
+    @Query("select count(a) as rowCount, max(a.updatedAt) as lastModified from Activity a")
+    ChangeStamp findChangeStamp();
+
+    // Streams the open activities that have a due date, for the in-memory activity scheduler
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Activity a where a.completed = false and a.dueDate is not null")
+    Stream<Activity> streamOpenWithDueDate();
+
     // Find activities by contact
-    List<Activity> findByContactId(Long contactId);
+    List<ActivityListItem> findByContactId(Long contactId);
+
+    // A contact's most recent activities, newest first (contact overview)
+    List<ActivityListItem> findByContactIdOrderByIdDesc(Long contactId, Limit limit);
 
     // Find activities by deal
-    List<Activity> findByDealId(Long dealId);
+    List<ActivityListItem> findByDealId(Long dealId);
 
     // Find activities by type
-    List<Activity> findByType(String type);
+    List<ActivityListItem> findByType(String type);
 
     // Find activities by completion status
-    List<Activity> findByCompleted(Boolean completed);
+    List<ActivityListItem> findByCompleted(Boolean completed);
 
     // Find overdue activities (due date passed but not completed)
-    List<Activity> findByDueDateBeforeAndCompletedFalse(LocalDateTime date);
+    List<ActivityListItem> findByDueDateBeforeAndCompletedFalseOrderByDueDateAsc(LocalDateTime date);
 
-    // Find upcoming activities (due soon)
-    List<Activity> findByDueDateBetween(LocalDateTime start, LocalDateTime end);
+    // Find upcoming open activities (due soon)
+    List<ActivityListItem> findByDueDateBetweenAndCompletedFalseOrderByDueDateAsc(LocalDateTime start, LocalDateTime end);
 
     // Find activities by contact and type
     List<Activity> findByContactIdAndType(Long contactId, String type);
@@ -0,0 +1,15 @@
+package com.ConnectSphere.crmji.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Interface-based projection for a table's change stamp: its row count and newest updated_at.
+ * Any insert, update or delete changes one of the two, so together they validate a cached list response.
+ */
+public interface ChangeStamp {
+
+    Long getRowCount();
+
+    // Newest updated_at in the table, or null if it is empty
+    LocalDateTime getLastModified();
+}
@@ -0,0 +1,21 @@
+package com.ConnectSphere.crmji.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a contact: every column except the TEXT notes, which list views never show.
+ * Spring Data selects only these columns (constructor expression) and returns unmanaged records,
+ * so list queries skip the off-row TEXT reads, entity hydration and persistence-context snapshots.
+ * The JSON shape matches Contact without the notes field.
+ */
+public record ContactListItem(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String company,
+        String jobTitle,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
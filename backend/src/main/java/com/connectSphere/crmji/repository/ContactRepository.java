@@ -1,10 +1,18 @@
 package com.ConnectSphere.crmji.repository;
 
 import com.ConnectSphere.crmji.model.Contact;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Marks this interface as a Spring Data Repository bean, enabling exception translation and component scanning.
 // JpaRepository<Contact, Long> provides CRUD methods (save, findById, findAll, delete, etc.) for the Contact entity with a primary key of type Long.
@@ -15,6 +23,29 @@ public interface ContactRepository extends JpaRepository<Contact, Long> {
     // Returns the result wrapped in an Optional to handle null cases gracefully.
     Optional<Contact> findByEmail(String email);
 
+    // Keyset pagination: "SELECT * FROM contacts WHERE id > ? ORDER BY id LIMIT ?"
+    // Walks the primary key index, so deep pages cost the same as the first one (no OFFSET scan).
+    // Returns the list view, which leaves out the TEXT notes column.
+    List<ContactListItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Streams every contact for bulk export instead of materializing the whole table.
+    // Integer.MIN_VALUE fetch size makes MySQL Connector/J stream rows one at a time instead of
+    // buffering the full result set; the caller must run inside a transaction and close the Stream.
+    // The second-level cache is bypassed both ways, so a full pass neither reads from it nor evicts hot entries.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select c from Contact c order by c.id")
+    Stream<Contact> streamAllForExport();
+
+    // Row count and newest updated_at, the validator of conditional GETs on the list endpoint.
+    // Served from idx_contacts_updated_at without reading any contact row.
+    @Query("select count(c) as rowCount, max(c.updatedAt) as lastModified from Contact c")
+    ChangeStamp findChangeStamp();
+
     // Example of a custom query method to find contacts by their company name.
     // The method name is parsed by Spring Data JPA to create the query.
     // List<Contact> findByCompany(String company);
@@ -0,0 +1,20 @@
+package com.ConnectSphere.crmji.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a deal: every column except the TEXT description.
+ * The JSON shape matches Deal without the description field.
+ */
+public record DealListItem(
+        Long id,
+        String name,
+        BigDecimal value,
+        String stage,
+        Integer probability,
+        LocalDate closeDate,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -1,50 +1,121 @@
 package com.ConnectSphere.crmji.repository;
 
 import com.ConnectSphere.crmji.model.Deal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Marks this interface as a Spring Data Repository bean
 // JpaRepository<Deal, Long> provides CRUD methods for the Deal entity with a primary key of type Long.
 public interface DealRepository extends JpaRepository<Deal, Long> {
 
+    /**
+     * Keyset pagination: fetches the next page of deals after the given ID.
+     * Walks the primary key index, so deep pages cost the same as the first one (no OFFSET scan).
+     * @param id the last ID seen by the client (0 for the first page)
+     * @param limit the maximum number of rows to return
+     * @return list views (no description) of the deals with an ID greater than the given one, ordered by ID
+     */
+    List<DealListItem> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams every deal for bulk export instead of materializing the whole table.
+     * The Integer.MIN_VALUE fetch size makes MySQL Connector/J stream rows one at a time.
+     * The second-level cache is bypassed, so the export does not flood it with cold deals.
+     * Must be called inside a transaction, and the returned Stream must be closed.
+     * @return a stream of all deals ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select d from Deal d order by d.id")
+    Stream<Deal> streamAllForExport();
+
+    // Validator of conditional GETs on the list endpoint (see ContactRepository.findChangeStamp).
+    @Query("select count(d) as rowCount, max(d.updatedAt) as lastModified from Deal d")
+    ChangeStamp findChangeStamp();
+
     /**
      * Finds all deals associated with a specific contact.
      * @param contactId the ID of the contact
      * @return a list of deals for the given contact
      */
-    List<Deal> findByContactId(Long contactId);
+    List<DealListItem> findByContactId(Long contactId);
+
+    /**
+     * Finds a contact's most recent deals, newest first, for the contact overview.
+     * @param contactId the ID of the contact
+     * @param limit maximum number of deals
+     * @return up to limit deals for the given contact
+     */
+    List<DealListItem> findByContactIdOrderByIdDesc(Long contactId, Limit limit);
 
     /**
      * Finds all deals in a specific stage of the sales pipeline.
      * @param stage the stage to search for (e.g., "PROPOSAL", "NEGOTIATION")
      * @return a list of deals in the specified stage
      */
-    List<Deal> findByStage(String stage);
+    List<DealListItem> findByStage(String stage);
 
     /**
      * Finds deals with a value greater than or equal to the specified amount.
      * @param value the minimum deal value
      * @return a list of high-value deals
      */
-    List<Deal> findByValueGreaterThanEqual(BigDecimal value);
+    List<DealListItem> findByValueGreaterThanEqual(BigDecimal value);
 
     /**
      * Finds deals that are expected to close before or on the specified date.
      * @param date the target close date
      * @return a list of deals closing by the specified date
      */
-    List<Deal> findByCloseDateLessThanEqual(LocalDate date);
+    List<DealListItem> findByCloseDateLessThanEqual(LocalDate date);
 
     /**
      * Finds deals with probability greater than or equal to the specified percentage.
      * @param probability the minimum probability percentage
      * @return a list of high-probability deals
      */
-    List<Deal> findByProbabilityGreaterThanEqual(Integer probability);
+    List<DealListItem> findByProbabilityGreaterThanEqual(Integer probability);
+
+    /**
+     * Aggregates the pipeline per stage in the database, so only one row per stage is transferred.
+     * @return count, total value and probability-weighted sum for each stage
+     */
+    @Query("select d.stage as stage, count(d) as dealCount, count(d.value) as valuedDealCount, " +
+           "coalesce(sum(d.value), 0) as totalValue, coalesce(sum(d.value * d.probability), 0) as valueTimesProbability " +
+           "from Deal d group by d.stage order by d.stage")
+    List<DealStageSummary> summarizeByStage();
+
+    /**
+     * Aggregates one contact's deals per stage, like {@link #summarizeByStage()}.
+     * @param contactId the ID of the contact
+     * @return count, total value and probability-weighted sum for each stage the contact has deals in
+     */
+    @Query("select d.stage as stage, count(d) as dealCount, count(d.value) as valuedDealCount, " +
+           "coalesce(sum(d.value), 0) as totalValue, coalesce(sum(d.value * d.probability), 0) as valueTimesProbability " +
+           "from Deal d where d.contact.id = :contactId group by d.stage order by d.stage")
+    List<DealStageSummary> summarizeByStageForContact(@Param("contactId") Long contactId);
+
+    /**
+     * Sums the value of all deals in the database.
+     * @return the total pipeline value (0 if there are no deals)
+     */
+    @Query("select coalesce(sum(d.value), 0) from Deal d")
+    BigDecimal sumValue();
 }
\ No newline at end of file
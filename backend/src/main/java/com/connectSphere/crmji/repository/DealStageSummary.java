@@ -0,0 +1,22 @@
+package com.ConnectSphere.crmji.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * Interface-based projection for one row of the per-stage pipeline aggregate query.
+ * Spring Data maps each column alias in DealRepository.summarizeByStage() onto the matching getter.
+ */
+public interface DealStageSummary {
+
+    String getStage();
+
+    Long getDealCount();
+
+    // Number of deals in the stage that have a value (used for the average deal size)
+    Long getValuedDealCount();
+
+    BigDecimal getTotalValue();
+
+    // Sum of value * probability; divide by 100 for the probability-weighted value
+    BigDecimal getValueTimesProbability();
+}
@@ -0,0 +1,20 @@
+package com.ConnectSphere.crmji.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a lead: every column except the conversion link (converted_contact_id and
+ * converted_at). Leads have no TEXT column, so the gain is mostly sparing list queries the entity
+ * hydration and persistence-context snapshots.
+ */
+public record LeadListItem(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        String phone,
+        String company,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
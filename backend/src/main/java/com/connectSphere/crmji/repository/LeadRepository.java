@@ -1,10 +1,20 @@
 package com.ConnectSphere.crmji.repository;
 
 import com.ConnectSphere.crmji.model.Lead;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository // Marks this interface as a Spring Data Repository bean
 // JpaRepository<Lead, Long> provides CRUD methods for the Lead entity with a primary key of type Long.
@@ -15,6 +25,41 @@ public interface LeadRepository extends JpaRepository<Lead, Long> {
     // Returns the result wrapped in an Optional to handle null cases gracefully.
     Optional<Lead> findByEmail(String email);
 
+    // Returns which of the given emails already belong to a lead, in one "WHERE email IN (...)" query.
+    // Used by the bulk import to reject duplicates per row instead of failing a whole batch.
+    @Query("select l.email from Lead l where l.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Keyset pagination: "SELECT * FROM leads WHERE id > ? ORDER BY id LIMIT ?"
+    // Walks the primary key index, so deep pages cost the same as the first one (no OFFSET scan).
+    // The type parameter picks the result: Lead.class for entities (search indexing), LeadListItem.class for list views.
+    <T> List<T> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit, Class<T> type);
+
+    // Streams every lead for bulk export (see ContactRepository.streamAllForExport for the fetch size).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select l from Lead l order by l.id")
+    Stream<Lead> streamAllForExport();
+
+    // Streams the leads not converted yet, for duplicate scans: a converted lead shares its contact's
+    // fields and would show up as a duplicate of the contact it became.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, value = "BYPASS"),
+            @QueryHint(name = SpecHints.HINT_SPEC_CACHE_STORE_MODE, value = "BYPASS")
+    })
+    @Query("select l from Lead l where l.convertedContactId is null order by l.id")
+    Stream<Lead> streamUnconverted();
+
+    // Validator of conditional GETs on the list endpoint (see ContactRepository.findChangeStamp).
+    @Query("select count(l) as rowCount, max(l.updatedAt) as lastModified from Lead l")
+    ChangeStamp findChangeStamp();
+
     // You can add more custom query methods here as needed.
     // Example: Find all leads by status
     // List<Lead> findByStatus(String status);
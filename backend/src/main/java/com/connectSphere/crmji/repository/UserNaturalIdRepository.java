@@ -0,0 +1,19 @@
+package com.ConnectSphere.crmji.repository;
+
+import com.ConnectSphere.crmji.model.User;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for looking users up by their natural ID (email).
+ */
+public interface UserNaturalIdRepository {
+
+    /**
+     * Finds a user by their email address.
+     * Served from the second-level cache when the email was resolved before, without a query.
+     * @param email the email address to search for
+     * @return an Optional containing the user if found, or empty if not found
+     */
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,31 @@
+package com.ConnectSphere.crmji.repository;
+
+import com.ConnectSphere.crmji.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implements {@link UserNaturalIdRepository} with Hibernate's natural-id API. Unlike a derived
+ * "where email = ?" query, which always reaches the database, a natural-id load first resolves the
+ * email to an ID through the natural-id cache and then loads the user through the entity cache.
+ * Spring Data picks this class up by its Impl suffix.
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Fragments get no transaction from SimpleJpaRepository; the unwrapped Session needs one
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(email);
+    }
+}
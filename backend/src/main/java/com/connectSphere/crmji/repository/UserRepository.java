@@ -4,18 +4,9 @@ import com.ConnectSphere.crmji.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-
-    /**
-     * Finds a user by their email address.
-     * This method is automatically implemented by Spring Data JPA based on method naming conventions.
-     * @param email the email address to search for
-     * @return an Optional containing the user if found, or empty if not found
-     */
-    Optional<User> findByEmail(String email);
+// findByEmail is implemented in UserNaturalIdRepositoryImpl as a natural-id lookup (second-level cache)
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
     /**
      * Checks if a user exists with the given email address.
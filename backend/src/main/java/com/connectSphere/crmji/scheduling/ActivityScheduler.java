@@ -0,0 +1,191 @@
+package com.ConnectSphere.crmji.scheduling;
+
+import com.ConnectSphere.crmji.event.ActivityDueEvent;
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.repository.ActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Keeps every open activity with a due date in a {@link HierarchicalTimingWheel}, so the upcoming and
+ * overdue lists are served from memory instead of a due_date range query per call, and publishes an
+ * {@link ActivityDueEvent} when an activity becomes due.
+ *
+ * The wheel is loaded before the application starts serving requests and then kept current from
+ * committed {@link EntityChangeEvent}s (create, update, complete, delete through ActivityService).
+ * It holds detached snapshots without their contact/deal associations, which are not serialized anyway.
+ *
+ * Disabled with app.activities.scheduler.enabled=false, in which case ActivityService queries the database.
+ */
+@Component
+public class ActivityScheduler implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ActivityScheduler.class);
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int LEVELS = 6; // With 1 s ticks: 64 s, 68 min, 73 h, 194 days, 34 years, 2000+ years
+
+    // How many rows may accumulate in the persistence context before it is cleared during the load
+    private static final int CLEAR_INTERVAL = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.activities.scheduler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.activities.scheduler.tick-ms:1000}") // Timing resolution of reminders
+    private long tickMillis;
+
+    private volatile HierarchicalTimingWheel<Activity> wheel; // Null when disabled
+    private Counter remindersFired;
+
+    /**
+     * Loads the open activities once all beans exist, before the web server accepts requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        HierarchicalTimingWheel<Activity> loaded = new HierarchicalTimingWheel<>(tickMillis, WHEEL_SIZE, LEVELS, System.currentTimeMillis());
+
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<Activity> rows = activityRepository.streamOpenWithDueDate()) {
+                long count = 0;
+                Iterator<Activity> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    Activity activity = iterator.next();
+                    loaded.schedule(activity.getId(), toEpochMillis(activity.getDueDate()), snapshot(activity));
+                    if (++count % CLEAR_INTERVAL == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+        });
+
+        Gauge.builder("activities.scheduler.open", loaded::size)
+                .description("Open activities with a due date held by the activity scheduler")
+                .register(meterRegistry);
+        remindersFired = Counter.builder("activities.scheduler.reminders")
+                .description("Activity due events published")
+                .register(meterRegistry);
+        wheel = loaded;
+        logger.info("Activity scheduler loaded {} open activities in {} ms", loaded.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return true if upcoming/overdue lists should be read from this scheduler
+     */
+    public boolean isEnabled() {
+        return wheel != null;
+    }
+
+    /**
+     * Lists the open activities due in a time range.
+     * @param from start of the range (inclusive)
+     * @param to end of the range (inclusive)
+     * @return the activities, earliest due first
+     */
+    public List<Activity> getDueBetween(LocalDateTime from, LocalDateTime to) {
+        return wheel.dueBetween(toEpochMillis(from), toEpochMillis(to) + 1);
+    }
+
+    /**
+     * Lists the open activities due before the given time.
+     * @param time the cut-off (exclusive)
+     * @return the activities, earliest due first
+     */
+    public List<Activity> getDueBefore(LocalDateTime time) {
+        return wheel.dueBefore(toEpochMillis(time));
+    }
+
+    /**
+     * Applies a committed activity change. Runs immediately when the change is made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (wheel == null || !(event.entity() instanceof Activity activity) || activity.getId() == null) {
+            return;
+        }
+        boolean open = !Boolean.TRUE.equals(activity.getCompleted()) && activity.getDueDate() != null;
+        if (event.changeType() == EntityChangeEvent.ChangeType.DELETED || !open) {
+            wheel.cancel(activity.getId());
+        } else {
+            wheel.schedule(activity.getId(), toEpochMillis(activity.getDueDate()), snapshot(activity));
+        }
+    }
+
+    /**
+     * Advances the wheel and publishes a reminder for each activity that became due.
+     */
+    @Scheduled(fixedDelayString = "${app.activities.scheduler.tick-ms:1000}")
+    public void tick() {
+        if (wheel == null) {
+            return;
+        }
+        for (Activity activity : wheel.advanceTo(System.currentTimeMillis())) {
+            remindersFired.increment();
+            logger.debug("Activity {} is due ({})", activity.getId(), activity.getDueDate());
+            eventPublisher.publishEvent(new ActivityDueEvent(activity));
+        }
+    }
+
+    // Due dates are zone-less; like the repository queries, they are read in the server's time zone
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * Copies the scalar fields, so the wheel never holds managed entities or lazy proxies.
+     */
+    private static Activity snapshot(Activity activity) {
+        Activity copy = new Activity();
+        copy.setId(activity.getId());
+        copy.setType(activity.getType());
+        copy.setSubject(activity.getSubject());
+        copy.setNotes(activity.getNotes());
+        copy.setDueDate(activity.getDueDate());
+        copy.setCompleted(activity.getCompleted());
+        copy.setCompletionDate(activity.getCompletionDate());
+        copy.setCreatedAt(activity.getCreatedAt());
+        copy.setUpdatedAt(activity.getUpdatedAt());
+        return copy;
+    }
+}
@@ -0,0 +1,334 @@
+package com.ConnectSphere.crmji.scheduling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Hierarchical timing wheel holding keyed items by due time (epoch milliseconds).
+ *
+ * Level 0 has {@code wheelSize} buckets of one tick each; every level above has buckets
+ * {@code wheelSize} times wider than the level below. An item goes into the finest level whose
+ * window still reaches its due time, and is moved down a level ("cascaded") when the clock reaches
+ * the start of its bucket. Scheduling, cancelling and expiring an item are O(1); advancing the clock
+ * costs O(1) per tick plus the items that cascade or expire. Items beyond the top level wait in an
+ * overflow bucket that is re-examined once per top-level revolution.
+ *
+ * Items whose due time has passed stay in an ordered "expired" set until cancelled, so both the
+ * overdue items and the items due within a time range can be listed without touching the others:
+ * a range query visits at most {@code wheelSize} buckets per level and only scans the items inside them.
+ *
+ * Reads share a read lock; scheduling, cancelling and advancing take the write lock.
+ *
+ * @param <T> the item type
+ */
+public class HierarchicalTimingWheel<T> {
+
+    /**
+     * An item in the wheel. Also a node of its bucket's doubly linked list, so removal is O(1).
+     */
+    private static final class Entry<T> {
+        final long key;
+        final long due;
+        final T value;
+        Entry<T> previous;
+        Entry<T> next;
+        Bucket<T> bucket; // Null once expired
+
+        Entry(long key, long due, T value) {
+            this.key = key;
+            this.due = due;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Circular doubly linked list of entries with a sentinel head.
+     */
+    private static final class Bucket<T> {
+        final Entry<T> head = new Entry<>(0, 0, null);
+
+        Bucket() {
+            head.previous = head;
+            head.next = head;
+        }
+
+        void add(Entry<T> entry) {
+            entry.bucket = this;
+            entry.previous = head.previous;
+            entry.next = head;
+            head.previous.next = entry;
+            head.previous = entry;
+        }
+
+        void remove(Entry<T> entry) {
+            entry.previous.next = entry.next;
+            entry.next.previous = entry.previous;
+            entry.previous = null;
+            entry.next = null;
+            entry.bucket = null;
+        }
+
+        /**
+         * Empties the bucket and returns its former entries.
+         */
+        List<Entry<T>> drain() {
+            List<Entry<T>> entries = new ArrayList<>();
+            for (Entry<T> entry = head.next; entry != head; ) {
+                Entry<T> next = entry.next;
+                entry.previous = null;
+                entry.next = null;
+                entry.bucket = null;
+                entries.add(entry);
+                entry = next;
+            }
+            head.previous = head;
+            head.next = head;
+            return entries;
+        }
+    }
+
+    private static final Comparator<Entry<?>> DUE_ORDER =
+            Comparator.<Entry<?>>comparingLong(entry -> entry.due).thenComparingLong(entry -> entry.key);
+
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long[] levelTicks; // Bucket width per level
+    private final Bucket<T>[][] buckets; // [level][slot]
+    private final Bucket<T> overflow = new Bucket<>();
+    private final TreeSet<Entry<T>> expired = new TreeSet<>(DUE_ORDER);
+    private final Map<Long, Entry<T>> entriesByKey = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long currentTime; // Start of the first tick not yet processed; every item due before it has expired
+    private int pendingCount; // Items not yet expired
+
+    /**
+     * @param tickMillis width of a level-0 bucket, i.e. the timing resolution
+     * @param wheelSize buckets per level
+     * @param levels number of levels; with a 1 s tick and 64 buckets, 6 levels reach about 2000 years
+     * @param startMillis the current time
+     */
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levels < 1) {
+            throw new IllegalArgumentException("tickMillis must be positive, wheelSize at least 2 and levels at least 1");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+
+        List<Long> ticks = new ArrayList<>();
+        long tick = tickMillis;
+        for (int level = 0; level < levels; level++) {
+            ticks.add(tick);
+            if (tick > Long.MAX_VALUE / wheelSize / wheelSize) {
+                break; // A wider level would overflow; the overflow bucket covers the rest
+            }
+            tick *= wheelSize;
+        }
+        this.levelTicks = ticks.stream().mapToLong(Long::longValue).toArray();
+        @SuppressWarnings("unchecked") // Generic arrays cannot be created directly; every slot holds a Bucket<T>
+        Bucket<T>[][] levelBuckets = (Bucket<T>[][]) new Bucket<?>[levelTicks.length][wheelSize];
+        this.buckets = levelBuckets;
+        for (Bucket<T>[] level : buckets) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                level[slot] = new Bucket<>();
+            }
+        }
+        this.currentTime = Math.floorDiv(startMillis, tickMillis) * tickMillis;
+    }
+
+    /**
+     * Adds an item, replacing any item with the same key. An item already due goes straight to the
+     * expired set and is not reported by {@link #advanceTo(long)}.
+     * @param key the item's unique key
+     * @param dueMillis when the item is due
+     * @param value the item
+     */
+    public void schedule(long key, long dueMillis, T value) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(entriesByKey.get(key));
+            Entry<T> entry = new Entry<>(key, dueMillis, value);
+            entriesByKey.put(key, entry);
+            place(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes an item, whether pending or expired.
+     * @param key the item's key
+     * @return true if the item was present
+     */
+    public boolean cancel(long key) {
+        lock.writeLock().lock();
+        try {
+            Entry<T> entry = entriesByKey.get(key);
+            removeEntry(entry);
+            return entry != null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves the clock forward, expiring items as their tick passes.
+     * An item is reported at most one tick after its due time, never before it.
+     * @param nowMillis the current time
+     * @return the items that became due, in due order
+     */
+    public List<T> advanceTo(long nowMillis) {
+        lock.writeLock().lock();
+        try {
+            List<Entry<T>> due = new ArrayList<>();
+            while (currentTime + tickMillis <= nowMillis) {
+                if (pendingCount == 0) {
+                    // Nothing left to cascade or expire: jump straight to the current tick
+                    currentTime = Math.floorDiv(nowMillis, tickMillis) * tickMillis;
+                    break;
+                }
+
+                int top = levelTicks.length - 1;
+                if (Math.floorMod(currentTime, levelTicks[top] * wheelSize) == 0) {
+                    cascade(overflow);
+                }
+                for (int level = top; level >= 1; level--) {
+                    if (Math.floorMod(currentTime, levelTicks[level]) == 0) {
+                        cascade(buckets[level][slotIndex(currentTime, level)]);
+                    }
+                }
+
+                // Every level-0 entry in the current slot is due within this tick
+                for (Entry<T> entry : buckets[0][slotIndex(currentTime, 0)].drain()) {
+                    pendingCount--;
+                    expired.add(entry);
+                    due.add(entry);
+                }
+                currentTime += tickMillis;
+            }
+            due.sort(DUE_ORDER);
+            return due.stream().map(entry -> entry.value).toList();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the items due in a time range, expired or not.
+     * @param fromMillis start of the range (inclusive)
+     * @param toMillis end of the range (exclusive)
+     * @return the items, in due order
+     */
+    public List<T> dueBetween(long fromMillis, long toMillis) {
+        lock.readLock().lock();
+        try {
+            List<Entry<T>> matches = new ArrayList<>();
+            if (fromMillis >= toMillis) {
+                return List.of();
+            }
+
+            if (fromMillis < currentTime) {
+                matches.addAll(expired.subSet(probe(fromMillis), true, probe(Math.min(toMillis, currentTime)), false));
+            }
+
+            long from = Math.max(fromMillis, currentTime);
+            if (from < toMillis) {
+                for (int level = 0; level < levelTicks.length; level++) {
+                    long currentSlot = Math.floorDiv(currentTime, levelTicks[level]);
+                    long firstSlot = Math.max(Math.floorDiv(from, levelTicks[level]), currentSlot);
+                    long lastSlot = Math.min(Math.floorDiv(toMillis - 1, levelTicks[level]), currentSlot + wheelSize - 1);
+                    for (long slot = firstSlot; slot <= lastSlot; slot++) {
+                        collect(buckets[level][(int) Math.floorMod(slot, (long) wheelSize)], from, toMillis, matches);
+                    }
+                }
+                collect(overflow, from, toMillis, matches);
+            }
+
+            matches.sort(DUE_ORDER);
+            return matches.stream().map(entry -> entry.value).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Lists the items due before the given time (overdue items).
+     * @param toMillis end of the range (exclusive)
+     * @return the items, in due order
+     */
+    public List<T> dueBefore(long toMillis) {
+        return dueBetween(Long.MIN_VALUE, toMillis);
+    }
+
+    /**
+     * @return the number of items held, pending or expired
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entriesByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Puts an entry in the finest level whose window reaches its due time. Caller holds the write lock.
+     */
+    private void place(Entry<T> entry) {
+        if (entry.due < currentTime) {
+            expired.add(entry);
+            return;
+        }
+        pendingCount++;
+        for (int level = 0; level < levelTicks.length; level++) {
+            long slot = Math.floorDiv(entry.due, levelTicks[level]);
+            if (slot - Math.floorDiv(currentTime, levelTicks[level]) < wheelSize) {
+                buckets[level][(int) Math.floorMod(slot, (long) wheelSize)].add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    private void cascade(Bucket<T> bucket) {
+        for (Entry<T> entry : bucket.drain()) {
+            pendingCount--;
+            place(entry);
+        }
+    }
+
+    private void removeEntry(Entry<T> entry) {
+        if (entry == null) {
+            return;
+        }
+        entriesByKey.remove(entry.key);
+        if (entry.bucket != null) {
+            entry.bucket.remove(entry);
+            pendingCount--;
+        } else {
+            expired.remove(entry);
+        }
+    }
+
+    private int slotIndex(long time, int level) {
+        return (int) Math.floorMod(Math.floorDiv(time, levelTicks[level]), (long) wheelSize);
+    }
+
+    private void collect(Bucket<T> bucket, long fromMillis, long toMillis, List<Entry<T>> matches) {
+        for (Entry<T> entry = bucket.head.next; entry != bucket.head; entry = entry.next) {
+            if (entry.due >= fromMillis && entry.due < toMillis) {
+                matches.add(entry);
+            }
+        }
+    }
+
+    private Entry<T> probe(long due) {
+        return new Entry<>(Long.MIN_VALUE, due, null);
+    }
+}
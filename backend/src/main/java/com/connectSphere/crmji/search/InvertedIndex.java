@@ -0,0 +1,353 @@
+package com.ConnectSphere.crmji.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index with BM25 ranking and prefix matching.
+ *
+ * Each indexed record gets an internal document number, and every term maps to a posting list of
+ * (document number, field-weighted term frequency) pairs kept in document number order. Terms live in
+ * a sorted map, so a query term of at least {@code minPrefixLength} characters also matches every term
+ * starting with it ("acm" finds "acme") through a range lookup instead of a scan.
+ *
+ * All terms of a query must match (AND). The rarest query term produces the candidate set and the
+ * others are checked by binary search in their posting lists, so query cost follows the most selective
+ * term rather than the size of the index.
+ *
+ * Updates never rewrite posting lists in place: re-indexing a record gives it a new document number and
+ * marks the old one deleted. Deleted entries are dropped by a compaction once they exceed a quarter of
+ * the live documents. Reads share a read lock; writes and compaction take the write lock.
+ */
+public class InvertedIndex {
+
+    // BM25 parameters (usual defaults)
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Prefix matches rank below an exact match of the same term
+    private static final float PREFIX_MATCH_BOOST = 0.8f;
+
+    private static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+
+    /**
+     * A weighted piece of text of a record, e.g. a contact's name with a higher weight than its notes.
+     * @param text the text, may be null
+     * @param weight how much a term occurrence in this field counts
+     */
+    public record Field(String text, float weight) {}
+
+    /**
+     * A record as handed to the index.
+     * @param type the kind of record
+     * @param id the record's ID
+     * @param title display text returned with hits
+     * @param subtitle secondary display text returned with hits, may be null
+     * @param fields the searchable text
+     */
+    public record Document(SearchDocumentType type, long id, String title, String subtitle, List<Field> fields) {}
+
+    private record DocumentKey(SearchDocumentType type, long id) {}
+
+    /**
+     * What is kept per live document to score and return it; the field text itself is not stored.
+     */
+    private record StoredDocument(SearchDocumentType type, long id, String title, String subtitle, float length) {}
+
+    private record ScoredDocument(int docNumber, float score) {}
+
+    /**
+     * Document numbers (ascending) and term frequencies of one term, in growable parallel arrays.
+     */
+    private static final class Postings {
+        int[] docNumbers = new int[4];
+        float[] frequencies = new float[4];
+        int size;
+
+        void add(int docNumber, float frequency) {
+            if (size == docNumbers.length) {
+                docNumbers = Arrays.copyOf(docNumbers, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docNumbers[size] = docNumber;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        float frequencyOf(int docNumber) {
+            int index = Arrays.binarySearch(docNumbers, 0, size, docNumber);
+            return index >= 0 ? frequencies[index] : 0f;
+        }
+    }
+
+    /**
+     * One index term a query term expanded to, with its precomputed inverse document frequency.
+     */
+    private record TermMatch(Postings postings, float idf, float boost) {}
+
+    private final int minPrefixLength;
+    private final int maxPrefixExpansions;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<DocumentKey, Integer> docNumbersByKey = new HashMap<>();
+    private final ArrayList<StoredDocument> documents = new ArrayList<>(); // By document number, null once deleted
+    private int deletedCount;
+    private double totalLength;
+
+    /**
+     * @param minPrefixLength query terms at least this long also match longer terms starting with them
+     * @param maxPrefixExpansions maximum number of index terms one query term may expand to
+     */
+    public InvertedIndex(int minPrefixLength, int maxPrefixExpansions) {
+        this.minPrefixLength = minPrefixLength;
+        this.maxPrefixExpansions = maxPrefixExpansions;
+    }
+
+    /**
+     * Adds a record, replacing any previous version of it.
+     * @param document the record to index
+     */
+    public void put(Document document) {
+        // Tokenize outside the lock; only the structural update is exclusive
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (Field field : document.fields()) {
+            for (String term : Tokenizer.tokenize(field.text())) {
+                frequencies.merge(term, field.weight(), Float::sum);
+                length += field.weight();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            DocumentKey key = new DocumentKey(document.type(), document.id());
+            markDeleted(docNumbersByKey.get(key));
+
+            int docNumber = documents.size();
+            documents.add(new StoredDocument(document.type(), document.id(), document.title(), document.subtitle(), length));
+            docNumbersByKey.put(key, docNumber);
+            totalLength += length;
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postingsByTerm.computeIfAbsent(entry.getKey(), term -> new Postings()).add(docNumber, entry.getValue());
+            }
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a record if it is indexed.
+     * @param type the kind of record
+     * @param id the record's ID
+     */
+    public void remove(SearchDocumentType type, long id) {
+        lock.writeLock().lock();
+        try {
+            markDeleted(docNumbersByKey.remove(new DocumentKey(type, id)));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of records currently indexed
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docNumbersByKey.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the records matching every term of the query, best first.
+     * @param query free text, e.g. "acme proc" (the last word may be incomplete)
+     * @param types the kinds of record to return
+     * @param limit maximum number of hits
+     * @return the hits, highest score first
+     */
+    public List<SearchHit> search(String query, Set<SearchDocumentType> types, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        if (queryTerms.isEmpty() || types.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveCount = docNumbersByKey.size();
+            if (liveCount == 0) {
+                return List.of();
+            }
+            float averageLength = (float) (totalLength / liveCount);
+
+            // Expand each query term to the index terms it matches; a term matching nothing means no hits
+            List<List<TermMatch>> groups = new ArrayList<>(queryTerms.size());
+            for (String queryTerm : queryTerms) {
+                List<TermMatch> group = expand(queryTerm, liveCount);
+                if (group.isEmpty()) {
+                    return List.of();
+                }
+                groups.add(group);
+            }
+            groups.sort(Comparator.comparingLong(InvertedIndex::postingCount));
+
+            // Candidates come from the most selective term...
+            Map<Integer, Float> scores = new HashMap<>();
+            for (TermMatch match : groups.get(0)) {
+                Postings postings = match.postings();
+                for (int i = 0; i < postings.size; i++) {
+                    StoredDocument document = documents.get(postings.docNumbers[i]);
+                    if (document != null && types.contains(document.type())) {
+                        float score = termScore(match, postings.frequencies[i], document.length(), averageLength);
+                        scores.merge(postings.docNumbers[i], score, Math::max);
+                    }
+                }
+            }
+
+            // ...and must also contain every other term
+            for (int g = 1; g < groups.size() && !scores.isEmpty(); g++) {
+                List<TermMatch> group = groups.get(g);
+                scores.entrySet().removeIf(candidate -> {
+                    float best = 0f;
+                    for (TermMatch match : group) {
+                        float frequency = match.postings().frequencyOf(candidate.getKey());
+                        if (frequency > 0) {
+                            float length = documents.get(candidate.getKey()).length();
+                            best = Math.max(best, termScore(match, frequency, length, averageLength));
+                        }
+                    }
+                    if (best == 0f) {
+                        return true;
+                    }
+                    candidate.setValue(candidate.getValue() + best);
+                    return false;
+                });
+            }
+
+            return topHits(scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<TermMatch> expand(String queryTerm, int liveCount) {
+        List<TermMatch> matches = new ArrayList<>();
+        Postings exact = postingsByTerm.get(queryTerm);
+        if (exact != null) {
+            matches.add(new TermMatch(exact, idf(exact, liveCount), 1f));
+        }
+        if (queryTerm.length() >= minPrefixLength) {
+            NavigableMap<String, Postings> range = postingsByTerm.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false);
+            for (Postings postings : range.values()) {
+                if (matches.size() >= maxPrefixExpansions) {
+                    break;
+                }
+                matches.add(new TermMatch(postings, idf(postings, liveCount), PREFIX_MATCH_BOOST));
+            }
+        }
+        return matches;
+    }
+
+    private static long postingCount(List<TermMatch> group) {
+        long count = 0;
+        for (TermMatch match : group) {
+            count += match.postings().size;
+        }
+        return count;
+    }
+
+    // Posting lists may still hold deleted entries until the next compaction, so df is slightly overestimated
+    private static float idf(Postings postings, int liveCount) {
+        int documentFrequency = Math.min(postings.size, liveCount);
+        return (float) Math.log(1 + (liveCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float termScore(TermMatch match, float frequency, float length, float averageLength) {
+        float norm = K1 * (1 - B + B * length / averageLength);
+        return match.boost() * match.idf() * frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    private List<SearchHit> topHits(Map<Integer, Float> scores, int limit) {
+        // Min-heap of the best 'limit' documents seen so far
+        Comparator<ScoredDocument> byScore = Comparator.comparingDouble(ScoredDocument::score)
+                .thenComparing(ScoredDocument::docNumber, Comparator.reverseOrder());
+        PriorityQueue<ScoredDocument> best = new PriorityQueue<>(Math.min(limit, scores.size()) + 1, byScore);
+        for (Map.Entry<Integer, Float> entry : scores.entrySet()) {
+            best.add(new ScoredDocument(entry.getKey(), entry.getValue()));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+
+        SearchHit[] hits = new SearchHit[best.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            ScoredDocument scored = best.poll();
+            StoredDocument document = documents.get(scored.docNumber());
+            hits[i] = new SearchHit(document.type(), document.id(), document.title(), document.subtitle(), scored.score());
+        }
+        return List.of(hits);
+    }
+
+    private void markDeleted(Integer docNumber) {
+        if (docNumber != null) {
+            totalLength -= documents.get(docNumber).length();
+            documents.set(docNumber, null);
+            deletedCount++;
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and drops deleted entries from every posting list.
+     * Renumbering preserves order, so posting lists stay sorted. Caller holds the write lock.
+     */
+    private void compactIfNeeded() {
+        if (deletedCount < Math.max(MIN_DELETED_BEFORE_COMPACTION, docNumbersByKey.size() / 4)) {
+            return;
+        }
+
+        int[] newNumbers = new int[documents.size()];
+        ArrayList<StoredDocument> live = new ArrayList<>(docNumbersByKey.size());
+        for (int docNumber = 0; docNumber < documents.size(); docNumber++) {
+            StoredDocument document = documents.get(docNumber);
+            newNumbers[docNumber] = document == null ? -1 : live.size();
+            if (document != null) {
+                live.add(document);
+            }
+        }
+
+        postingsByTerm.values().removeIf(postings -> {
+            int kept = 0;
+            for (int i = 0; i < postings.size; i++) {
+                int newNumber = newNumbers[postings.docNumbers[i]];
+                if (newNumber >= 0) {
+                    postings.docNumbers[kept] = newNumber;
+                    postings.frequencies[kept] = postings.frequencies[i];
+                    kept++;
+                }
+            }
+            postings.size = kept;
+            return kept == 0;
+        });
+        docNumbersByKey.replaceAll((key, docNumber) -> newNumbers[docNumber]);
+
+        documents.clear();
+        documents.addAll(live);
+        documents.trimToSize();
+        deletedCount = 0;
+    }
+}
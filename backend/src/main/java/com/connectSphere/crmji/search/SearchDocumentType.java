@@ -0,0 +1,34 @@
+package com.ConnectSphere.crmji.search;
+
+/**
+ * Kinds of records held in the search index.
+ */
+public enum SearchDocumentType {
+
+    CONTACT("contacts"),
+    LEAD("leads"),
+    ACTIVITY("activities");
+
+    private final String parameterName;
+
+    SearchDocumentType(String parameterName) {
+        this.parameterName = parameterName;
+    }
+
+    public String getParameterName() { return parameterName; }
+
+    /**
+     * Resolves a type from a request parameter such as "contacts" or "leads" (case-insensitive).
+     * @param value the request parameter value
+     * @return the matching type
+     * @throws IllegalArgumentException if the value is not a searchable type
+     */
+    public static SearchDocumentType fromParameter(String value) {
+        for (SearchDocumentType type : values()) {
+            if (type.parameterName.equalsIgnoreCase(value)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported search type: " + value + " (use contacts, leads or activities)");
+    }
+}
@@ -0,0 +1,17 @@
+package com.ConnectSphere.crmji.search;
+
+/**
+ * One ranked search result.
+ * @param type the kind of record matched
+ * @param id the record's ID, to fetch it from the matching endpoint (e.g. /api/contacts/{id})
+ * @param title short display text (e.g. the contact's name)
+ * @param subtitle secondary display text (e.g. the company), may be null
+ * @param score relevance score; only meaningful relative to the other hits of the same query
+ */
+public record SearchHit(
+        SearchDocumentType type,
+        long id,
+        String title,
+        String subtitle,
+        double score
+) {}
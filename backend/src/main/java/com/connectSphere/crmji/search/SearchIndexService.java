@@ -0,0 +1,283 @@
+package com.ConnectSphere.crmji.search;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.ActivityRepository;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the in-memory {@link InvertedIndex} in step with the contacts, leads and activities tables.
+ *
+ * The index is built from the database when the application starts (in the background; searches
+ * answer 503 until it is ready) and then maintained incrementally from committed
+ * {@link EntityChangeEvent}s. Writes that bypass JPA, such as the bulk lead import, publish those
+ * events themselves.
+ *
+ * A full rebuild fills a fresh index while the current one keeps serving queries. Changes committed
+ * during the rebuild are applied to the current index and also logged, then replayed onto the new
+ * index right after it is swapped in, so no change is lost.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SearchIndexService.class);
+
+    // How many rows may accumulate in the persistence context before it is cleared during a rebuild
+    private static final int CLEAR_INTERVAL = 1000;
+
+    // Field weights: a match in a name counts more than one in free-text notes
+    private static final float NAME_WEIGHT = 3f;
+    private static final float COMPANY_WEIGHT = 2f;
+    private static final float EMAIL_WEIGHT = 1.5f;
+    private static final float TITLE_WEIGHT = 1.5f;
+    private static final float TEXT_WEIGHT = 1f;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor taskExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.search.min-prefix-length:2}") // Query terms at least this long also match as prefixes
+    private int minPrefixLength;
+
+    @Value("${app.search.max-prefix-expansions:64}") // Index terms a single prefix may expand to
+    private int maxPrefixExpansions;
+
+    private volatile InvertedIndex index;
+    private volatile boolean ready;
+    private volatile Queue<EntityChangeEvent> replayLog; // Non-null while a rebuild is running
+
+    // Change handlers share the read side; swapping in a rebuilt index takes the write side
+    private final ReentrantReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private TransactionTemplate readOnlyTransaction;
+    private Timer queryTimer;
+
+    @PostConstruct
+    void init() {
+        index = new InvertedIndex(minPrefixLength, maxPrefixExpansions);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("search.index.documents", () -> index.size())
+                .description("Records currently held in the search index")
+                .register(meterRegistry);
+        queryTimer = Timer.builder("search.query")
+                .description("Time spent answering search queries from the in-memory index")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Builds the index in the background once the application is up.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        startRebuild();
+    }
+
+    /**
+     * @return true once the initial build has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Searches contacts, leads and activities.
+     * @param query free text; every word must match, and words of two or more characters also match as prefixes
+     * @param types the kinds of record to return
+     * @param limit maximum number of hits
+     * @return the hits, best first
+     */
+    public List<SearchHit> search(String query, Set<SearchDocumentType> types, int limit) {
+        return queryTimer.record(() -> index.search(query, types, limit));
+    }
+
+    /**
+     * Starts a full rebuild from the database on a background thread.
+     * @return false if a rebuild is already running
+     */
+    public boolean startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        taskExecutor.execute(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("Search index rebuild failed", e);
+            } finally {
+                rebuilding.set(false);
+            }
+        });
+        return true;
+    }
+
+
+    /**
+     * Applies a committed entity change to the index.
+     * Runs immediately when the change is made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.entity() instanceof Contact || event.entity() instanceof Lead || event.entity() instanceof Activity) {
+            apply(event);
+        }
+    }
+
+    private void apply(EntityChangeEvent event) {
+        swapLock.readLock().lock();
+        try {
+            applyTo(index, event);
+            Queue<EntityChangeEvent> log = replayLog;
+            if (log != null) {
+                log.add(event);
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void applyTo(InvertedIndex target, EntityChangeEvent event) {
+        InvertedIndex.Document document = toDocument(event.entity());
+        if (event.changeType() == EntityChangeEvent.ChangeType.DELETED) {
+            target.remove(document.type(), document.id());
+        } else {
+            target.put(document);
+        }
+    }
+
+    private void rebuild() {
+        long start = System.nanoTime();
+        replayLog = new ConcurrentLinkedQueue<>();
+        InvertedIndex fresh = new InvertedIndex(minPrefixLength, maxPrefixExpansions);
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                load(contactRepository.streamAllForExport(), fresh, this::toDocument);
+                load(leadRepository.streamAllForExport(), fresh, this::toDocument);
+                load(activityRepository.streamAllForExport(), fresh, this::toDocument);
+            });
+        } catch (RuntimeException e) {
+            replayLog = null; // Keep serving the current index
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            index = fresh;
+            for (EntityChangeEvent event : replayLog) {
+                applyTo(fresh, event);
+            }
+            replayLog = null;
+            ready = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+        logger.info("Search index built with {} records in {} ms", fresh.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private <T> void load(Stream<T> rows, InvertedIndex target, Function<T, InvertedIndex.Document> mapper) {
+        try (rows) {
+            long count = 0;
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                target.put(mapper.apply(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear(); // Detach indexed rows so memory stays flat
+                }
+            }
+        }
+    }
+
+    private InvertedIndex.Document toDocument(Object entity) {
+        return switch (entity) {
+            case Contact contact -> toDocument(contact);
+            case Lead lead -> toDocument(lead);
+            case Activity activity -> toDocument(activity);
+            default -> throw new IllegalArgumentException("Not a searchable entity: " + entity.getClass().getName());
+        };
+    }
+
+    private InvertedIndex.Document toDocument(Contact contact) {
+        return new InvertedIndex.Document(SearchDocumentType.CONTACT, contact.getId(),
+                fullName(contact.getFirstName(), contact.getLastName()), contact.getCompany(), List.of(
+                        new InvertedIndex.Field(contact.getFirstName(), NAME_WEIGHT),
+                        new InvertedIndex.Field(contact.getLastName(), NAME_WEIGHT),
+                        new InvertedIndex.Field(contact.getCompany(), COMPANY_WEIGHT),
+                        new InvertedIndex.Field(contact.getJobTitle(), TITLE_WEIGHT),
+                        new InvertedIndex.Field(contact.getEmail(), EMAIL_WEIGHT),
+                        new InvertedIndex.Field(contact.getNotes(), TEXT_WEIGHT)));
+    }
+
+    private InvertedIndex.Document toDocument(Lead lead) {
+        return new InvertedIndex.Document(SearchDocumentType.LEAD, lead.getId(),
+                fullName(lead.getFirstName(), lead.getLastName()), lead.getCompany(), List.of(
+                        new InvertedIndex.Field(lead.getFirstName(), NAME_WEIGHT),
+                        new InvertedIndex.Field(lead.getLastName(), NAME_WEIGHT),
+                        new InvertedIndex.Field(lead.getCompany(), COMPANY_WEIGHT),
+                        new InvertedIndex.Field(lead.getEmail(), EMAIL_WEIGHT),
+                        new InvertedIndex.Field(lead.getStatus(), TEXT_WEIGHT)));
+    }
+
+    private InvertedIndex.Document toDocument(Activity activity) {
+        return new InvertedIndex.Document(SearchDocumentType.ACTIVITY, activity.getId(),
+                activity.getSubject(), activity.getType(), List.of(
+                        new InvertedIndex.Field(activity.getSubject(), TITLE_WEIGHT),
+                        new InvertedIndex.Field(activity.getNotes(), TEXT_WEIGHT)));
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return lastName == null ? firstName : firstName + " " + lastName;
+    }
+}
@@ -1,10 +1,12 @@
 package com.ConnectSphere.crmji.security;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,10 +15,17 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * Filter that processes JWT tokens in incoming requests
  * Extracts JWT from Authorization header and validates it
+ * The token is parsed and verified once per request (and not at all if it was verified recently).
+ *
+ * In "claims" principal mode (the default) the user ID and role are read from the signed token
+ * and checked against {@link PrincipalCache}, so a request normally needs no database round trip.
+ * In "database" mode, or for tokens issued without those claims, the user is loaded by email.
+ * Revoked tokens ({@link TokenRevocationService}) are treated as absent.
  */
 public class AuthTokenFilter extends OncePerRequestFilter {
 
@@ -26,6 +35,15 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Value("${app.jwt.principal-mode:claims}") // "claims" or "database"
+    private String principalMode;
+
     /**
      * Processes each HTTP request to extract and validate JWT token
      */
@@ -34,10 +52,11 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String email = jwtUtils.getEmailFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-
+            Optional<Claims> claims = jwt != null
+                    ? jwtUtils.parseVerifiedClaims(jwt).filter(verified -> !tokenRevocationService.isRevoked(verified))
+                    : Optional.empty();
+            UserDetails userDetails = claims.isPresent() ? resolvePrincipal(claims.get()) : null;
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -45,12 +64,33 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            System.out.println("Cannot set user authentication: " + e.getMessage());
+            logger.error("Cannot set user authentication: " + e.getMessage()); // Logger inherited from GenericFilterBean
         }
 
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolves the principal for a verified token.
+     * @param claims the verified token claims
+     * @return the principal, or null if the token's role is no longer current or the account is disabled
+     */
+    private UserDetails resolvePrincipal(Claims claims) {
+        Long userId = claims.get(JwtUtils.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtUtils.CLAIM_ROLE, String.class);
+
+        if (!"claims".equals(principalMode) || userId == null || role == null) {
+            return userDetailsService.loadUserByUsername(claims.getSubject());
+        }
+
+        UserPrincipal principal = principalCache.get(userId);
+        // A role change or deactivation after the token was issued invalidates the token
+        if (principal == null || !principal.isEnabled() || !principal.hasAuthority(role)) {
+            return null;
+        }
+        return principal;
+    }
+
     /**
      * Extracts JWT token from Authorization header
      * @param request HTTP request
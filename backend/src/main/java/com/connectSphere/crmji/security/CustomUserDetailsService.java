@@ -4,13 +4,14 @@ import com.ConnectSphere.crmji.model.User;
 import com.ConnectSphere.crmji.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
@@ -48,4 +49,24 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         return UserPrincipal.create(user);
     }
-}
\ No newline at end of file
+
+    /**
+     * Stores a rehashed password. Called by Spring Security after a successful login whose stored hash
+     * was made with a lower BCrypt cost than the configured one.
+     * @param user the authenticated user
+     * @param newPassword the new encoded password
+     * @return the user with the new password
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = userRepository.findByEmail(user.getUsername())
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found with email: " + user.getUsername())
+                );
+        entity.setPassword(newPassword);
+        userRepository.save(entity);
+
+        return UserPrincipal.create(entity);
+    }
+}
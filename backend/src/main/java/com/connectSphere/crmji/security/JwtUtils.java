@@ -1,13 +1,31 @@
 package com.ConnectSphere.crmji.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JWT utility class for handling JSON Web Token operations.
@@ -18,16 +36,76 @@ import java.util.Date;
  * - Signing uses Keys.hmacShaKeyFor() for secret key
  * - Parser uses Jwts.parser().verifyWith().build()
  * - Exception handling is different
+ *
+ * The signing key and parser are built once at startup (both are immutable and thread-safe),
+ * and tokens that passed signature verification are kept in a bounded cache keyed by the
+ * SHA-256 digest of the token. Repeat requests with the same bearer token skip the HS512 work.
+ * A cached entry never outlives the token's own expiration.
  */
 @Component
 public class JwtUtils {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
+
+    // Signed claims that let the filter build the principal without loading the user by email
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
+
     @Value("${app.jwt.secret}") // Injected from application.properties: app.jwt.secret=your-256-bit-secret
     private String jwtSecret;
 
     @Value("${app.jwt.expirationMs}") // Injected from application.properties: app.jwt.expirationMs=86400000
     private int jwtExpirationMs;
 
+    @Value("${app.jwt.cache.max-size:10000}") // Maximum number of verified tokens kept in memory; 0 disables the cache
+    private long verifiedCacheMaxSize;
+
+    @Value("${app.jwt.cache.ttl-seconds:300}") // Upper bound on how long a verified token stays cached
+    private long verifiedCacheTtlSeconds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, Claims> verifiedTokens; // Null when the cache is disabled
+    private Timer validVerifyTimer;
+    private Timer invalidVerifyTimer;
+
+    /**
+     * Derives the HMAC key and builds the parser once, and sets up the verified-token cache and its metrics.
+     */
+    @PostConstruct
+    void init() {
+        // The secret must be at least 256 bits (32 characters) for HS512
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey) // New API: verifyWith() instead of setSigningKey()
+                .build();
+
+        // Not a size-0 Caffeine cache: it evicts asynchronously, so entries would still be served for a while
+        if (verifiedCacheMaxSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheMaxSize)
+                    .expireAfter(new TokenExpiry(Duration.ofSeconds(verifiedCacheTtlSeconds)))
+                    .recordStats()
+                    .build();
+
+            // Publishes cache.gets{result=hit|miss}, cache.size, cache.evictions... tagged cache=jwt.verified-tokens
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+        }
+        validVerifyTimer = verifyTimer("valid");
+        invalidVerifyTimer = verifyTimer("invalid");
+    }
+
+    private Timer verifyTimer(String result) {
+        return Timer.builder("jwt.verify")
+                .description("Time spent parsing and verifying JWT signatures (cache misses only)")
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
     /**
      * Generates a JWT token from authentication object using JJWT 0.12.5 API
      * @param authentication the Spring Security authentication object
@@ -37,34 +115,63 @@ public class JwtUtils {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString()) // Token ID (jti), the key for revocation (TokenRevocationService)
                 .subject(userPrincipal.getEmail()) // Use email as subject (new API: .subject() instead of .setSubject())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_ROLE, userPrincipal.getAuthorities().iterator().next().getAuthority()) // e.g. "ROLE_ADMIN"
                 .issuedAt(new Date()) // Token creation time
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs)) // Token expiration time
-                .signWith(getSigningKey(), Jwts.SIG.HS512) // Sign with secret key using new API
+                .signWith(signingKey, Jwts.SIG.HS512) // Sign with secret key using new API
                 .compact();
     }
 
     /**
-     * Creates a signing key from the secret string using JJWT 0.12.5 API
-     * @return SecretKey for signing JWTs
+     * Parses and verifies a token once, returning its claims.
+     * Tokens already verified recently are answered from the cache without signature work.
+     * @param token the JWT token string
+     * @return the verified claims, or empty if the token is malformed, badly signed or expired
      */
-    private SecretKey getSigningKey() {
-        // The secret must be at least 256 bits (32 characters) for HS512
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    public Optional<Claims> parseVerifiedClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String cacheKey = verifiedTokens == null ? null : digest(token);
+        Claims cached = cacheKey == null ? null : verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long start = System.nanoTime();
+        try {
+            Claims claims = jwtParser.parseSignedClaims(token) // New API: parseSignedClaims() instead of parseClaimsJws()
+                    .getPayload();
+            validVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (cacheKey != null) {
+                verifiedTokens.put(cacheKey, claims);
+            }
+            return Optional.of(claims);
+        } catch (JwtException e) {
+            // Covers ExpiredJwtException, MalformedJwtException, SignatureException, ...
+            invalidVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.debug("JWT validation error: {}", e.getMessage()); // Routine (expired sessions), so not logged by default
+        } catch (IllegalArgumentException e) {
+            invalidVerifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.debug("JWT claims string is empty: {}", e.getMessage());
+        }
+        return Optional.empty();
     }
 
     /**
      * Extracts the email (subject) from a JWT token using JJWT 0.12.5 API
      * @param token the JWT token string
      * @return the email address from the token
+     * @throws JwtException if the token is not valid
      */
     public String getEmailFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey()) // New API: verifyWith() instead of setSigningKey()
-                .build()
-                .parseSignedClaims(token) // New API: parseSignedClaims() instead of parseClaimsJws()
-                .getPayload()
-                .getSubject();
+        return parseVerifiedClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow(() -> new JwtException("Invalid JWT token"));
     }
 
     /**
@@ -73,22 +180,51 @@ public class JwtUtils {
      * @return true if the token is valid, false otherwise
      */
     public boolean validateJwtToken(String authToken) {
+        return parseVerifiedClaims(authToken).isPresent();
+    }
+
+    /**
+     * SHA-256 digest of the token, used as cache key so raw bearer tokens are not held in memory.
+     */
+    private static String digest(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (JwtException e) {
-            // JJWT 0.12.5 has different exception handling
-            System.out.println("JWT validation error: " + e.getMessage());
-            // You can be more specific with exception types if needed:
-            // if (e instanceof ExpiredJwtException) { ... }
-            // if (e instanceof MalformedJwtException) { ... }
-            // if (e instanceof SecurityException) { ... }
-        } catch (IllegalArgumentException e) {
-            System.out.println("JWT claims string is empty: " + e.getMessage());
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Guaranteed by every JRE
+        }
+    }
+
+    /**
+     * Expires a cached token at its own "exp" claim or after the configured TTL, whichever comes first.
+     */
+    private static class TokenExpiry implements Expiry<String, Claims> {
+
+        private final long ttlNanos;
+
+        TokenExpiry(Duration ttl) {
+            this.ttlNanos = ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return ttlNanos;
+            }
+            long untilExpiry = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(ttlNanos, untilExpiry));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
         }
-        return false;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,176 @@
+package com.ConnectSphere.crmji.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for logins.
+ *
+ * A BCrypt check costs tens to hundreds of milliseconds of CPU by design, so a login storm on request
+ * threads ties up Tomcat workers and cores the rest of the API needs. Password checks run here instead,
+ * on a fixed pool of app.auth.login.threads platform threads with a bounded queue, and the request thread
+ * is released while they run (the login endpoint returns a CompletableFuture). When the queue is full a
+ * login is rejected at once with 503 and Retry-After; a queued login that waited longer than max-wait-ms
+ * is dropped before hashing, since its client has likely given up.
+ *
+ * Before anything is queued, failed attempts are counted in fixed windows per account (email) and per
+ * client IP, and a client over either limit gets 429 with Retry-After. Only failures count, so many users
+ * behind one NAT address can still sign in at shift start; a successful login clears its account's count.
+ */
+@Component
+public class LoginAdmission {
+
+    /**
+     * Failed attempts since the window opened; the cache entry expires when the window closes.
+     */
+    private record FailureWindow(long startNanos, AtomicInteger failures) {
+    }
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.auth.login.threads:0}") // Concurrent password checks; 0 = half the available processors
+    private int threads;
+
+    @Value("${app.auth.login.queue-size:64}") // Logins waiting for a thread before new ones are rejected
+    private int queueSize;
+
+    @Value("${app.auth.login.max-wait-ms:2000}") // Queued logins older than this are dropped unchecked
+    private long maxWaitMs;
+
+    @Value("${app.auth.login.account.max-failures:5}")
+    private int maxAccountFailures;
+
+    @Value("${app.auth.login.account.window-seconds:900}")
+    private long accountWindowSeconds;
+
+    @Value("${app.auth.login.ip.max-failures:50}")
+    private int maxIpFailures;
+
+    @Value("${app.auth.login.ip.window-seconds:300}")
+    private long ipWindowSeconds;
+
+    @Value("${app.auth.login.max-tracked:100000}") // Accounts / IPs with failures kept in memory, each
+    private long maxTracked;
+
+    private ThreadPoolExecutor executor;
+    private Cache<String, FailureWindow> accountFailures;
+    private Cache<String, FailureWindow> ipFailures;
+    private Counter throttledLogins;
+    private Counter rejectedLogins;
+
+    @PostConstruct
+    void init() {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> new Thread(runnable, "login-" + threadNumber.incrementAndGet()),
+                new ThreadPoolExecutor.AbortPolicy());
+        // Publishes executor.active, executor.queued, executor.completed... tagged name=login
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+
+        accountFailures = failureCache(accountWindowSeconds);
+        ipFailures = failureCache(ipWindowSeconds);
+        throttledLogins = Counter.builder("auth.login.rejected").tag("reason", "throttled")
+                .description("Logins refused because the account or client IP had too many failures")
+                .register(meterRegistry);
+        rejectedLogins = Counter.builder("auth.login.rejected").tag("reason", "busy")
+                .description("Logins refused because the login pool and queue were full")
+                .register(meterRegistry);
+    }
+
+    private Cache<String, FailureWindow> failureCache(long windowSeconds) {
+        // The entry is written once, when the window opens, so it expires when the window closes
+        return Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterWrite(Duration.ofSeconds(windowSeconds))
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Checks the credentials on the login pool.
+     * @param email the account email
+     * @param password the raw password
+     * @param clientIp the client address the attempt is counted against
+     * @return a future completed with the authentication, or exceptionally with an AuthenticationException
+     *         for bad credentials or a LoginRejectedException if the login waited too long in the queue
+     * @throws LoginRejectedException if the account or IP is throttled or the pool is saturated
+     */
+    public CompletableFuture<Authentication> authenticate(String email, String password, String clientIp) {
+        String account = email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+        checkThrottle(accountFailures, account, maxAccountFailures, accountWindowSeconds);
+        checkThrottle(ipFailures, clientIp, maxIpFailures, ipWindowSeconds);
+
+        long queuedAt = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                if (System.nanoTime() - queuedAt > TimeUnit.MILLISECONDS.toNanos(maxWaitMs)) {
+                    throw busy();
+                }
+                try {
+                    Authentication authentication = authenticationManager.authenticate(
+                            UsernamePasswordAuthenticationToken.unauthenticated(email, password));
+                    accountFailures.invalidate(account);
+                    return authentication;
+                } catch (AuthenticationException e) {
+                    recordFailure(accountFailures, account);
+                    recordFailure(ipFailures, clientIp);
+                    throw e;
+                }
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            throw busy();
+        }
+    }
+
+    private void checkThrottle(Cache<String, FailureWindow> failures, String key, int maxFailures, long windowSeconds) {
+        FailureWindow window = failures.getIfPresent(key);
+        if (window != null && window.failures().get() >= maxFailures) {
+            long elapsedSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - window.startNanos());
+            throttledLogins.increment();
+            throw new LoginRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many failed login attempts, try again later", Math.max(1, windowSeconds - elapsedSeconds));
+        }
+    }
+
+    private static void recordFailure(Cache<String, FailureWindow> failures, String key) {
+        failures.get(key, k -> new FailureWindow(System.nanoTime(), new AtomicInteger())).failures().incrementAndGet();
+    }
+
+    private LoginRejectedException busy() {
+        rejectedLogins.increment();
+        return new LoginRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, try again shortly",
+                Math.max(1, TimeUnit.MILLISECONDS.toSeconds(maxWaitMs)));
+    }
+}
@@ -0,0 +1,35 @@
+package com.ConnectSphere.crmji.security;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Thrown when a login is turned away before its password is checked: 429 (TOO MANY REQUESTS) when the
+ * account or client IP is throttled, 503 (SERVICE UNAVAILABLE) when the login pool is saturated.
+ */
+public class LoginRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final HttpStatus status;
+    private final long retryAfterSeconds;
+
+    public LoginRejectedException(HttpStatus status, String message, long retryAfterSeconds) {
+        super(message);
+        this.status = status;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * @return the HTTP status to answer with
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the value for the Retry-After header, in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
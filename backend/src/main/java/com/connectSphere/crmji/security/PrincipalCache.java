@@ -0,0 +1,91 @@
+package com.ConnectSphere.crmji.security;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * Bounded cache of the current principal (role and enabled flag) for each user ID.
+ *
+ * Lets the JWT filter authenticate requests without touching the database: the token carries
+ * the user ID and role as signed claims, and this cache tells whether that role is still current
+ * and the account still enabled. Entries are evicted as soon as a User row is updated or deleted,
+ * and the TTL is only a safety net for changes made outside the application.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.security.principal-cache.max-size:10000}") // Maximum number of users kept in memory
+    private long maxSize;
+
+    @Value("${app.security.principal-cache.ttl-seconds:600}") // Upper bound on how long an entry is trusted
+    private long ttlSeconds;
+
+    private Cache<Long, UserPrincipal> principals;
+
+    @PostConstruct
+    void init() {
+        principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
+
+    /**
+     * Returns the current principal for a user, loading it from the database only on a cache miss.
+     * The cached principal carries no password hash.
+     * @param userId the user ID
+     * @return the principal, or null if the user does not exist
+     */
+    public UserPrincipal get(Long userId) {
+        return principals.get(userId, this::load);
+    }
+
+    /**
+     * Drops the cached principal of a user.
+     * @param userId the user ID
+     */
+    public void invalidate(Long userId) {
+        principals.invalidate(userId);
+    }
+
+    /**
+     * Evicts a user once a change to their row is committed (role, enabled flag, deletion, ...).
+     * Runs immediately when the change is made outside a transaction.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChange(EntityChangeEvent event) {
+        if (event.entity() instanceof User user && user.getId() != null) {
+            invalidate(user.getId());
+        }
+    }
+
+    private UserPrincipal load(Long userId) {
+        try {
+            UserPrincipal principal = (UserPrincipal) userDetailsService.loadUserById(userId);
+            return new UserPrincipal(principal.getId(), principal.getEmail(), null,
+                    principal.getAuthorities(), principal.isEnabled());
+        } catch (UsernameNotFoundException e) {
+            return null; // Not cached, so a user created later with this ID is picked up
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.ConnectSphere.crmji.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory set of revoked token IDs (jti), each with the time its token expires.
+ *
+ * Every authenticated request asks whether its token is revoked, and almost never is. A Bloom filter
+ * answers that case with one hash and a few word reads, without touching the map; only a filter hit
+ * (a revoked token, or a false positive at the configured rate) falls through to the exact map.
+ *
+ * Entries are dropped once their token has expired (it would be rejected anyway). The filter cannot
+ * forget keys, so it is rebuilt from the map when a quarter of its keys are stale or it outgrows its
+ * capacity; stale bits until then only cause false positives, which the map resolves. Reads are
+ * lock-free; writes and rebuilds are serialized, and a rebuild is published with a single volatile write.
+ */
+public class RevokedTokenSet {
+
+    private final int minCapacity;
+    private final double falsePositiveRate;
+    private final Map<String, Long> expiryByTokenId = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile BloomFilter filter;
+    private int staleKeys; // Keys in the filter but no longer in the map; guarded by writeLock
+
+    /**
+     * @param expectedTokens how many revoked, unexpired tokens the filter is sized for initially
+     * @param falsePositiveRate the share of non-revoked tokens that fall through to the exact map
+     */
+    public RevokedTokenSet(int expectedTokens, double falsePositiveRate) {
+        this.minCapacity = Math.max(1, expectedTokens);
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(minCapacity, falsePositiveRate);
+    }
+
+    /**
+     * @param tokenId the token's jti claim, or null for tokens issued without one
+     * @return true if the token has been revoked
+     */
+    public boolean contains(String tokenId) {
+        return tokenId != null && filter.mightContain(tokenId) && expiryByTokenId.containsKey(tokenId);
+    }
+
+    /**
+     * Adds a revoked token. Adding a token twice has no further effect.
+     * @param tokenId the token's jti claim
+     * @param expiresAtMillis when the token expires (epoch milliseconds); it is forgotten after that
+     */
+    public void add(String tokenId, long expiresAtMillis) {
+        writeLock.lock();
+        try {
+            if (expiryByTokenId.put(tokenId, expiresAtMillis) != null) {
+                return;
+            }
+            if (expiryByTokenId.size() + staleKeys > filter.capacity()) {
+                rebuild();
+            } else {
+                filter.put(tokenId);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Forgets tokens that have expired.
+     * @param nowMillis the current time (epoch milliseconds)
+     * @return the number of tokens removed
+     */
+    public int removeExpired(long nowMillis) {
+        writeLock.lock();
+        try {
+            int sizeBefore = expiryByTokenId.size();
+            expiryByTokenId.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+            int removed = sizeBefore - expiryByTokenId.size();
+            staleKeys += removed;
+            if (staleKeys > 0 && staleKeys * 4 >= staleKeys + expiryByTokenId.size()) {
+                rebuild();
+            }
+            return removed;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of revoked, unexpired tokens
+     */
+    public int size() {
+        return expiryByTokenId.size();
+    }
+
+    // Called with writeLock held; leaves room to double before the next rebuild
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(minCapacity, expiryByTokenId.size() * 2), falsePositiveRate);
+        expiryByTokenId.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+        staleKeys = 0;
+    }
+}
@@ -0,0 +1,121 @@
+package com.ConnectSphere.crmji.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Revokes JWTs before they expire, by their token ID (jti claim).
+ *
+ * Revoked tokens are stored in the revoked_tokens table and held in a {@link RevokedTokenSet}, which
+ * the JWT filter asks on every request; a token that was not revoked is answered by its Bloom filter
+ * in nanoseconds. Each instance loads the unexpired rows at startup and polls every refresh-ms for rows
+ * revoked elsewhere (with a margin of refresh-overlap-ms for clock skew and late commits), so a revocation
+ * reaches the other instances within one refresh. The same job forgets expired tokens and deletes
+ * their rows: an expired token is rejected by its own "exp" claim.
+ *
+ * Tokens issued before tokens carried a jti cannot be revoked; they expire within app.jwt.expirationMs.
+ */
+@Component
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO revoked_tokens (jti, user_id, expires_at, revoked_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_SQL =
+            "SELECT jti, expires_at FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?";
+
+    private static final String DELETE_EXPIRED_SQL = "DELETE FROM revoked_tokens WHERE expires_at <= ? LIMIT ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.jwt.revocation.expected-tokens:100000}") // Initial Bloom filter capacity; it grows as needed
+    private int expectedTokens;
+
+    @Value("${app.jwt.revocation.false-positive-rate:0.001}") // Share of requests that also check the exact set
+    private double falsePositiveRate;
+
+    @Value("${app.jwt.revocation.refresh-overlap-ms:60000}")
+    private long refreshOverlapMs;
+
+    @Value("${app.jwt.revocation.purge-batch-size:1000}") // Expired rows deleted per refresh
+    private int purgeBatchSize;
+
+    private RevokedTokenSet revokedTokens;
+    private LocalDateTime loadedSince;
+
+    @PostConstruct
+    void init() {
+        revokedTokens = new RevokedTokenSet(expectedTokens, falsePositiveRate);
+        loadedSince = LocalDateTime.of(1970, 1, 1, 0, 0);
+        refresh();
+        Gauge.builder("jwt.revoked", revokedTokens, RevokedTokenSet::size)
+                .description("Revoked JWTs that have not expired yet")
+                .register(meterRegistry);
+        logger.info("Loaded {} revoked tokens", revokedTokens.size());
+    }
+
+    /**
+     * @param claims the verified claims of a token
+     * @return true if the token has been revoked
+     */
+    public boolean isRevoked(Claims claims) {
+        return revokedTokens.contains(claims.getId());
+    }
+
+    /**
+     * Revokes a token on this instance at once and on the others within one refresh.
+     * Revoking a token twice has no further effect.
+     * @param claims the verified claims of the token
+     * @throws IllegalArgumentException if the token has no ID or no expiration
+     */
+    public void revoke(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            throw new IllegalArgumentException("Token was issued without an ID and cannot be revoked; it expires at "
+                    + claims.getExpiration());
+        }
+        long expiresAtMillis = claims.getExpiration().getTime();
+        try {
+            jdbcTemplate.update(INSERT_SQL, claims.getId(), claims.get(JwtUtils.CLAIM_USER_ID, Long.class),
+                    new Timestamp(expiresAtMillis), Timestamp.valueOf(LocalDateTime.now()));
+        } catch (DuplicateKeyException e) {
+            // Already revoked, possibly on another instance
+        }
+        revokedTokens.add(claims.getId(), expiresAtMillis);
+    }
+
+    /**
+     * Loads tokens revoked on other instances, forgets expired ones and deletes a batch of expired rows.
+     */
+    @Scheduled(initialDelayString = "${app.jwt.revocation.refresh-ms:10000}",
+            fixedDelayString = "${app.jwt.revocation.refresh-ms:10000}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp nowTimestamp = Timestamp.valueOf(now);
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            revokedTokens.add(rs.getString("jti"), rs.getTimestamp("expires_at").getTime());
+        }, Timestamp.valueOf(loadedSince), nowTimestamp);
+        loadedSince = now.minusNanos(refreshOverlapMs * 1_000_000);
+
+        revokedTokens.removeExpired(System.currentTimeMillis());
+        jdbcTemplate.update(DELETE_EXPIRED_SQL, nowTimestamp, purgeBatchSize);
+    }
+}
@@ -15,13 +15,20 @@ public class UserPrincipal implements UserDetails {
     private String email;
     private String password;
     private Collection<? extends GrantedAuthority> authorities;
+    private boolean enabled;
 
     public UserPrincipal(Long id, String email, String password,
                          Collection<? extends GrantedAuthority> authorities) {
+        this(id, email, password, authorities, true);
+    }
+
+    public UserPrincipal(Long id, String email, String password,
+                         Collection<? extends GrantedAuthority> authorities, boolean enabled) {
         this.id = id;
         this.email = email;
         this.password = password;
         this.authorities = authorities;
+        this.enabled = enabled;
     }
 
     /**
@@ -43,10 +50,20 @@ public class UserPrincipal implements UserDetails {
                 user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                authorities
+                authorities,
+                !Boolean.FALSE.equals(user.getEnabled()) // A missing flag counts as enabled
         );
     }
 
+    /**
+     * Checks whether this principal holds the given authority (e.g. "ROLE_ADMIN").
+     * @param authority the authority name
+     * @return true if granted
+     */
+    public boolean hasAuthority(String authority) {
+        return authorities.stream().anyMatch(granted -> granted.getAuthority().equals(authority));
+    }
+
     // Getters and UserDetails interface methods
     public Long getId() { return id; }
     public String getEmail() { return email; }
@@ -64,5 +81,5 @@ public class UserPrincipal implements UserDetails {
     @Override
     public boolean isCredentialsNonExpired() { return true; }
     @Override
-    public boolean isEnabled() { return true; }
+    public boolean isEnabled() { return enabled; }
 }
\ No newline at end of file
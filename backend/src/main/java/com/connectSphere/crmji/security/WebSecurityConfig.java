@@ -1,16 +1,23 @@
 package com.ConnectSphere.crmji.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -29,6 +36,15 @@ public class WebSecurityConfig {
     @Autowired
     private AuthEntryPointJwt unauthorizedHandler;
 
+    @Value("${app.auth.bcrypt.strength:10}") // BCrypt cost (log2 rounds) for new and rehashed passwords
+    private int bcryptStrength;
+
+    @Value("${app.metrics.scrape.username:prometheus}")
+    private String scrapeUsername;
+
+    @Value("${app.metrics.scrape.password:}") // Empty keeps /actuator/prometheus closed
+    private String scrapePassword;
+
     /**
      * Creates JWT authentication filter bean
      */
@@ -38,13 +54,16 @@ public class WebSecurityConfig {
     }
 
     /**
-     * Configures DaoAuthenticationProvider with custom user details service and password encoder
+     * Configures DaoAuthenticationProvider with custom user details service and password encoder.
+     * After a successful login with a hash of a lower cost than app.auth.bcrypt.strength, the provider
+     * stores a new hash through the user details service, so raising the cost needs no migration.
      */
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -57,11 +76,11 @@ public class WebSecurityConfig {
     }
 
     /**
-     * Creates BCrypt password encoder bean
+     * Creates BCrypt password encoder bean with the configured cost
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BCryptPasswordEncoder(bcryptStrength);
     }
 
     /**
@@ -80,6 +99,36 @@ public class WebSecurityConfig {
         return source;
     }
 
+    /**
+     * Security for the Prometheus scrape endpoint, checked before the main configuration.
+     * The scraper authenticates with HTTP Basic credentials of its own (app.metrics.scrape.*), not a user
+     * account or JWT, and gets ROLE_METRICS only. Without a configured password every scrape is refused.
+     */
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsFilterChain(HttpSecurity http) throws Exception {
+        DaoAuthenticationProvider scrapeProvider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername(scrapeUsername)
+                        .password("{noop}" + scrapePassword) // Checked per scrape, so not a BCrypt hash
+                        .roles("METRICS")
+                        .build()));
+        scrapeProvider.setPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder());
+
+        http.securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(new ProviderManager(scrapeProvider))
+                .authorizeHttpRequests(auth -> {
+                    if (scrapePassword.isEmpty()) {
+                        auth.anyRequest().denyAll();
+                    } else {
+                        auth.anyRequest().hasRole("METRICS");
+                    }
+                });
+        return http.build();
+    }
+
     /**
      * Main security configuration
      */
@@ -92,6 +141,7 @@ public class WebSecurityConfig {
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers("/api/auth/**").permitAll() // Public auth endpoints
                         .requestMatchers("/error").permitAll() // Public error endpoint
+                        .requestMatchers("/actuator/health").permitAll() // Liveness probe for load balancers and scripts
                         .anyRequest().authenticated() // All other endpoints require authentication
                 );
 
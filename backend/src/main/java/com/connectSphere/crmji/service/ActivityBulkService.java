@@ -0,0 +1,214 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Creates many activities in one call, e.g. a day of logged calls.
+ *
+ * The single-activity path checks each contact and deal with its own lookup before inserting. Here,
+ * all referenced contact IDs are checked with one IN query on the primary key, likewise all deal IDs,
+ * and the rows are written by ID only (no entity is loaded) in JDBC batches inside one transaction:
+ * either every activity is created or none is. The checks run in that transaction and take shared
+ * locks (SELECT ... FOR SHARE) on the live rows they find, so a contact or deal cannot be deleted or
+ * tombstoned between the check and the insert. A foreign key violation that still gets through is
+ * reported like a missing reference. Activity IDs are IDENTITY columns, which stops Hibernate
+ * from batching inserts, so the batches go through JdbcTemplate; with rewriteBatchedStatements=true on
+ * the datasource URL the MySQL driver sends them as multi-row INSERT statements.
+ *
+ * JDBC inserts raise no JPA callbacks, so an {@link EntityChangeEvent} is published for each created
+ * activity; the search index, activity scheduler and change feed receive them after the commit.
+ */
+@Service
+public class ActivityBulkService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activities (type, subject, notes, due_date, completed, contact_id, deal_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.activities.bulk.batch-size:500}") // Rows per JDBC batch
+    private int batchSize;
+
+    @Value("${app.activities.bulk.max-size:10000}") // Activities accepted per request
+    private int maxSize;
+
+    /**
+     * Validates and inserts activities. Contacts and deals are referenced by ID only
+     * ({@code activity.getContact().getId()}, {@code activity.getDeal().getId()}).
+     * @param activities the activities to create; their IDs and timestamps are set on success
+     * @return the created activities, in request order
+     * @throws IllegalArgumentException if the list is empty or too long, a field is invalid, or a
+     *         referenced contact or deal does not exist or is deleted. Nothing is inserted in that case.
+     */
+    public List<Activity> createActivities(List<Activity> activities) {
+        if (activities == null || activities.isEmpty()) {
+            throw new IllegalArgumentException("At least one activity is required");
+        }
+        if (activities.size() > maxSize) {
+            throw new IllegalArgumentException("At most " + maxSize + " activities can be created per request");
+        }
+        validateFields(activities);
+
+        Set<Long> contactIds = new TreeSet<>(); // Sorted, so the locks are taken in key order
+        Set<Long> dealIds = new TreeSet<>();
+        for (Activity activity : activities) {
+            if (contactId(activity) != null) {
+                contactIds.add(contactId(activity));
+            }
+            if (dealId(activity) != null) {
+                dealIds.add(dealId(activity));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return transactionTemplate.execute(status -> {
+                requireLive("contacts", "Contacts", contactIds);
+                requireLive("deals", "Deals", dealIds);
+                for (int from = 0; from < activities.size(); from += batchSize) {
+                    insertBatch(activities.subList(from, Math.min(from + batchSize, activities.size())), now);
+                }
+                // Delivered to @TransactionalEventListeners once the transaction commits
+                for (Activity activity : activities) {
+                    eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.CREATED, activity));
+                }
+                return activities;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("A referenced contact or deal no longer exists", e);
+        }
+    }
+
+    /**
+     * Checks required fields and lengths (mirroring the Activity column definitions) before touching the database.
+     */
+    private void validateFields(List<Activity> activities) {
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < activities.size() && errors.size() < MAX_REPORTED_ERRORS; i++) {
+            Activity activity = activities.get(i);
+            String error = null;
+            if (activity.getType() == null || activity.getType().isBlank()) {
+                error = "Type is required";
+            } else if (activity.getType().length() > 50) {
+                error = "Type cannot exceed 50 characters";
+            } else if (activity.getSubject() == null || activity.getSubject().isBlank()) {
+                error = "Subject is required";
+            } else if (activity.getSubject().length() > 200) {
+                error = "Subject cannot exceed 200 characters";
+            }
+            if (error != null) {
+                errors.add("Activity " + i + ": " + error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+    }
+
+    /**
+     * Checks that every ID belongs to a live row of the table, and share-locks those rows until the
+     * transaction ends. IN lists hold at most batchSize IDs.
+     */
+    private void requireLive(String table, String kind, Set<Long> requested) {
+        List<Long> ids = new ArrayList<>(requested);
+        Set<Long> missing = new TreeSet<>(requested);
+        for (int from = 0; from < ids.size(); from += batchSize) {
+            namedJdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE id IN (:ids) AND deleted_at IS NULL"
+                            + " ORDER BY id FOR SHARE",
+                    new MapSqlParameterSource("ids", ids.subList(from, Math.min(from + batchSize, ids.size()))), Long.class)
+                    .forEach(missing::remove);
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException(kind + " not found with IDs: " + missing);
+        }
+    }
+
+    private void insertBatch(List<Activity> batch, LocalDateTime now) {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        Activity activity = batch.get(i);
+                        statement.setString(1, activity.getType());
+                        statement.setString(2, activity.getSubject());
+                        statement.setString(3, activity.getNotes());
+                        statement.setTimestamp(4, activity.getDueDate() == null ? null : Timestamp.valueOf(activity.getDueDate()));
+                        statement.setBoolean(5, Boolean.TRUE.equals(activity.getCompleted()));
+                        setNullableLong(statement, 6, contactId(activity));
+                        setNullableLong(statement, 7, dealId(activity));
+                        statement.setTimestamp(8, timestamp);
+                        statement.setTimestamp(9, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return batch.size();
+                    }
+                }, keyHolder);
+
+        // Generated keys come back in insert order, one row per activity
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            Activity activity = batch.get(i);
+            activity.setId(((Number) keys.get(i).values().iterator().next()).longValue());
+            activity.setCompleted(Boolean.TRUE.equals(activity.getCompleted()));
+            activity.setCreatedAt(now);
+            activity.setUpdatedAt(now);
+        }
+    }
+
+    private static void setNullableLong(PreparedStatement statement, int index, Long value) throws SQLException {
+        if (value == null) {
+            statement.setNull(index, Types.BIGINT);
+        } else {
+            statement.setLong(index, value);
+        }
+    }
+
+    private static Long contactId(Activity activity) {
+        return activity.getContact() == null ? null : activity.getContact().getId();
+    }
+
+    private static Long dealId(Activity activity) {
+        return activity.getDeal() == null ? null : activity.getDeal().getId();
+    }
+}
@@ -1,9 +1,18 @@
 package com.ConnectSphere.crmji.service;
 
 import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.pagination.KeysetPaginator;
+import com.ConnectSphere.crmji.repository.ActivityListItem;
 import com.ConnectSphere.crmji.repository.ActivityRepository;
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.DealRepository;
+import com.ConnectSphere.crmji.scheduling.ActivityScheduler;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,36 +25,57 @@ public class ActivityService {
     private ActivityRepository activityRepository;
 
     @Autowired
-    private ContactService contactService;
+    private ContactRepository contactRepository;
 
     @Autowired
-    private DealService dealService;
+    private DealRepository dealRepository;
 
-    public List<Activity> getAllActivities() {
-        return activityRepository.findAll();
+    @Autowired
+    private KeysetPaginator paginator;
+
+    @Autowired
+    private ActivityScheduler activityScheduler; // In-memory index of open activities by due date
+
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityListItem> getAllActivities(String cursor, Integer limit) {
+        int pageSize = paginator.resolveLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        List<ActivityListItem> rows = activityRepository.findByIdGreaterThanOrderByIdAsc(
+                paginator.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return paginator.toPage(rows, pageSize, ActivityListItem::id);
+    }
+
+    // Row count and newest updatedAt of all activities, the validator of cached activity lists
+    @Transactional(readOnly = true)
+    public ChangeStamp getActivitiesChangeStamp() {
+        return activityRepository.findChangeStamp();
     }
 
+    @Transactional(readOnly = true)
     public Optional<Activity> getActivityById(Long id) {
         return activityRepository.findById(id);
     }
 
+    @Transactional
     public Activity createActivity(Activity activity) {
-        // Validate relationships if provided
+        // Validate relationships if provided. Contacts and deals are in the second-level cache,
+        // so a repeated lookup by ID is answered from memory and the cached entity is linked directly.
         if (activity.getContact() != null && activity.getContact().getId() != null) {
-            if (!contactService.getContactById(activity.getContact().getId()).isPresent()) {
-                throw new IllegalArgumentException("Contact not found with ID: " + activity.getContact().getId());
-            }
+            Long contactId = activity.getContact().getId();
+            activity.setContact(contactRepository.findById(contactId)
+                    .orElseThrow(() -> new IllegalArgumentException("Contact not found with ID: " + contactId)));
         }
 
         if (activity.getDeal() != null && activity.getDeal().getId() != null) {
-            if (!dealService.getDealById(activity.getDeal().getId()).isPresent()) {
-                throw new IllegalArgumentException("Deal not found with ID: " + activity.getDeal().getId());
-            }
+            Long dealId = activity.getDeal().getId();
+            activity.setDeal(dealRepository.findById(dealId)
+                    .orElseThrow(() -> new IllegalArgumentException("Deal not found with ID: " + dealId)));
         }
 
         return activityRepository.save(activity);
     }
 
+    @Transactional
     public Optional<Activity> updateActivity(Long id, Activity activityDetails) {
         Optional<Activity> existingActivityOptional = activityRepository.findById(id);
 
@@ -75,6 +105,7 @@ public class ActivityService {
         return Optional.empty();
     }
 
+    @Transactional
     public boolean deleteActivity(Long id) {
         if (activityRepository.existsById(id)) {
             activityRepository.deleteById(id);
@@ -84,29 +115,43 @@ public class ActivityService {
     }
 
     // Custom business methods
-    public List<Activity> getActivitiesByContact(Long contactId) {
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getActivitiesByContact(Long contactId) {
         return activityRepository.findByContactId(contactId);
     }
 
-    public List<Activity> getActivitiesByDeal(Long dealId) {
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getActivitiesByDeal(Long dealId) {
         return activityRepository.findByDealId(dealId);
     }
 
-    public List<Activity> getUpcomingActivities() {
+    // Open activities due within the next 24 hours, earliest first
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getUpcomingActivities() {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime tomorrow = now.plusDays(1);
-        return activityRepository.findByDueDateBetween(now, tomorrow);
+        if (activityScheduler.isEnabled()) {
+            return activityScheduler.getDueBetween(now, tomorrow).stream().map(ActivityListItem::from).toList();
+        }
+        return activityRepository.findByDueDateBetweenAndCompletedFalseOrderByDueDateAsc(now, tomorrow);
     }
 
-    public List<Activity> getOverdueActivities() {
-        return activityRepository.findByDueDateBeforeAndCompletedFalse(LocalDateTime.now());
+    // Open activities whose due date has passed, earliest first
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getOverdueActivities() {
+        if (activityScheduler.isEnabled()) {
+            return activityScheduler.getDueBefore(LocalDateTime.now()).stream().map(ActivityListItem::from).toList();
+        }
+        return activityRepository.findByDueDateBeforeAndCompletedFalseOrderByDueDateAsc(LocalDateTime.now());
     }
 
-    public List<Activity> getCompletedActivities() {
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getCompletedActivities() {
         return activityRepository.findByCompleted(true);
     }
 
-    public List<Activity> getActivitiesByType(String type) {
+    @Transactional(readOnly = true)
+    public List<ActivityListItem> getActivitiesByType(String type) {
         return activityRepository.findByType(type);
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.ConnectSphere.crmji.service;
+
+import java.util.List;
+
+/**
+ * Result of a bulk delete.
+ * @param softDelete true if the rows were tombstoned (soft delete) rather than removed
+ * @param contactsDeleted number of contacts deleted, including those removed with their dependents
+ * @param dealsDeleted number of deals deleted, including dependents of deleted contacts
+ * @param activitiesDeleted number of activities deleted, including dependents of deleted contacts and deals
+ * @param notFoundIds requested IDs that do not exist or were already deleted (capped, see truncated)
+ * @param blockedIds requested IDs left in place because live deals or activities depend on them and
+ *                   cascade was off (capped, see truncated)
+ * @param truncated true if more IDs were not found or blocked than are listed
+ * @param durationMs wall-clock time of the delete
+ */
+public record BulkDeleteReport(
+        boolean softDelete,
+        long contactsDeleted,
+        long dealsDeleted,
+        long activitiesDeleted,
+        List<Long> notFoundIds,
+        List<Long> blockedIds,
+        boolean truncated,
+        long durationMs
+) {}
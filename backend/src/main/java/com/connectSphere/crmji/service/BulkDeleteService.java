@@ -0,0 +1,442 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Deletes many contacts, deals or activities with set-based statements.
+ *
+ * The single-row delete paths run existsById, a load and a DELETE per row. Here the requested IDs are
+ * sorted and processed in chunks, each in its own transaction: the chunk's live rows are locked with one
+ * SELECT ... FOR UPDATE, their dependents (a contact's deals and activities, a deal's activities) are
+ * found with IN queries, and everything is removed with DELETE ... WHERE id IN statements, children
+ * before parents so the foreign keys hold. Without cascade, rows that still have live dependents are
+ * left in place and reported as blocked.
+ *
+ * With app.delete.soft=true the rows are tombstoned instead (deleted_at is set). Entities carry an
+ * {@code @SQLRestriction} on deleted_at, so every JPA query and lookup stops seeing them at once; a
+ * scheduled purger then removes tombstones older than app.delete.purge.after-minutes, at most
+ * app.delete.purge.batch-size rows per run. The @Scheduled pool has a single thread shared with the
+ * activity scheduler's tick, so the purger is throttled by that batch size and never sleeps. A purge
+ * only removes tombstones: a tombstoned contact or deal that a live row was linked to after its delete
+ * is skipped and logged, not taken down with its live dependents. A tombstoned contact keeps its email
+ * until it is purged; {@link #purgeContactsByEmail(Collection)} frees it early for a new contact with
+ * the same email.
+ *
+ * JDBC writes raise no JPA callbacks, so an {@link EntityChangeEvent} (DELETED, entity with only its ID)
+ * is published for each deleted row, and deleted contacts and deals are evicted from the second-level
+ * cache after the commit. Purging tombstones publishes nothing; their delete was already announced.
+ */
+@Service
+public class BulkDeleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkDeleteService.class);
+
+    /**
+     * The tables bulk deletes apply to.
+     */
+    private enum Table {
+        CONTACTS("contacts"),
+        DEALS("deals"),
+        ACTIVITIES("activities");
+
+        private final String name;
+
+        Table(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * The rows one chunk removes, requested rows and their dependents.
+     */
+    private record Removal(List<Long> contactIds, List<Long> dealIds, List<Long> activityIds) {
+    }
+
+    /**
+     * Running totals for one bulk delete.
+     */
+    private static class DeleteProgress {
+        long contactsDeleted;
+        long dealsDeleted;
+        long activitiesDeleted;
+        final Set<Long> notFound = new TreeSet<>();
+        final Set<Long> blocked = new TreeSet<>();
+    }
+
+    /**
+     * The purger's walk through one table. Tombstones are taken in ID order after afterId, so skipped
+     * ones do not hold up the rest; the walk restarts once the table has no more.
+     */
+    private static class PurgePass {
+        long afterId;
+        Set<Long> skipped = new TreeSet<>();
+        Set<Long> reported = Set.of();
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${app.delete.bulk.chunk-size:1000}") // Requested IDs per transaction, and IDs per IN list
+    private int chunkSize;
+
+    @Value("${app.delete.bulk.max-ids:10000}") // IDs accepted per request
+    private int maxIds;
+
+    @Value("${app.delete.bulk.max-reported-ids:1000}") // Cap on not-found / blocked IDs listed in the report
+    private int maxReportedIds;
+
+    @Value("${app.delete.soft:false}") // Tombstone rows instead of deleting them
+    private boolean softDelete;
+
+    @Value("${app.delete.purge.enabled:true}")
+    private boolean purgeEnabled;
+
+    @Value("${app.delete.purge.after-minutes:1440}") // How long tombstones are kept
+    private long purgeAfterMinutes;
+
+    @Value("${app.delete.purge.batch-size:500}") // Tombstones removed per purge run
+    private int purgeBatchSize;
+
+    // Only touched by the purger, which runs on the single @Scheduled thread
+    private final Map<Table, PurgePass> purgePasses = new EnumMap<>(Map.of(
+            Table.CONTACTS, new PurgePass(), Table.DEALS, new PurgePass(), Table.ACTIVITIES, new PurgePass()));
+
+    /**
+     * Deletes contacts.
+     * @param contactIds the IDs of the contacts to delete
+     * @param cascade true to delete the contacts' deals and activities with them; false to keep contacts
+     *                that still have deals or activities and report them as blocked
+     * @return the delete report
+     * @throws IllegalArgumentException if no or too many IDs are given
+     */
+    public BulkDeleteReport deleteContacts(Collection<Long> contactIds, boolean cascade) {
+        return delete(Table.CONTACTS, contactIds, cascade);
+    }
+
+    /**
+     * Deletes deals.
+     * @param dealIds the IDs of the deals to delete
+     * @param cascade true to delete the deals' activities with them; false to keep deals that still have
+     *                activities and report them as blocked
+     * @return the delete report
+     * @throws IllegalArgumentException if no or too many IDs are given
+     */
+    public BulkDeleteReport deleteDeals(Collection<Long> dealIds, boolean cascade) {
+        return delete(Table.DEALS, dealIds, cascade);
+    }
+
+    /**
+     * Deletes activities.
+     * @param activityIds the IDs of the activities to delete
+     * @return the delete report
+     * @throws IllegalArgumentException if no or too many IDs are given
+     */
+    public BulkDeleteReport deleteActivities(Collection<Long> activityIds) {
+        return delete(Table.ACTIVITIES, activityIds, false);
+    }
+
+    /**
+     * Removes tombstoned contacts that hold one of the given emails, with their deals and activities, so a
+     * new contact can take the email. Must be called inside the transaction that writes the new contact.
+     * Does nothing unless soft delete is on; tombstones left from an earlier soft-delete period are
+     * removed by the purger.
+     * @param emails the emails about to be used
+     */
+    public void purgeContactsByEmail(Collection<String> emails) {
+        if (!softDelete || emails.isEmpty()) {
+            return;
+        }
+        // Plain read first: a locking read on an email with no row would take an InnoDB gap lock, and two
+        // concurrent inserts into the same gap would deadlock. Only tombstones found here are locked, by ID.
+        List<Long> tombstoned = namedJdbcTemplate.queryForList(
+                "SELECT id FROM contacts WHERE email IN (:emails) AND deleted_at IS NOT NULL",
+                new MapSqlParameterSource("emails", emails), Long.class);
+        if (tombstoned.isEmpty()) {
+            return;
+        }
+        List<Long> locked = namedJdbcTemplate.queryForList(
+                "SELECT id FROM contacts WHERE id IN (:ids) AND deleted_at IS NOT NULL ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", tombstoned), Long.class);
+        Set<Long> referenced = referencedByLiveRows(Table.CONTACTS, locked);
+        if (!referenced.isEmpty()) {
+            // The new contact's insert will fail on the email; the old one must not take live rows with it
+            logger.warn("Tombstoned contacts {} still referenced by live rows, not purged", referenced);
+        }
+        List<Long> purgeable = locked.stream().filter(id -> !referenced.contains(id)).toList();
+        if (!purgeable.isEmpty()) {
+            remove(collect(Table.CONTACTS, purgeable, true), false);
+        }
+    }
+
+    /**
+     * Removes tombstones older than app.delete.purge.after-minutes: one batch per run, from the first table
+     * (activities, deals, contacts) that has any, so each run does a bounded amount of work. Contacts and
+     * deals that live rows still reference are skipped and logged once per change in the skipped set.
+     */
+    @Scheduled(initialDelayString = "${app.delete.purge.interval-ms:1000}",
+            fixedDelayString = "${app.delete.purge.interval-ms:1000}")
+    public void purgeTombstones() {
+        if (!purgeEnabled) {
+            return;
+        }
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(LocalDateTime.now().minusMinutes(purgeAfterMinutes)))
+                .addValue("limit", purgeBatchSize);
+        for (Table table : List.of(Table.ACTIVITIES, Table.DEALS, Table.CONTACTS)) {
+            PurgePass pass = purgePasses.get(table);
+            parameters.addValue("after", pass.afterId);
+            Removal purged = transactionTemplate.execute(tx -> {
+                List<Long> ids = namedJdbcTemplate.queryForList("SELECT id FROM " + table.name +
+                        " WHERE deleted_at < :cutoff AND id > :after ORDER BY id LIMIT :limit FOR UPDATE",
+                        parameters, Long.class);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                pass.afterId = ids.get(ids.size() - 1);
+                // Dependents of a tombstone are tombstones too, unless one was linked to it after its delete
+                Set<Long> referenced = referencedByLiveRows(table, ids);
+                pass.skipped.addAll(referenced);
+                Removal removal = collect(table, ids.stream().filter(id -> !referenced.contains(id)).toList(), true);
+                remove(removal, false);
+                return removal;
+            });
+            if (purged != null) {
+                logger.debug("Purged {} tombstoned contacts, {} deals, {} activities",
+                        purged.contactIds().size(), purged.dealIds().size(), purged.activityIds().size());
+                return;
+            }
+            endPurgePass(table, pass);
+        }
+    }
+
+    private void endPurgePass(Table table, PurgePass pass) {
+        if (!pass.skipped.isEmpty() && !pass.skipped.equals(pass.reported)) {
+            List<Long> skipped = new ArrayList<>(pass.skipped);
+            logger.warn("{} tombstoned {} still referenced by live rows, not purged: {}", skipped.size(), table.name,
+                    skipped.subList(0, Math.min(skipped.size(), maxReportedIds)));
+        }
+        pass.reported = pass.skipped;
+        pass.skipped = new TreeSet<>();
+        pass.afterId = 0;
+    }
+
+    private BulkDeleteReport delete(Table table, Collection<Long> requestedIds, boolean cascade) {
+        if (requestedIds == null || requestedIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one ID is required");
+        }
+        if (requestedIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " IDs can be deleted per request");
+        }
+
+        long start = System.nanoTime();
+        DeleteProgress progress = new DeleteProgress();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(requestedIds));
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            transactionTemplate.executeWithoutResult(tx -> deleteChunk(table, chunkIds, cascade, progress));
+        }
+        return toReport(progress, start);
+    }
+
+    private void deleteChunk(Table table, List<Long> chunkIds, boolean cascade, DeleteProgress progress) {
+        // 1. Lock the requested rows that exist and are not deleted yet; IDs are sorted, so are the locks
+        Set<Long> targets = new TreeSet<>(namedJdbcTemplate.queryForList("SELECT id FROM " + table.name +
+                " WHERE id IN (:ids) AND deleted_at IS NULL ORDER BY id FOR UPDATE",
+                new MapSqlParameterSource("ids", chunkIds), Long.class));
+        chunkIds.stream().filter(id -> !targets.contains(id)).forEach(progress.notFound::add);
+
+        // 2. Without cascade, keep rows that live deals or activities still reference
+        if (!cascade && !targets.isEmpty()) {
+            Set<Long> blocked = referencedByLiveRows(table, new ArrayList<>(targets));
+            targets.removeAll(blocked);
+            progress.blocked.addAll(blocked);
+        }
+        if (targets.isEmpty()) {
+            return;
+        }
+
+        // 3. Delete or tombstone the rows with their dependents (only tombstoned ones are left without cascade)
+        Removal removal = collect(table, new ArrayList<>(targets), false);
+        int[] counts = softDelete ? tombstone(removal) : remove(removal, true);
+        progress.activitiesDeleted += counts[0];
+        progress.dealsDeleted += counts[1];
+        progress.contactsDeleted += counts[2];
+    }
+
+    /**
+     * Finds the given contacts or deals that live deals or activities still reference, directly or
+     * through one of the contact's tombstoned deals.
+     */
+    private Set<Long> referencedByLiveRows(Table table, List<Long> ids) {
+        Set<Long> referenced = new TreeSet<>();
+        if (table == Table.ACTIVITIES) {
+            return referenced;
+        }
+        referenced.addAll(selectIds("SELECT DISTINCT " + foreignKey(table) + " FROM activities WHERE "
+                + foreignKey(table) + " IN (:ids) AND deleted_at IS NULL", ids));
+        if (table == Table.CONTACTS) {
+            referenced.addAll(selectIds(
+                    "SELECT DISTINCT contact_id FROM deals WHERE contact_id IN (:ids) AND deleted_at IS NULL", ids));
+            referenced.addAll(selectIds("SELECT DISTINCT d.contact_id FROM deals d JOIN activities a ON a.deal_id = d.id"
+                    + " WHERE d.contact_id IN (:ids) AND a.deleted_at IS NULL", ids));
+        }
+        return referenced;
+    }
+
+    /**
+     * Finds the dependents of the given rows.
+     * @param tombstonedOnly true to find only tombstoned dependents, false to find live ones as well
+     */
+    private Removal collect(Table table, List<Long> ids, boolean tombstonedOnly) {
+        String filter = tombstonedOnly ? " AND deleted_at IS NOT NULL" : "";
+        return switch (table) {
+            case CONTACTS -> {
+                List<Long> dealIds = selectIds("SELECT id FROM deals WHERE contact_id IN (:ids)" + filter, ids);
+                Set<Long> activityIds = new TreeSet<>(
+                        selectIds("SELECT id FROM activities WHERE contact_id IN (:ids)" + filter, ids));
+                activityIds.addAll(selectIds("SELECT id FROM activities WHERE deal_id IN (:ids)" + filter, dealIds));
+                yield new Removal(ids, dealIds, new ArrayList<>(activityIds));
+            }
+            case DEALS -> new Removal(List.of(), ids,
+                    selectIds("SELECT id FROM activities WHERE deal_id IN (:ids)" + filter, ids));
+            case ACTIVITIES -> new Removal(List.of(), List.of(), ids);
+        };
+    }
+
+    /**
+     * Deletes the rows, children first.
+     * @return the deleted activity, deal and contact counts
+     */
+    private int[] remove(Removal removal, boolean publish) {
+        int[] counts = {
+                update("DELETE FROM activities WHERE id IN (:ids)", removal.activityIds(), null),
+                update("DELETE FROM deals WHERE id IN (:ids)", removal.dealIds(), null),
+                update("DELETE FROM contacts WHERE id IN (:ids)", removal.contactIds(), null)
+        };
+        afterChange(removal, publish);
+        return counts;
+    }
+
+    /**
+     * Sets deleted_at on the rows that are not tombstoned yet.
+     * @return the tombstoned activity, deal and contact counts
+     */
+    private int[] tombstone(Removal removal) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        String set = " SET deleted_at = :now, updated_at = :now WHERE id IN (:ids) AND deleted_at IS NULL";
+        int[] counts = {
+                update("UPDATE activities" + set, removal.activityIds(), now),
+                update("UPDATE deals" + set, removal.dealIds(), now),
+                update("UPDATE contacts" + set, removal.contactIds(), now)
+        };
+        afterChange(removal, true);
+        return counts;
+    }
+
+    private void afterChange(Removal removal, boolean publish) {
+        if (publish) {
+            // Delivered to @TransactionalEventListeners once the transaction commits
+            for (Long id : removal.activityIds()) {
+                Activity activity = new Activity();
+                activity.setId(id);
+                eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.DELETED, activity));
+            }
+            for (Long id : removal.dealIds()) {
+                Deal deal = new Deal();
+                deal.setId(id);
+                eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.DELETED, deal));
+            }
+            for (Long id : removal.contactIds()) {
+                Contact contact = new Contact();
+                contact.setId(id);
+                eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.DELETED, contact));
+            }
+        }
+        // JDBC writes bypass the second-level cache, so drop the entries once the delete is visible
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                removal.dealIds().forEach(id -> entityManagerFactory.getCache().evict(Deal.class, id));
+                removal.contactIds().forEach(id -> entityManagerFactory.getCache().evict(Contact.class, id));
+            }
+        });
+    }
+
+    /**
+     * Runs a query with an ":ids" IN list, split into lists of at most chunkSize IDs.
+     */
+    private List<Long> selectIds(String sql, List<Long> ids) {
+        List<Long> result = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            result.addAll(namedJdbcTemplate.queryForList(sql,
+                    new MapSqlParameterSource("ids", ids.subList(from, Math.min(from + chunkSize, ids.size()))), Long.class));
+        }
+        return result;
+    }
+
+    /**
+     * Runs a statement with an ":ids" IN list (and an optional ":now"), split into lists of at most chunkSize IDs.
+     * @return the number of rows changed
+     */
+    private int update(String sql, List<Long> ids, Timestamp now) {
+        int count = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            count += namedJdbcTemplate.update(sql, new MapSqlParameterSource()
+                    .addValue("ids", ids.subList(from, Math.min(from + chunkSize, ids.size())))
+                    .addValue("now", now));
+        }
+        return count;
+    }
+
+    private static String foreignKey(Table table) {
+        return table == Table.CONTACTS ? "contact_id" : "deal_id";
+    }
+
+    private BulkDeleteReport toReport(DeleteProgress progress, long start) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("{} {} contacts, {} deals, {} activities in {} ms ({} not found, {} blocked)",
+                softDelete ? "Tombstoned" : "Deleted", progress.contactsDeleted, progress.dealsDeleted,
+                progress.activitiesDeleted, durationMs, progress.notFound.size(), progress.blocked.size());
+        List<Long> notFound = new ArrayList<>(progress.notFound);
+        List<Long> blocked = new ArrayList<>(progress.blocked);
+        return new BulkDeleteReport(softDelete, progress.contactsDeleted, progress.dealsDeleted,
+                progress.activitiesDeleted, notFound.subList(0, Math.min(notFound.size(), maxReportedIds)),
+                blocked.subList(0, Math.min(blocked.size(), maxReportedIds)),
+                notFound.size() > maxReportedIds || blocked.size() > maxReportedIds, durationMs);
+    }
+}
@@ -0,0 +1,25 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.repository.ActivityListItem;
+import com.ConnectSphere.crmji.repository.DealListItem;
+
+import java.util.List;
+
+/**
+ * Everything the contact page shows, returned by one request.
+ * @param contact the contact
+ * @param deals the contact's most recent deals, newest first
+ * @param hasMoreDeals true if the contact has more deals than listed (see GET /api/deals/contact/{id})
+ * @param dealTotals the contact's deal count and values per stage and overall, over all of its deals
+ * @param recentActivities the contact's most recent activities, newest first
+ * @param hasMoreActivities true if the contact has more activities than listed (see GET /api/activities/contact/{id})
+ */
+public record ContactOverview(
+        Contact contact,
+        List<DealListItem> deals,
+        boolean hasMoreDeals,
+        PipelineAnalytics dealTotals,
+        List<ActivityListItem> recentActivities,
+        boolean hasMoreActivities
+) {}
@@ -0,0 +1,134 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.repository.ActivityListItem;
+import com.ConnectSphere.crmji.repository.ActivityRepository;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.DealListItem;
+import com.ConnectSphere.crmji.repository.DealRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Assembles the contact overview (contact, recent deals, deal totals, recent activities).
+ *
+ * The contact is loaded first, on the calling thread (usually from the second-level cache), so an unknown
+ * ID costs one lookup. The other three queries are independent and run concurrently, and the response takes
+ * about as long as the slowest of them rather than their sum. They run on an executor of their own rather
+ * than the shared applicationTaskExecutor, so they neither queue behind background work (duplicate scans,
+ * index rebuilds) nor compete with it: app.contacts.overview.threads bounds how many pooled connections
+ * overview queries hold at once, and once its queue is full a query runs on the calling thread instead,
+ * which slows that request down rather than queueing it further. Queries are routed to the primary or
+ * replica as on the request thread (the RoutingContextTaskDecorator is applied when present). Deal and
+ * activity lists are bounded; the totals are aggregated in the database over all of the contact's deals.
+ */
+@Service
+public class ContactOverviewService {
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private DealService dealService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<TaskDecorator> taskDecorator;
+
+    @Value("${app.contacts.overview.max-deals:20}")
+    private int maxDeals;
+
+    @Value("${app.contacts.overview.max-activities:20}")
+    private int maxActivities;
+
+    @Value("${app.contacts.overview.threads:6}") // Overview queries running at once, each on a pooled connection
+    private int threads;
+
+    @Value("${app.contacts.overview.queue-size:64}") // Queries waiting before callers run their own
+    private int queueSize;
+
+    private ThreadPoolTaskExecutor executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueSize);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("contact-overview-");
+        executor.setTaskDecorator(taskDecorator.getIfUnique());
+        executor.initialize();
+        // Publishes executor.active, executor.queued, executor.completed... tagged name=contact-overview
+        ExecutorServiceMetrics.monitor(meterRegistry, executor.getThreadPoolExecutor(), "contact-overview");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Loads the overview of a contact.
+     * @param contactId the ID of the contact
+     * @return the overview, or an empty Optional if the contact does not exist
+     */
+    public Optional<ContactOverview> getOverview(Long contactId) {
+        Optional<Contact> contact = contactRepository.findById(contactId);
+        if (contact.isEmpty()) {
+            return Optional.empty();
+        }
+
+        // One extra row tells whether the list was cut off
+        CompletableFuture<List<DealListItem>> deals = CompletableFuture.supplyAsync(
+                () -> dealRepository.findByContactIdOrderByIdDesc(contactId, Limit.of(maxDeals + 1)), executor);
+        CompletableFuture<PipelineAnalytics> dealTotals =
+                CompletableFuture.supplyAsync(() -> dealService.getPipelineAnalyticsForContact(contactId), executor);
+        CompletableFuture<List<ActivityListItem>> activities = CompletableFuture.supplyAsync(
+                () -> activityRepository.findByContactIdOrderByIdDesc(contactId, Limit.of(maxActivities + 1)), executor);
+
+        try {
+            CompletableFuture.allOf(deals, dealTotals, activities).join();
+        } catch (CompletionException e) {
+            // Rethrow the query's own exception so it is handled like a direct call
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+
+        List<DealListItem> dealRows = deals.join();
+        List<ActivityListItem> activityRows = activities.join();
+        return Optional.of(new ContactOverview(
+                contact.get(),
+                dealRows.subList(0, Math.min(dealRows.size(), maxDeals)),
+                dealRows.size() > maxDeals,
+                dealTotals.join(),
+                activityRows.subList(0, Math.min(activityRows.size(), maxActivities)),
+                activityRows.size() > maxActivities
+        ));
+    }
+}
@@ -1,9 +1,15 @@
 package com.ConnectSphere.crmji.service;
 
 import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.pagination.KeysetPaginator;
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import com.ConnectSphere.crmji.repository.ContactListItem;
 import com.ConnectSphere.crmji.repository.ContactRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,13 +21,35 @@ public class ContactService {
     @Autowired
     private ContactRepository contactRepository;
 
+    @Autowired
+    private KeysetPaginator paginator;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
     /**
-     * Retrieves all contacts from the database.
-     * @return a List of all Contact entities.
+     * Retrieves one page of contacts, ordered by ID.
+     * @param cursor the opaque cursor from the previous page, or null for the first page.
+     * @param limit the page size, or null for the configured default.
+     * @return a page of Contact entities with the cursor for the next page.
+     * @throws IllegalArgumentException if the cursor or limit is invalid.
      */
-    public List<Contact> getAllContacts() {
-        // JpaRepository provides the findAll() method.
-        return contactRepository.findAll();
+    @Transactional(readOnly = true)
+    public CursorPage<ContactListItem> getAllContacts(String cursor, Integer limit) {
+        int pageSize = paginator.resolveLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        List<ContactListItem> rows = contactRepository.findByIdGreaterThanOrderByIdAsc(
+                paginator.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return paginator.toPage(rows, pageSize, ContactListItem::id);
+    }
+
+    /**
+     * Returns the row count and newest updatedAt of all contacts, without loading any row.
+     * @return the change stamp that validates cached contact lists.
+     */
+    @Transactional(readOnly = true)
+    public ChangeStamp getContactsChangeStamp() {
+        return contactRepository.findChangeStamp();
     }
 
     /**
@@ -29,6 +57,7 @@ public class ContactService {
      * @param id the ID of the contact to find.
      * @return an Optional containing the found Contact or an empty Optional if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<Contact> getContactById(Long id) {
         // JpaRepository provides the findById() method.
         return contactRepository.findById(id);
@@ -39,7 +68,9 @@ public class ContactService {
      * @param contact the Contact object to be created.
      * @return the saved Contact object (now with a generated ID and timestamps).
      */
+    @Transactional
     public Contact createContact(Contact contact) {
+        releaseEmail(contact.getEmail());
         // JpaRepository provides the save() method.
         // The @PrePersist method in the Entity will set the timestamps.
         return contactRepository.save(contact);
@@ -51,6 +82,7 @@ public class ContactService {
      * @param contactDetails the Contact object containing the updated data.
      * @return an Optional containing the updated Contact if found, or an empty Optional if not found.
      */
+    @Transactional
     public Optional<Contact> updateContact(Long id, Contact contactDetails) {
         // 1. Find the existing contact
         Optional<Contact> existingContactOptional = contactRepository.findById(id);
@@ -59,6 +91,9 @@ public class ContactService {
             Contact existingContact = existingContactOptional.get();
 
             // 2. Update the fields of the existing contact with new values
+            if (contactDetails.getEmail() != null && !contactDetails.getEmail().equalsIgnoreCase(existingContact.getEmail())) {
+                releaseEmail(contactDetails.getEmail());
+            }
             existingContact.setFirstName(contactDetails.getFirstName());
             existingContact.setLastName(contactDetails.getLastName());
             existingContact.setEmail(contactDetails.getEmail());
@@ -82,6 +117,7 @@ public class ContactService {
      * @param id the ID of the contact to delete.
      * @return true if the contact was found and deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteContact(Long id) {
         // 1. Check if the contact exists
         if (contactRepository.existsById(id)) {
@@ -92,4 +128,14 @@ public class ContactService {
             return false;
         }
     }
+
+    /**
+     * Purges a soft-deleted contact that still holds the email, so the unique email can be reused.
+     * @param email the email about to be written, or null.
+     */
+    private void releaseEmail(String email) {
+        if (email != null) {
+            bulkDeleteService.purgeContactsByEmail(List.of(email));
+        }
+    }
 }
@@ -1,12 +1,21 @@
 package com.ConnectSphere.crmji.service;
 
 import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.pagination.KeysetPaginator;
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import com.ConnectSphere.crmji.repository.DealListItem;
 import com.ConnectSphere.crmji.repository.DealRepository;
+import com.ConnectSphere.crmji.repository.DealStageSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +28,32 @@ public class DealService {
     @Autowired
     private ContactService contactService; // Needed to validate contact existence
 
+    @Autowired
+    private KeysetPaginator paginator;
+
+    /**
+     * Retrieves one page of deals, ordered by ID.
+     * @param cursor the opaque cursor from the previous page, or null for the first page.
+     * @param limit the page size, or null for the configured default.
+     * @return a page of Deal entities with the cursor for the next page.
+     * @throws IllegalArgumentException if the cursor or limit is invalid.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DealListItem> getAllDeals(String cursor, Integer limit) {
+        int pageSize = paginator.resolveLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        List<DealListItem> rows = dealRepository.findByIdGreaterThanOrderByIdAsc(
+                paginator.decodeCursor(cursor), Limit.of(pageSize + 1));
+        return paginator.toPage(rows, pageSize, DealListItem::id);
+    }
+
     /**
-     * Retrieves all deals from the database.
-     * @return a List of all Deal entities.
+     * Returns the row count and newest updatedAt of all deals, without loading any row.
+     * @return the change stamp that validates cached deal lists.
      */
-    public List<Deal> getAllDeals() {
-        return dealRepository.findAll();
+    @Transactional(readOnly = true)
+    public ChangeStamp getDealsChangeStamp() {
+        return dealRepository.findChangeStamp();
     }
 
     /**
@@ -32,6 +61,7 @@ public class DealService {
      * @param id the ID of the deal to find.
      * @return an Optional containing the found Deal or an empty Optional if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<Deal> getDealById(Long id) {
         return dealRepository.findById(id);
     }
@@ -43,6 +73,7 @@ public class DealService {
      * @return the saved Deal object.
      * @throws IllegalArgumentException if the associated contact doesn't exist.
      */
+    @Transactional
     public Deal createDeal(Deal deal) {
         // Validate that the contact exists
         if (deal.getContact() == null || deal.getContact().getId() == null) {
@@ -62,6 +93,7 @@ public class DealService {
      * @param dealDetails the Deal object containing the updated data.
      * @return an Optional containing the updated Deal if found, or an empty Optional if not found.
      */
+    @Transactional
     public Optional<Deal> updateDeal(Long id, Deal dealDetails) {
         Optional<Deal> existingDealOptional = dealRepository.findById(id);
 
@@ -107,6 +139,7 @@ public class DealService {
      * @param id the ID of the deal to delete.
      * @return true if the deal was found and deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteDeal(Long id) {
         if (dealRepository.existsById(id)) {
             dealRepository.deleteById(id);
@@ -121,7 +154,8 @@ public class DealService {
      * @param contactId the ID of the contact.
      * @return a list of deals for the given contact.
      */
-    public List<Deal> getDealsByContactId(Long contactId) {
+    @Transactional(readOnly = true)
+    public List<DealListItem> getDealsByContactId(Long contactId) {
         return dealRepository.findByContactId(contactId);
     }
 
@@ -130,26 +164,77 @@ public class DealService {
      * @param stage the stage to filter by.
      * @return a list of deals in the specified stage.
      */
-    public List<Deal> getDealsByStage(String stage) {
+    @Transactional(readOnly = true)
+    public List<DealListItem> getDealsByStage(String stage) {
         return dealRepository.findByStage(stage);
     }
 
     /**
      * Calculates the total value of all deals in the pipeline.
+     * The sum is computed by the database, so no Deal rows are loaded.
      * @return the total potential revenue from all deals.
      */
+    @Transactional(readOnly = true)
     public BigDecimal getTotalPipelineValue() {
-        return getAllDeals().stream()
-                .map(Deal::getValue)
-                .filter(value -> value != null)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return dealRepository.sumValue();
+    }
+
+    /**
+     * Builds per-stage and overall pipeline analytics from a single GROUP BY query.
+     * Memory and transfer are proportional to the number of stages, not the number of deals.
+     * @return count, total value, probability-weighted value and average deal size per stage and overall.
+     */
+    @Transactional(readOnly = true)
+    public PipelineAnalytics getPipelineAnalytics() {
+        return toAnalytics(dealRepository.summarizeByStage());
+    }
+
+    /**
+     * Builds the same analytics for the deals of one contact.
+     * @param contactId the ID of the contact.
+     * @return the contact's deal totals per stage and overall (all zero if the contact has no deals).
+     */
+    @Transactional(readOnly = true)
+    public PipelineAnalytics getPipelineAnalyticsForContact(Long contactId) {
+        return toAnalytics(dealRepository.summarizeByStageForContact(contactId));
+    }
+
+    private PipelineAnalytics toAnalytics(List<DealStageSummary> summaries) {
+        BigDecimal hundred = BigDecimal.valueOf(100);
+        List<PipelineAnalytics.StageStats> stages = new ArrayList<>();
+        long dealCount = 0;
+        long valuedDealCount = 0;
+        BigDecimal totalValue = BigDecimal.ZERO;
+        BigDecimal weightedValue = BigDecimal.ZERO;
+
+        for (DealStageSummary summary : summaries) {
+            BigDecimal stageWeighted = summary.getValueTimesProbability().divide(hundred, 2, RoundingMode.HALF_UP);
+            stages.add(new PipelineAnalytics.StageStats(
+                    summary.getStage(),
+                    summary.getDealCount(),
+                    summary.getTotalValue(),
+                    stageWeighted,
+                    average(summary.getTotalValue(), summary.getValuedDealCount())
+            ));
+            dealCount += summary.getDealCount();
+            valuedDealCount += summary.getValuedDealCount();
+            totalValue = totalValue.add(summary.getTotalValue());
+            weightedValue = weightedValue.add(stageWeighted);
+        }
+
+        return new PipelineAnalytics(stages, dealCount, totalValue, weightedValue, average(totalValue, valuedDealCount));
+    }
+
+    private BigDecimal average(BigDecimal total, long count) {
+        return count == 0 ? BigDecimal.ZERO : total.divide(BigDecimal.valueOf(count), 2, RoundingMode.HALF_UP);
     }
 
     /**
      * Finds deals closing soon (within the next 30 days).
      * @return a list of deals with close dates in the near future.
      */
-    public List<Deal> getDealsClosingSoon() {
+    @Transactional(readOnly = true)
+    public List<DealListItem> getDealsClosingSoon() {
         LocalDate thirtyDaysFromNow = LocalDate.now().plusDays(30);
         return dealRepository.findByCloseDateLessThanEqual(thirtyDaysFromNow);
     }
@@ -158,7 +243,8 @@ public class DealService {
      * Finds high-probability deals (75% or higher).
      * @return a list of deals likely to close.
      */
-    public List<Deal> getHighProbabilityDeals() {
+    @Transactional(readOnly = true)
+    public List<DealListItem> getHighProbabilityDeals() {
         return dealRepository.findByProbabilityGreaterThanEqual(75);
     }
 }
\ No newline at end of file
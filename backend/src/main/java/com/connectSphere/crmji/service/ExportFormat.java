@@ -0,0 +1,36 @@
+package com.ConnectSphere.crmji.service;
+
+/**
+ * Output formats supported by the bulk export endpoints.
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"), // One JSON object per line
+    CSV("text/csv", "csv"); // RFC 4180 CSV with a header row
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() { return contentType; }
+    public String getFileExtension() { return fileExtension; }
+
+    /**
+     * Resolves a format from a request parameter such as "ndjson" or "csv" (case-insensitive).
+     * @param value the request parameter value
+     * @return the matching format
+     * @throws IllegalArgumentException if the value is not a supported format
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.fileExtension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported export format: " + value + " (use ndjson or csv)");
+    }
+}
@@ -0,0 +1,243 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.ActivityRepository;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.DealRepository;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables out as NDJSON or CSV with constant memory.
+ *
+ * Rows are read through the repositories' streamAllForExport() cursors, written straight to the
+ * response stream and detached from the persistence context every {@link #CLEAR_INTERVAL} rows,
+ * so heap usage does not grow with the table size.
+ */
+@Service
+public class ExportService {
+
+    // How many rows may accumulate in the persistence context before it is cleared
+    private static final int CLEAR_INTERVAL = 1000;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * A named export column and how to read it from an entity.
+     */
+    private record Column<T>(String name, Function<T, Object> value) {}
+
+    private static final List<Column<Contact>> CONTACT_COLUMNS = List.of(
+            new Column<>("id", Contact::getId),
+            new Column<>("firstName", Contact::getFirstName),
+            new Column<>("lastName", Contact::getLastName),
+            new Column<>("email", Contact::getEmail),
+            new Column<>("phone", Contact::getPhone),
+            new Column<>("company", Contact::getCompany),
+            new Column<>("jobTitle", Contact::getJobTitle),
+            new Column<>("notes", Contact::getNotes),
+            new Column<>("createdAt", Contact::getCreatedAt),
+            new Column<>("updatedAt", Contact::getUpdatedAt)
+    );
+
+    private static final List<Column<Lead>> LEAD_COLUMNS = List.of(
+            new Column<>("id", Lead::getId),
+            new Column<>("firstName", Lead::getFirstName),
+            new Column<>("lastName", Lead::getLastName),
+            new Column<>("email", Lead::getEmail),
+            new Column<>("phone", Lead::getPhone),
+            new Column<>("company", Lead::getCompany),
+            new Column<>("status", Lead::getStatus),
+            new Column<>("createdAt", Lead::getCreatedAt),
+            new Column<>("updatedAt", Lead::getUpdatedAt)
+    );
+
+    // Relationship IDs are read from the lazy proxies, which does not trigger a load
+    private static final List<Column<Deal>> DEAL_COLUMNS = List.of(
+            new Column<>("id", Deal::getId),
+            new Column<>("name", Deal::getName),
+            new Column<>("description", Deal::getDescription),
+            new Column<>("value", Deal::getValue),
+            new Column<>("stage", Deal::getStage),
+            new Column<>("probability", Deal::getProbability),
+            new Column<>("closeDate", Deal::getCloseDate),
+            new Column<>("contactId", deal -> deal.getContact() != null ? deal.getContact().getId() : null),
+            new Column<>("createdAt", Deal::getCreatedAt),
+            new Column<>("updatedAt", Deal::getUpdatedAt)
+    );
+
+    private static final List<Column<Activity>> ACTIVITY_COLUMNS = List.of(
+            new Column<>("id", Activity::getId),
+            new Column<>("type", Activity::getType),
+            new Column<>("subject", Activity::getSubject),
+            new Column<>("notes", Activity::getNotes),
+            new Column<>("dueDate", Activity::getDueDate),
+            new Column<>("completed", Activity::getCompleted),
+            new Column<>("completionDate", Activity::getCompletionDate),
+            new Column<>("contactId", activity -> activity.getContact() != null ? activity.getContact().getId() : null),
+            new Column<>("dealId", activity -> activity.getDeal() != null ? activity.getDeal().getId() : null),
+            new Column<>("createdAt", Activity::getCreatedAt),
+            new Column<>("updatedAt", Activity::getUpdatedAt)
+    );
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ContactRepository contactRepository;
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private DealRepository dealRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    /**
+     * Writes every contact to the given stream.
+     * @param out the destination stream (not closed by this method).
+     * @param format the output format.
+     * @return the number of rows written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportContacts(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Contact> rows = contactRepository.streamAllForExport()) {
+            return write(rows, CONTACT_COLUMNS, out, format);
+        }
+    }
+
+    /**
+     * Writes every lead to the given stream.
+     * @param out the destination stream (not closed by this method).
+     * @param format the output format.
+     * @return the number of rows written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportLeads(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Lead> rows = leadRepository.streamAllForExport()) {
+            return write(rows, LEAD_COLUMNS, out, format);
+        }
+    }
+
+    /**
+     * Writes every deal to the given stream.
+     * @param out the destination stream (not closed by this method).
+     * @param format the output format.
+     * @return the number of rows written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportDeals(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Deal> rows = dealRepository.streamAllForExport()) {
+            return write(rows, DEAL_COLUMNS, out, format);
+        }
+    }
+
+    /**
+     * Writes every activity to the given stream.
+     * @param out the destination stream (not closed by this method).
+     * @param format the output format.
+     * @return the number of rows written.
+     * @throws IOException if writing to the stream fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportActivities(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<Activity> rows = activityRepository.streamAllForExport()) {
+            return write(rows, ACTIVITY_COLUMNS, out, format);
+        }
+    }
+
+    private <T> long write(Stream<T> rows, List<Column<T>> columns, OutputStream out, ExportFormat format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE);
+        JsonGenerator json = null;
+
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, columns.stream().map(Column::name).map(name -> (Object) name).toList());
+        } else {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null); // Lines are separated below; the default " " would start each one
+        }
+
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            T row = iterator.next();
+            if (format == ExportFormat.CSV) {
+                writeCsvRow(writer, columns.stream().map(column -> column.value().apply(row)).toList());
+            } else {
+                Map<String, Object> record = new LinkedHashMap<>();
+                for (Column<T> column : columns) {
+                    record.put(column.name(), column.value().apply(row));
+                }
+                objectMapper.writeValue(json, record);
+                json.flush(); // Push the object into the writer before the line separator
+                writer.write('\n');
+            }
+
+            // Detach what has been written so the persistence context stays small
+            if (++count % CLEAR_INTERVAL == 0) {
+                entityManager.clear();
+            }
+        }
+
+        if (json != null) {
+            json.close();
+        }
+        writer.flush();
+        return count;
+    }
+
+    private void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(toCsvField(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Formats a value as a CSV field, quoting it if it contains a separator, quote or line break.
+     */
+    private String toCsvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        boolean needsQuotes = text.indexOf(',') >= 0 || text.indexOf('"') >= 0
+                || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        return needsQuotes ? '"' + text.replace("\"", "\"\"") + '"' : text;
+    }
+}
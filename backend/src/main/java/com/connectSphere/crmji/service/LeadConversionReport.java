@@ -0,0 +1,23 @@
+package com.ConnectSphere.crmji.service;
+
+import java.util.List;
+
+/**
+ * Result of a lead conversion.
+ * @param convertedLeads number of leads marked converted
+ * @param contactsCreated number of contacts created from leads
+ * @param contactsLinked number of leads linked to an existing contact with the same email instead
+ * @param dealsCreated number of initial deals created
+ * @param skippedLeadIds requested lead IDs that do not exist or were already converted (capped, see skippedTruncated)
+ * @param skippedTruncated true if more leads were skipped than are listed in skippedLeadIds
+ * @param durationMs wall-clock time of the conversion
+ */
+public record LeadConversionReport(
+        long convertedLeads,
+        long contactsCreated,
+        long contactsLinked,
+        long dealsCreated,
+        List<Long> skippedLeadIds,
+        boolean skippedTruncated,
+        long durationMs
+) {}
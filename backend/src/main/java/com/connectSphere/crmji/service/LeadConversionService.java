@@ -0,0 +1,425 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import com.ConnectSphere.crmji.model.Lead;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Converts qualified leads into contacts, optionally with an initial deal each.
+ *
+ * Leads are selected by status (every unconverted lead with that status) or by ID, and processed in
+ * chunks, each in its own transaction: the chunk's lead rows are read and locked (SELECT ... FOR UPDATE,
+ * so two concurrent conversions cannot convert the same lead twice), existing contacts with the same
+ * emails are found with one IN query, and the new contacts, deals and lead updates are written as JDBC
+ * batches. Contact and deal IDs are IDENTITY columns, which stops Hibernate from batching inserts; with
+ * rewriteBatchedStatements=true on the datasource URL the MySQL driver sends multi-row statements.
+ *
+ * A lead whose email already belongs to a contact is linked to that contact instead of creating a
+ * second one (contact emails are unique). Converted leads get status {@value #CONVERTED_STATUS} and
+ * keep the contact ID they were converted into. Soft-deleted contacts do not count; one that still holds
+ * a lead's email is purged before the new contact is inserted (see {@link BulkDeleteService}).
+ *
+ * JDBC writes raise no JPA callbacks, so an {@link EntityChangeEvent} is published for each created
+ * contact and deal and each updated lead; the search index and change feed receive them after the
+ * commit. Only new rows are inserted and existing contacts are not modified, so no second-level cache
+ * entry can become stale.
+ */
+@Service
+public class LeadConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeadConversionService.class);
+
+    public static final String CONVERTED_STATUS = "CONVERTED";
+
+    private static final String DEFAULT_DEAL_STAGE = "PROSPECTING";
+
+    private static final String LEAD_COLUMNS =
+            "SELECT id, first_name, last_name, email, phone, company, status, created_at FROM leads ";
+
+    private static final String SELECT_BY_STATUS_SQL = LEAD_COLUMNS +
+            "WHERE status = :status AND converted_contact_id IS NULL AND id > :afterId ORDER BY id LIMIT :limit FOR UPDATE";
+
+    private static final String SELECT_BY_IDS_SQL = LEAD_COLUMNS +
+            "WHERE id IN (:ids) AND converted_contact_id IS NULL ORDER BY id FOR UPDATE";
+
+    private static final String SELECT_CONTACTS_BY_EMAIL_SQL = "SELECT id, email FROM contacts WHERE email IN (:emails) AND deleted_at IS NULL";
+
+    private static final String INSERT_CONTACT_SQL =
+            "INSERT INTO contacts (first_name, last_name, email, phone, company, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_DEAL_SQL =
+            "INSERT INTO deals (name, value, stage, probability, close_date, contact_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_LEAD_SQL =
+            "UPDATE leads SET status = ?, converted_contact_id = ?, converted_at = ?, updated_at = ? WHERE id = ?";
+
+    private static final RowMapper<Lead> LEAD_ROW_MAPPER = (rs, rowNum) -> {
+        Lead lead = new Lead();
+        lead.setId(rs.getLong("id"));
+        lead.setFirstName(rs.getString("first_name"));
+        lead.setLastName(rs.getString("last_name"));
+        lead.setEmail(rs.getString("email"));
+        lead.setPhone(rs.getString("phone"));
+        lead.setCompany(rs.getString("company"));
+        lead.setStatus(rs.getString("status"));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        lead.setCreatedAt(createdAt == null ? null : createdAt.toLocalDateTime());
+        return lead;
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BulkDeleteService bulkDeleteService;
+
+    @Value("${app.leads.conversion.chunk-size:1000}") // Leads converted per transaction / JDBC batch
+    private int chunkSize;
+
+    @Value("${app.leads.conversion.max-ids:10000}") // Lead IDs accepted per request
+    private int maxIds;
+
+    @Value("${app.leads.conversion.max-reported-skipped:1000}") // Cap on skipped lead IDs listed in the report
+    private int maxReportedSkipped;
+
+    /**
+     * Running totals for one conversion.
+     */
+    private static class ConversionProgress {
+        long convertedLeads;
+        long contactsCreated;
+        long contactsLinked;
+        long dealsCreated;
+    }
+
+    /**
+     * Converts every unconverted lead with the given status.
+     * @param status the lead status to convert, e.g. "QUALIFIED"
+     * @param initialDeal template for a deal to create per converted lead (name, stage, value, probability,
+     *                    close date; a missing name defaults to the lead's company or name), or null for none
+     * @return the conversion report
+     * @throws IllegalArgumentException if the status is blank or the deal template is invalid
+     */
+    public LeadConversionReport convertByStatus(String status, Deal initialDeal) {
+        if (status == null || status.isBlank()) {
+            throw new IllegalArgumentException("Status is required");
+        }
+        if (CONVERTED_STATUS.equalsIgnoreCase(status)) {
+            throw new IllegalArgumentException("Leads with status " + CONVERTED_STATUS + " are already converted");
+        }
+        validateDealTemplate(initialDeal);
+
+        long start = System.nanoTime();
+        ConversionProgress progress = new ConversionProgress();
+        long afterId = 0;
+        while (true) {
+            MapSqlParameterSource parameters = new MapSqlParameterSource()
+                    .addValue("status", status)
+                    .addValue("afterId", afterId)
+                    .addValue("limit", chunkSize);
+            // Read, lock and convert the chunk in one transaction; the next chunk starts after its last ID
+            Long lastId = transactionTemplate.execute(tx -> {
+                List<Lead> leads = namedJdbcTemplate.query(SELECT_BY_STATUS_SQL, parameters, LEAD_ROW_MAPPER);
+                convertChunk(leads, initialDeal, progress);
+                return leads.size() < chunkSize ? null : leads.get(leads.size() - 1).getId();
+            });
+            if (lastId == null) {
+                break;
+            }
+            afterId = lastId;
+        }
+        return toReport(progress, List.of(), start);
+    }
+
+    /**
+     * Converts the given leads. Leads that do not exist or are already converted are skipped and reported.
+     * @param leadIds the IDs of the leads to convert
+     * @param initialDeal template for a deal to create per converted lead, or null for none
+     *                    (see {@link #convertByStatus(String, Deal)})
+     * @return the conversion report
+     * @throws IllegalArgumentException if no or too many IDs are given or the deal template is invalid
+     */
+    public LeadConversionReport convertByIds(Collection<Long> leadIds, Deal initialDeal) {
+        if (leadIds == null || leadIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one lead ID is required");
+        }
+        if (leadIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most " + maxIds + " leads can be converted by ID per request");
+        }
+        validateDealTemplate(initialDeal);
+
+        long start = System.nanoTime();
+        ConversionProgress progress = new ConversionProgress();
+        List<Long> ids = new ArrayList<>(new TreeSet<>(leadIds));
+        Set<Long> skipped = new TreeSet<>(ids);
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            List<Long> chunkIds = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+            List<Lead> converted = transactionTemplate.execute(tx -> {
+                List<Lead> leads = namedJdbcTemplate.query(SELECT_BY_IDS_SQL, new MapSqlParameterSource("ids", chunkIds), LEAD_ROW_MAPPER);
+                convertChunk(leads, initialDeal, progress);
+                return leads;
+            });
+            converted.forEach(lead -> skipped.remove(lead.getId()));
+        }
+        return toReport(progress, new ArrayList<>(skipped), start);
+    }
+
+    private void convertChunk(List<Lead> leads, Deal initialDeal, ConversionProgress progress) {
+        if (leads.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+
+        // 1. Link leads whose email already belongs to a contact, with one IN query
+        Set<String> emails = new HashSet<>();
+        for (Lead lead : leads) {
+            if (lead.getEmail() != null) {
+                emails.add(lead.getEmail().toLowerCase(Locale.ROOT));
+            }
+        }
+        Map<String, Long> contactIdsByEmail = new HashMap<>();
+        if (!emails.isEmpty()) {
+            namedJdbcTemplate.query(SELECT_CONTACTS_BY_EMAIL_SQL, new MapSqlParameterSource("emails", emails),
+                    rs -> {
+                        contactIdsByEmail.put(rs.getString("email").toLowerCase(Locale.ROOT), rs.getLong("id"));
+                    });
+        }
+
+        // 2. Create a contact for every other lead
+        List<Contact> newContacts = new ArrayList<>();
+        List<Long> contactIds = new ArrayList<>(leads.size()); // Parallel to leads
+        for (Lead lead : leads) {
+            Long existingId = lead.getEmail() == null ? null : contactIdsByEmail.get(lead.getEmail().toLowerCase(Locale.ROOT));
+            contactIds.add(existingId);
+            if (existingId == null) {
+                newContacts.add(toContact(lead, now));
+            }
+        }
+        insertContacts(newContacts);
+        for (int i = 0, created = 0; i < leads.size(); i++) {
+            if (contactIds.get(i) == null) {
+                contactIds.set(i, newContacts.get(created++).getId());
+            }
+        }
+
+        // 3. Optionally an initial deal per converted lead
+        List<Deal> newDeals = new ArrayList<>();
+        if (initialDeal != null) {
+            for (int i = 0; i < leads.size(); i++) {
+                newDeals.add(toDeal(leads.get(i), contactIds.get(i), initialDeal, now));
+            }
+            insertDeals(newDeals);
+        }
+
+        // 4. Mark the leads converted
+        jdbcTemplate.batchUpdate(UPDATE_LEAD_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                statement.setString(1, CONVERTED_STATUS);
+                statement.setLong(2, contactIds.get(i));
+                statement.setTimestamp(3, Timestamp.valueOf(now));
+                statement.setTimestamp(4, Timestamp.valueOf(now));
+                statement.setLong(5, leads.get(i).getId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return leads.size();
+            }
+        });
+        for (int i = 0; i < leads.size(); i++) {
+            Lead lead = leads.get(i);
+            lead.setStatus(CONVERTED_STATUS);
+            lead.setConvertedContactId(contactIds.get(i));
+            lead.setConvertedAt(now);
+            lead.setUpdatedAt(now);
+        }
+
+        // Delivered to @TransactionalEventListeners once the chunk's transaction commits
+        newContacts.forEach(contact -> eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.CREATED, contact)));
+        newDeals.forEach(deal -> eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.CREATED, deal)));
+        leads.forEach(lead -> eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.UPDATED, lead)));
+
+        progress.convertedLeads += leads.size();
+        progress.contactsCreated += newContacts.size();
+        progress.contactsLinked += leads.size() - newContacts.size();
+        progress.dealsCreated += newDeals.size();
+    }
+
+    private void insertContacts(List<Contact> contacts) {
+        if (contacts.isEmpty()) {
+            return;
+        }
+        // Free emails still held by soft-deleted contacts
+        bulkDeleteService.purgeContactsByEmail(contacts.stream()
+                .map(Contact::getEmail).filter(email -> email != null).toList());
+        List<Number> ids = insertBatch(INSERT_CONTACT_SQL, contacts.size(), (statement, i) -> {
+            Contact contact = contacts.get(i);
+            statement.setString(1, contact.getFirstName());
+            statement.setString(2, contact.getLastName());
+            statement.setString(3, contact.getEmail());
+            statement.setString(4, contact.getPhone());
+            statement.setString(5, contact.getCompany());
+            statement.setTimestamp(6, Timestamp.valueOf(contact.getCreatedAt()));
+            statement.setTimestamp(7, Timestamp.valueOf(contact.getUpdatedAt()));
+        });
+        for (int i = 0; i < contacts.size(); i++) {
+            contacts.get(i).setId(ids.get(i).longValue());
+        }
+    }
+
+    private void insertDeals(List<Deal> deals) {
+        List<Number> ids = insertBatch(INSERT_DEAL_SQL, deals.size(), (statement, i) -> {
+            Deal deal = deals.get(i);
+            statement.setString(1, deal.getName());
+            statement.setBigDecimal(2, deal.getValue());
+            statement.setString(3, deal.getStage());
+            statement.setInt(4, deal.getProbability());
+            if (deal.getCloseDate() == null) {
+                statement.setNull(5, Types.DATE);
+            } else {
+                statement.setDate(5, java.sql.Date.valueOf(deal.getCloseDate()));
+            }
+            statement.setLong(6, deal.getContact().getId());
+            statement.setTimestamp(7, Timestamp.valueOf(deal.getCreatedAt()));
+            statement.setTimestamp(8, Timestamp.valueOf(deal.getUpdatedAt()));
+        });
+        for (int i = 0; i < deals.size(); i++) {
+            deals.get(i).setId(ids.get(i).longValue());
+        }
+    }
+
+    /**
+     * Sets the parameters of one row of a batch insert.
+     */
+    private interface RowBinder {
+        void bind(PreparedStatement statement, int i) throws SQLException;
+    }
+
+    /**
+     * Runs one JDBC batch insert and returns the generated IDs, in insert order.
+     */
+    private List<Number> insertBatch(String sql, int size, RowBinder binder) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(sql, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        binder.bind(statement, i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return size;
+                    }
+                }, keyHolder);
+        return keyHolder.getKeyList().stream().map(keys -> (Number) keys.values().iterator().next()).toList();
+    }
+
+    private static Contact toContact(Lead lead, LocalDateTime now) {
+        Contact contact = new Contact();
+        contact.setFirstName(lead.getFirstName());
+        contact.setLastName(lead.getLastName());
+        contact.setEmail(lead.getEmail());
+        contact.setPhone(lead.getPhone());
+        contact.setCompany(lead.getCompany());
+        contact.setCreatedAt(now);
+        contact.setUpdatedAt(now);
+        return contact;
+    }
+
+    private static Deal toDeal(Lead lead, Long contactId, Deal template, LocalDateTime now) {
+        Deal deal = new Deal();
+        deal.setName(template.getName() != null && !template.getName().isBlank() ? template.getName() : defaultDealName(lead));
+        deal.setValue(template.getValue());
+        deal.setStage(template.getStage() == null ? DEFAULT_DEAL_STAGE : template.getStage());
+        deal.setProbability(template.getProbability() != null ? template.getProbability()
+                : Deal.calculateDefaultProbability(deal.getStage()));
+        deal.setCloseDate(template.getCloseDate());
+        Contact contact = new Contact();
+        contact.setId(contactId);
+        deal.setContact(contact);
+        deal.setCreatedAt(now);
+        deal.setUpdatedAt(now);
+        return deal;
+    }
+
+    /**
+     * The lead's company, or its full name if it has none (deal names are at most 200 characters,
+     * longer than either source column).
+     */
+    private static String defaultDealName(Lead lead) {
+        return lead.getCompany() != null && !lead.getCompany().isBlank()
+                ? lead.getCompany()
+                : lead.getFirstName() + " " + lead.getLastName();
+    }
+
+    /**
+     * Checks the deal template against the Deal column definitions before touching the database.
+     */
+    private static void validateDealTemplate(Deal template) {
+        if (template == null) {
+            return;
+        }
+        if (template.getName() != null && template.getName().length() > 200) {
+            throw new IllegalArgumentException("Deal name cannot exceed 200 characters");
+        }
+        if (template.getStage() != null && (template.getStage().isBlank() || template.getStage().length() > 50)) {
+            throw new IllegalArgumentException("Deal stage must be between 1 and 50 characters");
+        }
+        if (template.getProbability() != null && (template.getProbability() < 0 || template.getProbability() > 100)) {
+            throw new IllegalArgumentException("Deal probability must be between 0 and 100");
+        }
+    }
+
+    private LeadConversionReport toReport(ConversionProgress progress, List<Long> skipped, long start) {
+        long durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Converted {} leads in {} ms ({} contacts created, {} linked, {} deals created, {} skipped)",
+                progress.convertedLeads, durationMs, progress.contactsCreated, progress.contactsLinked,
+                progress.dealsCreated, skipped.size());
+        return new LeadConversionReport(progress.convertedLeads, progress.contactsCreated, progress.contactsLinked,
+                progress.dealsCreated, skipped.subList(0, Math.min(skipped.size(), maxReportedSkipped)),
+                skipped.size() > maxReportedSkipped, durationMs);
+    }
+}
@@ -0,0 +1,32 @@
+package com.ConnectSphere.crmji.service;
+
+import java.util.List;
+
+/**
+ * Result of a bulk lead import.
+ * @param totalRows number of data rows read from the file (header and blank lines excluded)
+ * @param importedRows number of leads inserted
+ * @param failedRows number of rows rejected
+ * @param errors per-row errors, in file order (capped, see errorsTruncated)
+ * @param errorsTruncated true if more rows failed than are listed in errors
+ */
+public record LeadImportReport(
+        long totalRows,
+        long importedRows,
+        long failedRows,
+        List<RowError> errors,
+        boolean errorsTruncated
+) {
+
+    /**
+     * Why a single row was rejected.
+     * @param line the 1-based line number in the uploaded file
+     * @param email the email on the row, if any, to help locate it
+     * @param message the reason the row was rejected
+     */
+    public record RowError(
+            long line,
+            String email,
+            String message
+    ) {}
+}
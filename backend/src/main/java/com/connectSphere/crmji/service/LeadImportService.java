@@ -0,0 +1,337 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk lead import from CSV.
+ *
+ * The file is parsed as a stream and processed in chunks: each chunk is validated in parallel,
+ * checked for duplicate emails with a single IN query, and written with one JDBC batch in its own
+ * transaction. Lead IDs are IDENTITY columns, which stops Hibernate from batching inserts, so the
+ * batch goes through JdbcTemplate; with rewriteBatchedStatements=true on the datasource URL the
+ * MySQL driver sends it as multi-row INSERT statements.
+ *
+ * JDBC inserts raise no JPA callbacks, so an {@link EntityChangeEvent} is published for each imported
+ * lead; the search index and change feed receive them once the lead's transaction commits.
+ *
+ * Expected header columns (case and separators ignored): firstName, lastName, email, phone, company, status.
+ * firstName and lastName are required.
+ */
+@Service
+public class LeadImportService {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO leads (first_name, last_name, email, phone, company, status, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final List<String> KNOWN_COLUMNS = List.of("firstname", "lastname", "email", "phone", "company", "status");
+
+    @Autowired
+    private LeadRepository leadRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.leads.import.chunk-size:1000}") // Rows validated and inserted per transaction
+    private int chunkSize;
+
+    @Value("${app.leads.import.max-reported-errors:1000}") // Cap on row errors returned in the report
+    private int maxReportedErrors;
+
+    /**
+     * A CSV record together with the line it started on.
+     */
+    private record RawRow(long line, List<String> fields) {}
+
+    /**
+     * A row after validation: either a lead ready to insert, or the reason it was rejected.
+     */
+    private record ValidatedRow(long line, Lead lead, String error) {}
+
+    /**
+     * Running totals for one import.
+     */
+    private static class ImportProgress {
+        long totalRows;
+        long importedRows;
+        long failedRows;
+        final List<LeadImportReport.RowError> errors = new ArrayList<>();
+        boolean errorsTruncated;
+    }
+
+    /**
+     * Imports leads from a CSV stream.
+     * @param input the CSV content (UTF-8, with a header row). Not closed by this method.
+     * @return the import report with counts and per-row errors.
+     * @throws IllegalArgumentException if the file is empty or the header lacks required columns.
+     * @throws IOException if the stream cannot be read or the CSV is malformed.
+     */
+    public LeadImportReport importCsv(InputStream input) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8)));
+
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        Map<String, Integer> columns = mapHeader(header);
+
+        ImportProgress progress = new ImportProgress();
+        List<RawRow> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.stream().allMatch(String::isBlank)) {
+                continue; // Skip blank lines
+            }
+            chunk.add(new RawRow(csv.getRecordLineNumber(), record));
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, columns, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, columns, progress);
+        }
+
+        return new LeadImportReport(progress.totalRows, progress.importedRows, progress.failedRows,
+                progress.errors, progress.errorsTruncated);
+    }
+
+    private Map<String, Integer> mapHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String name = header.get(i).replaceAll("[\\s_\\-]", "").toLowerCase(Locale.ROOT);
+            if (KNOWN_COLUMNS.contains(name)) {
+                columns.put(name, i);
+            }
+        }
+        if (!columns.containsKey("firstname") || !columns.containsKey("lastname")) {
+            throw new IllegalArgumentException("CSV header must contain firstName and lastName columns");
+        }
+        return columns;
+    }
+
+    private void processChunk(List<RawRow> chunk, Map<String, Integer> columns, ImportProgress progress) {
+        progress.totalRows += chunk.size();
+
+        // 1. Field validation is CPU-only, so spread it across cores (order is preserved)
+        List<ValidatedRow> validated = chunk.parallelStream()
+                .map(row -> validate(row, columns))
+                .toList();
+
+        List<LeadImportReport.RowError> errors = new ArrayList<>();
+        List<ValidatedRow> candidates = new ArrayList<>(validated.size());
+        for (ValidatedRow row : validated) {
+            if (row.error() != null) {
+                errors.add(new LeadImportReport.RowError(row.line(), null, row.error()));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        // 2. Reject duplicate emails, within the chunk and against the table, with one IN query.
+        // Earlier chunks are already committed, so the table check also catches duplicates across chunks.
+        Set<String> chunkEmails = new HashSet<>();
+        for (ValidatedRow row : candidates) {
+            if (row.lead().getEmail() != null) {
+                chunkEmails.add(row.lead().getEmail().toLowerCase(Locale.ROOT));
+            }
+        }
+        Set<String> existingEmails = new HashSet<>();
+        if (!chunkEmails.isEmpty()) {
+            for (String email : leadRepository.findExistingEmails(chunkEmails)) {
+                existingEmails.add(email.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Set<String> seenEmails = new HashSet<>();
+        List<ValidatedRow> toInsert = new ArrayList<>(candidates.size());
+        for (ValidatedRow row : candidates) {
+            String email = row.lead().getEmail();
+            if (email != null) {
+                String key = email.toLowerCase(Locale.ROOT);
+                if (existingEmails.contains(key)) {
+                    errors.add(new LeadImportReport.RowError(row.line(), email, "A lead with this email already exists"));
+                    continue;
+                }
+                if (!seenEmails.add(key)) {
+                    errors.add(new LeadImportReport.RowError(row.line(), email, "Duplicate email in file"));
+                    continue;
+                }
+            }
+            toInsert.add(row);
+        }
+
+        // 3. Write the remaining rows as one batch in one transaction
+        if (!toInsert.isEmpty()) {
+            try {
+                insertBatch(toInsert);
+                progress.importedRows += toInsert.size();
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent writer inserted one of the emails; retry row by row to find the culprits
+                insertRowByRow(toInsert, errors, progress);
+            }
+        }
+
+        progress.failedRows += errors.size();
+        errors.sort(Comparator.comparingLong(LeadImportReport.RowError::line));
+        for (LeadImportReport.RowError error : errors) {
+            if (progress.errors.size() < maxReportedErrors) {
+                progress.errors.add(error);
+            } else {
+                progress.errorsTruncated = true;
+                break;
+            }
+        }
+    }
+
+    private ValidatedRow validate(RawRow row, Map<String, Integer> columns) {
+        Lead lead = new Lead();
+        lead.setFirstName(field(row, columns, "firstname"));
+        lead.setLastName(field(row, columns, "lastname"));
+        lead.setEmail(field(row, columns, "email"));
+        lead.setPhone(field(row, columns, "phone"));
+        lead.setCompany(field(row, columns, "company"));
+        lead.setStatus(field(row, columns, "status"));
+
+        // Limits mirror the column definitions on the Lead entity
+        String error = null;
+        if (lead.getFirstName() == null) {
+            error = "First name is required";
+        } else if (lead.getLastName() == null) {
+            error = "Last name is required";
+        } else if (lead.getFirstName().length() > 50) {
+            error = "First name cannot exceed 50 characters";
+        } else if (lead.getLastName().length() > 50) {
+            error = "Last name cannot exceed 50 characters";
+        } else if (lead.getEmail() != null && lead.getEmail().length() > 100) {
+            error = "Email cannot exceed 100 characters";
+        } else if (lead.getEmail() != null && !EMAIL_PATTERN.matcher(lead.getEmail()).matches()) {
+            error = "Email is not valid";
+        } else if (lead.getPhone() != null && lead.getPhone().length() > 20) {
+            error = "Phone cannot exceed 20 characters";
+        } else if (lead.getCompany() != null && lead.getCompany().length() > 100) {
+            error = "Company cannot exceed 100 characters";
+        } else if (lead.getStatus() != null && lead.getStatus().length() > 100) {
+            error = "Status cannot exceed 100 characters";
+        }
+
+        return new ValidatedRow(row.line(), error == null ? lead : null, error);
+    }
+
+    /**
+     * Reads a trimmed field from a row, returning null for missing or blank values.
+     */
+    private String field(RawRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        String value = row.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void insertBatch(List<ValidatedRow> rows) {
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int i) throws SQLException {
+                            setInsertArgs(statement, rows.get(i).lead(), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    }, keyHolder);
+
+            // Generated keys come back in insert order, one row per lead
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < rows.size(); i++) {
+                created(rows.get(i).lead(), keys.get(i), now);
+            }
+        });
+    }
+
+    private void insertRowByRow(List<ValidatedRow> rows, List<LeadImportReport.RowError> errors, ImportProgress progress) {
+        LocalDateTime now = LocalDateTime.now();
+        for (ValidatedRow row : rows) {
+            try {
+                KeyHolder keyHolder = new GeneratedKeyHolder();
+                jdbcTemplate.update(connection -> {
+                    PreparedStatement statement = connection.prepareStatement(INSERT_SQL, new String[] {"id"});
+                    setInsertArgs(statement, row.lead(), now);
+                    return statement;
+                }, keyHolder);
+                created(row.lead(), keyHolder.getKeyList().get(0), now);
+                progress.importedRows++;
+            } catch (DataIntegrityViolationException e) {
+                errors.add(new LeadImportReport.RowError(row.line(), row.lead().getEmail(), "A lead with this email already exists"));
+            }
+        }
+    }
+
+    private static void setInsertArgs(PreparedStatement statement, Lead lead, LocalDateTime now) throws SQLException {
+        Timestamp timestamp = Timestamp.valueOf(now);
+        statement.setString(1, lead.getFirstName());
+        statement.setString(2, lead.getLastName());
+        statement.setString(3, lead.getEmail());
+        statement.setString(4, lead.getPhone());
+        statement.setString(5, lead.getCompany());
+        statement.setString(6, lead.getStatus());
+        statement.setTimestamp(7, timestamp);
+        statement.setTimestamp(8, timestamp);
+    }
+
+    /**
+     * Completes an inserted lead with its generated ID and timestamps and announces it. Inside a transaction
+     * the event is delivered when it commits, otherwise (row-by-row retry, autocommit) right away.
+     */
+    private void created(Lead lead, Map<String, Object> key, LocalDateTime now) {
+        lead.setId(((Number) key.values().iterator().next()).longValue());
+        lead.setCreatedAt(now);
+        lead.setUpdatedAt(now);
+        eventPublisher.publishEvent(new EntityChangeEvent(EntityChangeEvent.ChangeType.CREATED, lead));
+    }
+}
@@ -1,9 +1,15 @@
 package com.ConnectSphere.crmji.service;
 
 import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.pagination.CursorPage;
+import com.ConnectSphere.crmji.pagination.KeysetPaginator;
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import com.ConnectSphere.crmji.repository.LeadListItem;
 import com.ConnectSphere.crmji.repository.LeadRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,13 +21,32 @@ public class LeadService {
     @Autowired
     private LeadRepository leadRepository;
 
+    @Autowired
+    private KeysetPaginator paginator;
+
+    /**
+     * Retrieves one page of leads, ordered by ID.
+     * @param cursor the opaque cursor from the previous page, or null for the first page.
+     * @param limit the page size, or null for the configured default.
+     * @return a page of Lead entities with the cursor for the next page.
+     * @throws IllegalArgumentException if the cursor or limit is invalid.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<LeadListItem> getAllLeads(String cursor, Integer limit) {
+        int pageSize = paginator.resolveLimit(limit);
+        // Fetch one extra row to know whether another page exists
+        List<LeadListItem> rows = leadRepository.findByIdGreaterThanOrderByIdAsc(
+                paginator.decodeCursor(cursor), Limit.of(pageSize + 1), LeadListItem.class);
+        return paginator.toPage(rows, pageSize, LeadListItem::id);
+    }
+
     /**
-     * Retrieves all leads from the database.
-     * @return a List of all Lead entities.
+     * Returns the row count and newest updatedAt of all leads, without loading any row.
+     * @return the change stamp that validates cached lead lists.
      */
-    public List<Lead> getAllLeads() {
-        // JpaRepository provides the findAll() method.
-        return leadRepository.findAll();
+    @Transactional(readOnly = true)
+    public ChangeStamp getLeadsChangeStamp() {
+        return leadRepository.findChangeStamp();
     }
 
     /**
@@ -29,6 +54,7 @@ public class LeadService {
      * @param id the ID of the lead to find.
      * @return an Optional containing the found Lead or an empty Optional if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<Lead> getLeadById(Long id) {
         // JpaRepository provides the findById() method.
         return leadRepository.findById(id);
@@ -39,6 +65,7 @@ public class LeadService {
      * @param lead the Lead object to be created.
      * @return the saved Lead object (now with a generated ID and timestamps).
      */
+    @Transactional
     public Lead createLead(Lead lead) {
         // JpaRepository provides the save() method.
         // The @PrePersist method in the Entity will set the timestamps.
@@ -51,6 +78,7 @@ public class LeadService {
      * @param leadDetails the Lead object containing the updated data.
      * @return an Optional containing the updated Lead if found, or an empty Optional if not found.
      */
+    @Transactional
     public Optional<Lead> updateLead(Long id, Lead leadDetails) {
         // 1. Find the existing lead
         Optional<Lead> existingLeadOptional = leadRepository.findById(id);
@@ -94,6 +122,7 @@ public class LeadService {
      * @param id the ID of the lead to delete.
      * @return true if the lead was found and deleted, false otherwise.
      */
+    @Transactional
     public boolean deleteLead(Long id) {
         // 1. Check if the lead exists
         if (leadRepository.existsById(id)) {
@@ -110,6 +139,7 @@ public class LeadService {
      * @param email the email address to search for.
      * @return an Optional containing the found Lead or an empty Optional if not found.
      */
+    @Transactional(readOnly = true)
     public Optional<Lead> getLeadByEmail(String email) {
         // Uses the custom method defined in LeadRepository
         return leadRepository.findByEmail(email);
@@ -122,6 +152,7 @@ public class LeadService {
      * @param newStatus the new status to set for the lead.
      * @return an Optional containing the updated Lead if found, or an empty Optional if not found.
      */
+    @Transactional
     public Optional<Lead> updateLeadStatus(Long id, String newStatus) {
         Optional<Lead> existingLeadOptional = leadRepository.findById(id);
 
@@ -0,0 +1,37 @@
+package com.ConnectSphere.crmji.service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Sales pipeline aggregates, per stage and overall.
+ * @param stages one entry per deal stage, ordered by stage name
+ * @param dealCount total number of deals
+ * @param totalValue sum of all deal values
+ * @param weightedValue sum of value * probability / 100 over all deals
+ * @param averageDealSize average value of deals that have a value (0 if none)
+ */
+public record PipelineAnalytics(
+        List<StageStats> stages,
+        long dealCount,
+        BigDecimal totalValue,
+        BigDecimal weightedValue,
+        BigDecimal averageDealSize
+) {
+
+    /**
+     * Aggregates for a single pipeline stage.
+     * @param stage the stage name (e.g. "PROPOSAL")
+     * @param dealCount number of deals in the stage
+     * @param totalValue sum of deal values in the stage
+     * @param weightedValue sum of value * probability / 100 in the stage
+     * @param averageDealSize average value of deals in the stage that have a value (0 if none)
+     */
+    public record StageStats(
+            String stage,
+            long dealCount,
+            BigDecimal totalValue,
+            BigDecimal weightedValue,
+            BigDecimal averageDealSize
+    ) {}
+}
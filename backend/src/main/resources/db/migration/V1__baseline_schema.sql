@@ -0,0 +1,80 @@
+-- Baseline: the schema Hibernate generated with spring.jpa.hibernate.ddl-auto=update, including its constraint names.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip this script.
+
+create table users (
+    id bigint not null auto_increment,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null,
+    password_hash varchar(120) not null,
+    role varchar(255),
+    enabled bit,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table contacts (
+    id bigint not null auto_increment,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100),
+    phone varchar(20),
+    company varchar(100),
+    job_title varchar(100),
+    notes text,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table leads (
+    id bigint not null auto_increment,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100),
+    phone varchar(20),
+    company varchar(100),
+    status varchar(100),
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table deals (
+    id bigint not null auto_increment,
+    name varchar(200) not null,
+    description text,
+    value decimal(15,2),
+    stage varchar(50) not null,
+    probability integer,
+    close_date date,
+    contact_id bigint not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table activities (
+    id bigint not null auto_increment,
+    type varchar(50) not null,
+    subject varchar(200) not null,
+    notes text,
+    due_date datetime(6),
+    completed bit not null,
+    completion_date datetime(6),
+    contact_id bigint,
+    deal_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table contacts add constraint UK728mksvqr0n907kujew6p3jc0 unique (email);
+alter table leads add constraint UK5dw9kmt497rahmbxg530pqers unique (email);
+
+-- InnoDB also creates an index named after each foreign key (deals.contact_id, activities.contact_id, activities.deal_id)
+alter table deals add constraint FKtnx2uege7rrkv4dvu60boqdrt foreign key (contact_id) references contacts (id);
+alter table activities add constraint FKmdpx4pw34wl4uv1pnuiqfapgv foreign key (contact_id) references contacts (id);
+alter table activities add constraint FK4qgv6mn8mdb4me9m1qg5reums foreign key (deal_id) references deals (id);
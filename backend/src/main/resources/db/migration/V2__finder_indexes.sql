@@ -0,0 +1,20 @@
+-- Indexes for the derived repository finders (checked at startup by FinderIndexVerifier).
+-- Lookups by id, email, deals.contact_id and activities.deal_id are served by the primary keys,
+-- unique constraints and foreign key indexes from V1.
+
+-- DealRepository: findByStage, findByValueGreaterThanEqual, findByCloseDateLessThanEqual, findByProbabilityGreaterThanEqual.
+-- idx_deals_stage also serves the GROUP BY stage of summarizeByStage.
+create index idx_deals_stage on deals (stage);
+create index idx_deals_value on deals (value);
+create index idx_deals_close_date on deals (close_date);
+create index idx_deals_probability on deals (probability);
+
+-- ActivityRepository: findByContactIdAndType (and findByContactId, through the leading column)
+create index idx_activities_contact_type on activities (contact_id, type);
+
+-- ActivityRepository: findByType
+create index idx_activities_type on activities (type);
+
+-- ActivityRepository: findByCompleted, the open-activity due date ranges
+-- (findByDueDate...AndCompletedFalse..., streamOpenWithDueDate): equality on completed, then a range on due_date
+create index idx_activities_completed_due_date on activities (completed, due_date);
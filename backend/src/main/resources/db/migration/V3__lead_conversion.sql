@@ -0,0 +1,8 @@
+-- Lead conversion (LeadConversionService): each converted lead records the contact it became and when.
+-- No foreign key on converted_contact_id, so a converted contact can still be deleted; the lead keeps its history.
+alter table leads add column converted_contact_id bigint;
+alter table leads add column converted_at datetime(6);
+
+-- Conversion by status walks "status = ? and id > ? order by id" in chunks.
+-- InnoDB appends the primary key to secondary indexes, so this is a range scan in id order.
+create index idx_leads_status on leads (status);
@@ -0,0 +1,7 @@
+-- Conditional GETs on the list endpoints validate cached responses with "select count(*), max(updated_at)".
+-- With an index on updated_at the max is read from the end of the index, and the count scans this narrow
+-- index instead of the clustered table.
+create index idx_contacts_updated_at on contacts (updated_at);
+create index idx_leads_updated_at on leads (updated_at);
+create index idx_deals_updated_at on deals (updated_at);
+create index idx_activities_updated_at on activities (updated_at);
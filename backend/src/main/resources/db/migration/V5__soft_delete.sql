@@ -0,0 +1,10 @@
+-- Soft delete (BulkDeleteService): a non-null deleted_at marks a tombstone. The entities exclude tombstones
+-- from every JPA query (@SQLRestriction); the background purger removes them once they are old enough.
+alter table contacts add column deleted_at datetime(6);
+alter table deals add column deleted_at datetime(6);
+alter table activities add column deleted_at datetime(6);
+
+-- The purger selects "deleted_at < ? order by id limit ?"; live rows (NULL) are at the start of the index.
+create index idx_contacts_deleted_at on contacts (deleted_at);
+create index idx_deals_deleted_at on deals (deleted_at);
+create index idx_activities_deleted_at on activities (deleted_at);
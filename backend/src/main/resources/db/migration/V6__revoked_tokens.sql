@@ -0,0 +1,13 @@
+-- Token revocation (TokenRevocationService): JWTs revoked before their expiration, by token ID (jti claim).
+-- A row is only needed until the token expires; expired rows are deleted in batches by every instance.
+create table revoked_tokens (
+    jti varchar(64) not null,
+    user_id bigint,
+    expires_at datetime(6) not null,
+    revoked_at datetime(6) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+-- Instances poll "revoked_at >= ? and expires_at > ?" and purge "expires_at <= ? limit ?"
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
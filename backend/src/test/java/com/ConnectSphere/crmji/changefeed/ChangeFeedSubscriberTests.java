@@ -0,0 +1,113 @@
+package com.ConnectSphere.crmji.changefeed;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedSubscriberTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Keeps what would go over the wire: the JSON payload of every event
+    private final List<JsonNode> sent = new ArrayList<>();
+    private boolean completed;
+    private final SseEmitter emitter = new SseEmitter() {
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    sent.add(objectMapper.readTree((String) part.getData()));
+                }
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    };
+
+    // Drain tasks wait here until the test runs them, as if the client were slow
+    private final List<Runnable> tasks = new ArrayList<>();
+    private final ChangeFeedSubscriber subscriber =
+            new ChangeFeedSubscriber(emitter, Set.of("deals"), 3, tasks::add, objectMapper);
+
+    private long sequence;
+
+    private void offer(String entity, long id, EntityChangeEvent.ChangeType changeType, String name) {
+        String data = changeType == EntityChangeEvent.ChangeType.DELETED ? null : "{\"name\":\"" + name + "\"}";
+        subscriber.offer(new ChangeFeedSubscriber.PendingChange(++sequence, new ChangeFeedMessage(entity, id, changeType, data)));
+    }
+
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    @Test
+    void unsentChangesToOneRecordCollapseIntoTheLatest() {
+        offer("deals", 1, EntityChangeEvent.ChangeType.CREATED, "v1");
+        offer("deals", 2, EntityChangeEvent.ChangeType.UPDATED, "other");
+        offer("deals", 1, EntityChangeEvent.ChangeType.UPDATED, "v2");
+        offer("contacts", 1, EntityChangeEvent.ChangeType.CREATED, "not subscribed");
+        runTasks();
+
+        assertEquals(2, sent.size());
+        assertEquals(2, sent.get(0).get("id").asLong());
+        // Never seen by the client, so still a creation, with the latest state, sent after the other change
+        assertEquals(1, sent.get(1).get("id").asLong());
+        assertEquals("CREATED", sent.get(1).get("changeType").asText());
+        assertEquals("v2", sent.get(1).get("data").get("name").asText());
+        assertFalse(subscriber.isClosed());
+    }
+
+    @Test
+    void deletionReplacesUnsentUpdate() {
+        offer("deals", 1, EntityChangeEvent.ChangeType.UPDATED, "v1");
+        offer("deals", 1, EntityChangeEvent.ChangeType.DELETED, null);
+        runTasks();
+
+        assertEquals(1, sent.size());
+        assertEquals("DELETED", sent.get(0).get("changeType").asText());
+        assertTrue(sent.get(0).get("data").isNull());
+    }
+
+    @Test
+    void repeatedChangesToBufferedRecordsDoNotOverflow() {
+        for (int i = 0; i < 10; i++) {
+            offer("deals", i % 3, EntityChangeEvent.ChangeType.UPDATED, "v" + i);
+        }
+        runTasks();
+
+        assertFalse(subscriber.isClosed());
+        assertEquals(3, sent.size());
+    }
+
+    @Test
+    void overflowingTheBufferDropsEverythingAndDisconnects() {
+        for (int id = 1; id <= 4; id++) {
+            offer("deals", id, EntityChangeEvent.ChangeType.CREATED, "d" + id);
+        }
+        assertTrue(subscriber.isClosed());
+        assertTrue(completed);
+
+        runTasks();
+        offer("deals", 5, EntityChangeEvent.ChangeType.CREATED, "after close");
+        runTasks();
+        assertTrue(sent.isEmpty());
+    }
+}
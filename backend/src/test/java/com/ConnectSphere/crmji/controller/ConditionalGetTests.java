@@ -0,0 +1,88 @@
+package com.ConnectSphere.crmji.controller;
+
+import com.ConnectSphere.crmji.repository.ChangeStamp;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConditionalGetTests {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 1, 15, 9, 30);
+
+    private static ChangeStamp stamp(long rowCount, LocalDateTime lastModified) {
+        return new ChangeStamp() {
+            @Override
+            public Long getRowCount() {
+                return rowCount;
+            }
+
+            @Override
+            public LocalDateTime getLastModified() {
+                return lastModified;
+            }
+        };
+    }
+
+    // Sends a first request, then returns the ETag the client would echo back
+    private static String eTagOf(ChangeStamp stamp) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(ConditionalGet.notModified(new ServletWebRequest(new MockHttpServletRequest("GET", "/api/deals"), response), stamp));
+        String eTag = response.getHeader("ETag");
+        assertNotNull(eTag);
+        assertNotNull(response.getHeader("Last-Modified"));
+        return eTag;
+    }
+
+    private static boolean revalidate(String eTag, ChangeStamp stamp, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/deals");
+        request.addHeader("If-None-Match", eTag);
+        return ConditionalGet.notModified(new ServletWebRequest(request, response), stamp);
+    }
+
+    @Test
+    void unchangedListIsNotModified() {
+        String eTag = eTagOf(stamp(3, UPDATED_AT));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(revalidate(eTag, stamp(3, UPDATED_AT), response));
+        assertEquals(304, response.getStatus());
+    }
+
+    @Test
+    void insertUpdateOrDeleteChangesTheListValidator() {
+        String eTag = eTagOf(stamp(3, UPDATED_AT));
+        assertFalse(revalidate(eTag, stamp(3, UPDATED_AT.plusSeconds(1)), new MockHttpServletResponse()));
+        assertFalse(revalidate(eTag, stamp(2, UPDATED_AT), new MockHttpServletResponse()));
+    }
+
+    @Test
+    void emptyListIsNeverNotModified() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(revalidate("*", stamp(0, null), response));
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void singleEntityValidatorFollowsUpdatedAt() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        assertFalse(ConditionalGet.notModified(
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/api/deals/7"), first), 7L, UPDATED_AT));
+        String eTag = first.getHeader("ETag");
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/deals/7");
+        request.addHeader("If-None-Match", eTag);
+        assertTrue(ConditionalGet.notModified(new ServletWebRequest(request, new MockHttpServletResponse()), 7L, UPDATED_AT));
+
+        MockHttpServletRequest afterUpdate = new MockHttpServletRequest("GET", "/api/deals/7");
+        afterUpdate.addHeader("If-None-Match", eTag);
+        assertFalse(ConditionalGet.notModified(
+                new ServletWebRequest(afterUpdate, new MockHttpServletResponse()), 7L, UPDATED_AT.plusNanos(1_000_000)));
+    }
+}
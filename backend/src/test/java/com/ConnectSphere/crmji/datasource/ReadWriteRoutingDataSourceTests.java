@@ -0,0 +1,123 @@
+package com.ConnectSphere.crmji.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate readWriteTransaction;
+
+    // An embedded database whose single row names it, so a query shows where it was routed
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table if not exists node (name varchar(20))");
+        jdbc.execute("delete from node");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String user) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(user, null, List.of()));
+    }
+
+    @BeforeEach
+    void setUp() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                database("primary"), database("replica"), Duration.ofMinutes(1), 100);
+        routing.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(tx -> node()));
+    }
+
+    @Test
+    void writesAndNonTransactionalAccessUseThePrimary() {
+        assertEquals("primary", readWriteTransaction.execute(tx -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    void readsFollowACommittedWriteOnlyForTheWriter() {
+        authenticate("alice");
+        readWriteTransaction.executeWithoutResult(tx -> jdbcTemplate.update("update node set name = name"));
+        assertEquals("primary", readOnlyTransaction.execute(tx -> node()));
+
+        authenticate("bob");
+        assertEquals("replica", readOnlyTransaction.execute(tx -> node()));
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReads() {
+        authenticate("alice");
+        readWriteTransaction.executeWithoutResult(tx -> {
+            jdbcTemplate.update("update node set name = name");
+            tx.setRollbackOnly();
+        });
+        assertEquals("replica", readOnlyTransaction.execute(tx -> node()));
+    }
+
+    @Test
+    void readFromPrimaryOverridesReadOnly() {
+        assertEquals("primary", ReadWriteRoutingDataSource.readFromPrimary(() -> readOnlyTransaction.execute(tx -> node())));
+        assertEquals("replica", readOnlyTransaction.execute(tx -> node()));
+    }
+
+    @Test
+    void executorThreadsAreRoutedAsTheSubmitter() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1); // One thread, so a leaked context would show up in the next task
+        executor.setTaskDecorator(new RoutingContextTaskDecorator());
+        executor.initialize();
+        try {
+            authenticate("alice");
+            readWriteTransaction.executeWithoutResult(tx -> jdbcTemplate.update("update node set name = name"));
+            assertEquals("primary", CompletableFuture.supplyAsync(
+                    () -> readOnlyTransaction.execute(tx -> node()), executor).join());
+
+            SecurityContextHolder.clearContext();
+            assertEquals("primary", ReadWriteRoutingDataSource.readFromPrimary(() -> CompletableFuture.supplyAsync(
+                    () -> readOnlyTransaction.execute(tx -> node()), executor).join()));
+            assertEquals("replica", CompletableFuture.supplyAsync(
+                    () -> readOnlyTransaction.execute(tx -> node()), executor).join());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.ConnectSphere.crmji.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateDetectorTests {
+
+    private static DuplicateDetector detector() {
+        return new DuplicateDetector(8, 4, 0.6, 1000);
+    }
+
+    private static DedupRecord contact(long id, String first, String last, String email, String phone, String company) {
+        return new DedupRecord(DedupSource.CONTACT, id, first, last, email, phone, company);
+    }
+
+    private static DedupRecord lead(long id, String first, String last, String email, String phone, String company) {
+        return new DedupRecord(DedupSource.LEAD, id, first, last, email, phone, company);
+    }
+
+    private static Set<DedupRecord.Key> keys(List<DedupRecord.Key> cluster) {
+        return Set.copyOf(cluster);
+    }
+
+    @Test
+    void matchesNormalizedEmailAcrossContactsAndLeads() {
+        DuplicateDetector detector = detector();
+        detector.add(contact(1, "Jane", "Doe", "Jane.Doe+crm@gmail.com", null, null));
+        detector.add(lead(1, "J.", "Doe", "janedoe@GMAIL.com", null, null));
+        detector.add(contact(2, "John", "Smith", "john@globex.com", null, "Globex"));
+
+        List<List<DedupRecord.Key>> clusters = detector.findClusters().clusters();
+        assertEquals(1, clusters.size());
+        assertEquals(Set.of(new DedupRecord.Key(DedupSource.CONTACT, 1), new DedupRecord.Key(DedupSource.LEAD, 1)),
+                keys(clusters.get(0)));
+    }
+
+    @Test
+    void matchesPhoneticNamesAtTheSameCompanyOrDomain() {
+        DuplicateDetector detector = detector();
+        detector.add(contact(1, "John", "Smith", "john.smith@acme.com", "+1 (555) 010-2000", "Acme Corp"));
+        detector.add(lead(1, "Jon", "Smyth", "jsmyth@acme.com", null, "ACME Corporation"));
+        detector.add(lead(2, "John", "Smith", "js@initech.com", null, "Initech"));
+        detector.add(lead(3, "Jon", "Smith", "other@acme.com", "555-010-2000", null));
+
+        List<List<DedupRecord.Key>> clusters = detector.findClusters().clusters();
+        assertEquals(1, clusters.size());
+        assertEquals(Set.of(new DedupRecord.Key(DedupSource.CONTACT, 1), new DedupRecord.Key(DedupSource.LEAD, 1),
+                new DedupRecord.Key(DedupSource.LEAD, 3)), keys(clusters.get(0)));
+    }
+
+    @Test
+    void sharedPhoneWithoutLastNamesIsNoMatch() {
+        DuplicateDetector detector = detector();
+        detector.add(contact(1, "Priya", "", "priya@globex.com", "+1 (555) 010-3000", "Globex"));
+        detector.add(lead(1, "Marcus", null, "mw@initech.com", "555-010-3000", "Initech"));
+
+        assertTrue(detector.findClusters().clusters().isEmpty());
+    }
+
+    @Test
+    void matchesSimilarRecordsThroughMinHash() {
+        DuplicateDetector detector = detector();
+        detector.add(contact(1, "Katherine", "Johansson", "kjohansson@northwind.com", null, "Northwind Traders"));
+        detector.add(lead(1, "Katherine", "Johanson", "k.johanson@mail.example", null, "Northwind Trader"));
+        detector.add(lead(2, "Peter", "Parker", "peter@dailybugle.com", null, "Daily Bugle"));
+
+        List<List<DedupRecord.Key>> clusters = detector.findClusters().clusters();
+        assertEquals(1, clusters.size());
+        assertEquals(Set.of(new DedupRecord.Key(DedupSource.CONTACT, 1), new DedupRecord.Key(DedupSource.LEAD, 1)),
+                keys(clusters.get(0)));
+    }
+
+    @Test
+    void freeMailDomainsAreNotACompanyMatch() {
+        DuplicateDetector detector = detector();
+        detector.add(contact(1, "Maria", "Garcia", "maria.g@gmail.com", null, null));
+        detector.add(contact(2, "Mario", "Garcia", "mgarcia77@gmail.com", null, null));
+
+        assertTrue(detector.findClusters().clusters().isEmpty());
+    }
+
+    @Test
+    void skipsOversizedBuckets() {
+        DuplicateDetector detector = new DuplicateDetector(8, 4, 0.6, 2);
+        // Three people behind one switchboard number, with a cap of two records per bucket
+        detector.add(contact(1, "Alice", "Brown", null, "555-000-1234", null));
+        detector.add(contact(2, "Bob", "Brown", null, "555-000-1234", null));
+        detector.add(contact(3, "Carol", "Brown", null, "555-000-1234", null));
+
+        DuplicateDetector.Result result = detector.findClusters();
+        assertTrue(result.clusters().isEmpty());
+        assertEquals(1, result.skippedBuckets());
+    }
+}
@@ -0,0 +1,113 @@
+package com.ConnectSphere.crmji.dedup;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DuplicateScanServiceTests {
+
+    private ContactRepository contactRepository;
+    private LeadRepository leadRepository;
+    private DuplicateScanService service;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository = mock(ContactRepository.class);
+        leadRepository = mock(LeadRepository.class);
+        when(contactRepository.findAllById(anyIterable())).thenReturn(List.of());
+        when(leadRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        service = new DuplicateScanService();
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(service, "contactRepository", contactRepository);
+        ReflectionTestUtils.setField(service, "leadRepository", leadRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(service, "taskExecutor", new TaskExecutorAdapter(Runnable::run)); // Scans inline
+        ReflectionTestUtils.setField(service, "bands", 8);
+        ReflectionTestUtils.setField(service, "rows", 4);
+        ReflectionTestUtils.setField(service, "threshold", 0.6);
+        ReflectionTestUtils.setField(service, "maxBucketSize", 1000);
+        ReflectionTestUtils.setField(service, "maxReportedClusters", 10);
+        service.init();
+    }
+
+    private static Contact contact(long id, String first, String last, String email) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setFirstName(first);
+        contact.setLastName(last);
+        contact.setEmail(email);
+        return contact;
+    }
+
+    private static Lead lead(long id, String first, String last, String email) {
+        Lead lead = new Lead();
+        lead.setId(id);
+        lead.setFirstName(first);
+        lead.setLastName(last);
+        lead.setEmail(email);
+        return lead;
+    }
+
+    @Test
+    void convertedLeadsAreNotScanned() {
+        Lead converted = lead(1, "Jane", "Doe", "jane@acme.com");
+        converted.setConvertedContactId(1L);
+        when(contactRepository.streamAllForExport()).thenReturn(Stream.of(contact(1, "Jane", "Doe", "jane@acme.com")));
+        when(leadRepository.streamAllForExport()).thenReturn(Stream.of(converted, lead(2, "Jon", "Smith", "jon@initech.com")));
+        when(leadRepository.streamUnconverted()).thenReturn(Stream.of(lead(2, "Jon", "Smith", "jon@initech.com")));
+
+        assertTrue(service.startScan());
+
+        DuplicateReport report = service.getLatestReport();
+        assertEquals(2, report.scannedRecords());
+        assertEquals(0, report.clusterCount());
+        verify(leadRepository, never()).streamAllForExport();
+    }
+
+    @Test
+    void unconvertedLeadsStillMatchContacts() {
+        when(contactRepository.streamAllForExport()).thenReturn(Stream.of(contact(1, "Jane", "Doe", "jane@acme.com")));
+        when(leadRepository.streamUnconverted()).thenReturn(Stream.of(lead(1, "Jane", "Doe", "jane@acme.com")));
+
+        service.startScan();
+
+        assertEquals(1, service.getLatestReport().clusterCount());
+    }
+
+    @Test
+    void rejectedScanCanBeRetried() {
+        ReflectionTestUtils.setField(service, "taskExecutor", new TaskExecutorAdapter(task -> {
+            throw new RejectedExecutionException("executor saturated");
+        }));
+
+        assertThrows(RejectedExecutionException.class, service::startScan);
+        assertFalse(service.isScanning());
+
+        when(contactRepository.streamAllForExport()).thenReturn(Stream.empty());
+        when(leadRepository.streamUnconverted()).thenReturn(Stream.empty());
+        ReflectionTestUtils.setField(service, "taskExecutor", new TaskExecutorAdapter(Runnable::run));
+        assertTrue(service.startScan());
+    }
+}
@@ -0,0 +1,122 @@
+package com.ConnectSphere.crmji.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop HTTP load driver used to compare the platform and virtual thread models
+ * (see scripts/thread-model-benchmark.sh). Not a unit test: it needs a running backend and database.
+ *
+ * Each simulated client sends requests back to back for the test duration,
+ * alternating between the given paths. Prints throughput, error count and latency percentiles.
+ *
+ * Usage: ThreadModelLoadDriver baseUrl email password clients durationSeconds path [path...]
+ * Example: ThreadModelLoadDriver http://localhost:8080 admin@example.com secret 1000 60 /api/deals /api/activities
+ */
+public class ThreadModelLoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 6) {
+            System.err.println("Usage: ThreadModelLoadDriver baseUrl email password clients durationSeconds path [path...]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String email = args[1];
+        String password = args[2];
+        int clients = Integer.parseInt(args[3]);
+        Duration duration = Duration.ofSeconds(Long.parseLong(args[4]));
+        List<URI> targets = new ArrayList<>();
+        for (int i = 5; i < args.length; i++) {
+            targets.add(URI.create(baseUrl + args[i]));
+        }
+
+        // The client side always uses virtual threads so it can hold 10k connections cheaply;
+        // only the server's threading model varies between runs.
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpClient http = HttpClient.newBuilder()
+                    .executor(executor)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+            String token = login(http, baseUrl, email, password);
+
+            Histogram latencies = new ConcurrentHistogram(TimeUnit.SECONDS.toMicros(60), 3);
+            LongAdder errors = new LongAdder();
+            long deadline = System.nanoTime() + duration.toNanos();
+
+            List<Future<?>> running = new ArrayList<>(clients);
+            for (int c = 0; c < clients; c++) {
+                int offset = c;
+                running.add(executor.submit(() -> runClient(http, token, targets, offset, deadline, latencies, errors)));
+            }
+            for (Future<?> client : running) {
+                client.get();
+            }
+
+            double seconds = duration.toMillis() / 1000.0;
+            System.out.printf("clients=%d duration=%.0fs requests=%d errors=%d throughput=%.1f req/s%n",
+                    clients, seconds, latencies.getTotalCount(), errors.sum(), latencies.getTotalCount() / seconds);
+            System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f p99.9=%.2f max=%.2f%n",
+                    millis(latencies, 50), millis(latencies, 90), millis(latencies, 99), millis(latencies, 99.9),
+                    latencies.getMaxValue() / 1000.0);
+        }
+    }
+
+    private static void runClient(HttpClient http, String token, List<URI> targets, int offset,
+                                  long deadline, Histogram latencies, LongAdder errors) {
+        int i = offset;
+        while (System.nanoTime() < deadline) {
+            HttpRequest request = HttpRequest.newBuilder(targets.get(i++ % targets.size()))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(60))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                // 404 "no data" is a valid answer from an empty table
+                if (response.statusCode() >= 500 || response.statusCode() == 401 || response.statusCode() == 403) {
+                    errors.increment();
+                }
+            } catch (Exception e) {
+                errors.increment();
+            }
+            latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                    latencies.getHighestTrackableValue()));
+        }
+    }
+
+    private static String login(HttpClient http, String baseUrl, String email, String password) throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        String body = mapper.writeValueAsString(Map.of("email", email, "password", password));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with status " + response.statusCode() + ": " + response.body());
+        }
+        JsonNode json = mapper.readTree(response.body());
+        return json.get("token").asText();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.ConnectSphere.crmji.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTests {
+
+    private static final long SECOND = 1000;
+    private static final long HOUR = 3600 * SECOND;
+    private static final long DAY = 24 * HOUR;
+
+    @Test
+    void firesItemsOnceWhenDueAcrossLevels() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(SECOND, 8, 4, 0);
+        wheel.schedule(1, 5 * SECOND, "soon");
+        wheel.schedule(2, 90 * SECOND, "later"); // Beyond level 0 (8 s), cascades down from level 1/2
+        wheel.schedule(3, 3 * HOUR, "much later"); // Beyond the top level (8^4 s), waits in the overflow bucket
+
+        assertTrue(wheel.advanceTo(5 * SECOND).isEmpty()); // Never early: due tick not yet complete
+        assertEquals(List.of("soon"), wheel.advanceTo(6 * SECOND));
+        assertTrue(wheel.advanceTo(90 * SECOND).isEmpty());
+        assertEquals(List.of("later"), wheel.advanceTo(91 * SECOND));
+        assertTrue(wheel.advanceTo(3 * HOUR).isEmpty());
+        assertEquals(List.of("much later"), wheel.advanceTo(3 * HOUR + SECOND));
+        assertTrue(wheel.advanceTo(DAY).isEmpty());
+        assertEquals(3, wheel.size()); // Expired items stay listed as overdue until cancelled
+    }
+
+    @Test
+    void rescheduleAndCancelReplaceEarlierEntries() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(SECOND, 64, 6, 0);
+        wheel.schedule(1, 10 * SECOND, "a");
+        wheel.schedule(1, 20 * SECOND, "a moved");
+        wheel.schedule(2, 15 * SECOND, "b");
+        wheel.cancel(2);
+        wheel.schedule(3, -5 * SECOND, "already overdue"); // Not reported as newly due
+
+        assertEquals(List.of("a moved"), wheel.advanceTo(HOUR));
+        assertEquals(List.of("already overdue", "a moved"), wheel.dueBefore(HOUR));
+        assertTrue(wheel.cancel(1));
+        assertEquals(List.of("already overdue"), wheel.dueBefore(HOUR));
+    }
+
+    @Test
+    void rangeQueriesMatchABruteForceScan() {
+        long now = 1_700_000_000_000L;
+        HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(SECOND, 64, 6, now);
+        Random random = new Random(42);
+        List<Long> dueTimes = new ArrayList<>();
+        for (long key = 0; key < 5000; key++) {
+            long due = now - 2 * DAY + (long) (random.nextDouble() * 400 * DAY);
+            dueTimes.add(due);
+            wheel.schedule(key, due, due);
+        }
+        long later = now + 2 * HOUR + 123;
+        wheel.advanceTo(later);
+
+        for (long[] range : new long[][] {{later, later + DAY}, {Long.MIN_VALUE, later}, {now - DAY, now + 30 * DAY}, {now + 100 * DAY, now + 101 * DAY}}) {
+            List<Long> expected = dueTimes.stream().filter(due -> due >= range[0] && due < range[1]).sorted().toList();
+            assertEquals(expected, wheel.dueBetween(range[0], range[1]));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ConnectSphere.crmji.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InvertedIndexTests {
+
+    private static final Set<SearchDocumentType> ALL_TYPES = EnumSet.allOf(SearchDocumentType.class);
+
+    private static InvertedIndex.Document contact(long id, String name, String company, String notes) {
+        return new InvertedIndex.Document(SearchDocumentType.CONTACT, id, name, company, List.of(
+                new InvertedIndex.Field(name, 3f),
+                new InvertedIndex.Field(company, 2f),
+                new InvertedIndex.Field(notes, 1f)));
+    }
+
+    private static List<Long> ids(List<SearchHit> hits) {
+        return hits.stream().map(SearchHit::id).toList();
+    }
+
+    @Test
+    void requiresEveryTermAndRanksWeightedFieldsFirst() {
+        InvertedIndex index = new InvertedIndex(2, 64);
+        index.put(contact(1, "Jane Doe", "Acme Corp", "Prefers email"));
+        index.put(contact(2, "John Smith", "Globex", "Introduced by Jane at Acme"));
+        index.put(contact(3, "Jane Roe", "Initech", null));
+
+        assertEquals(List.of(1L, 2L), ids(index.search("jane acme", ALL_TYPES, 10)));
+        assertEquals(List.of(3L), ids(index.search("Jane Initech", ALL_TYPES, 10)));
+        assertTrue(index.search("jane umbrella", ALL_TYPES, 10).isEmpty());
+    }
+
+    @Test
+    void matchesPrefixesAndIgnoresCaseAndAccents() {
+        InvertedIndex index = new InvertedIndex(2, 64);
+        index.put(contact(1, "José Álvarez", "Acmeworks", null));
+
+        assertEquals(List.of(1L), ids(index.search("jose alv", ALL_TYPES, 10)));
+        assertEquals(List.of(1L), ids(index.search("ACME", ALL_TYPES, 10)));
+        assertTrue(index.search("a", ALL_TYPES, 10).isEmpty()); // Below the minimum prefix length
+    }
+
+    @Test
+    void reflectsUpdatesAndRemovalsAcrossCompaction() {
+        InvertedIndex index = new InvertedIndex(2, 64);
+        for (long id = 0; id < 3000; id++) {
+            index.put(contact(id, "Person " + id, "Acme", null));
+        }
+        for (long id = 0; id < 2000; id++) {
+            index.put(contact(id, "Person " + id, "Globex", null)); // Moves to another company
+        }
+        index.remove(SearchDocumentType.CONTACT, 2999);
+
+        assertEquals(3000 - 1, index.size());
+        assertEquals(999, index.search("acme", ALL_TYPES, 5000).size());
+        assertEquals(2000, index.search("globex", ALL_TYPES, 5000).size());
+        assertEquals(List.of(1234L), ids(index.search("person 1234", ALL_TYPES, 10)));
+    }
+
+    @Test
+    void filtersByTypeAndHonoursLimit() {
+        InvertedIndex index = new InvertedIndex(2, 64);
+        index.put(contact(1, "Acme buyer", null, null));
+        index.put(new InvertedIndex.Document(SearchDocumentType.ACTIVITY, 1, "Call Acme", "CALL",
+                List.of(new InvertedIndex.Field("Call Acme", 1.5f))));
+
+        List<SearchHit> activities = index.search("acme", EnumSet.of(SearchDocumentType.ACTIVITY), 10);
+        assertEquals(1, activities.size());
+        assertEquals(SearchDocumentType.ACTIVITY, activities.get(0).type());
+        assertEquals(1, index.search("acme", ALL_TYPES, 1).size());
+    }
+}
@@ -0,0 +1,159 @@
+package com.ConnectSphere.crmji.security;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthTokenFilterTests {
+
+    private static final String SECRET =
+            "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret-0123456789";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CustomUserDetailsService userDetailsService;
+    private TokenRevocationService tokenRevocationService;
+    private PrincipalCache principalCache;
+    private JwtUtils jwtUtils;
+    private AuthTokenFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsService = mock(CustomUserDetailsService.class);
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal("ROLE_USER", true));
+        tokenRevocationService = mock(TokenRevocationService.class);
+
+        principalCache = new PrincipalCache();
+        ReflectionTestUtils.setField(principalCache, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(principalCache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(principalCache, "maxSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttlSeconds", 600L);
+        principalCache.init();
+
+        jwtUtils = jwtUtils(60_000);
+
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "principalCache", principalCache);
+        ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+        ReflectionTestUtils.setField(filter, "principalMode", "claims");
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private JwtUtils jwtUtils(int expirationMs) {
+        JwtUtils utils = new JwtUtils();
+        ReflectionTestUtils.setField(utils, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(utils, "jwtExpirationMs", expirationMs);
+        ReflectionTestUtils.setField(utils, "verifiedCacheMaxSize", 100L);
+        ReflectionTestUtils.setField(utils, "verifiedCacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(utils, "meterRegistry", meterRegistry);
+        utils.init();
+        return utils;
+    }
+
+    private static UserPrincipal principal(String role, boolean enabled) {
+        return new UserPrincipal(1L, "ann@example.com", "{noop}secret",
+                List.of(new SimpleGrantedAuthority(role)), enabled);
+    }
+
+    private static String token(JwtUtils utils) {
+        UserPrincipal principal = principal("ROLE_USER", true);
+        return utils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Runs one request through the filter and returns the authentication it established
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/contacts");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void validTokenIsAuthenticatedFromCachedPrincipal() throws Exception {
+        String token = token(jwtUtils);
+
+        for (int i = 0; i < 2; i++) {
+            Authentication authentication = authenticate(token);
+            assertNotNull(authentication);
+            assertEquals(List.of(new SimpleGrantedAuthority("ROLE_USER")), List.copyOf(authentication.getAuthorities()));
+            assertNull(((UserPrincipal) authentication.getPrincipal()).getPassword());
+        }
+        verify(userDetailsService, times(1)).loadUserById(1L);
+        verify(userDetailsService, never()).loadUserByUsername(any());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String token = token(jwtUtils);
+        String[] parts = token.split("\\.");
+        String payload = parts[1].substring(0, parts[1].length() - 1)
+                + (parts[1].endsWith("A") ? "B" : "A");
+
+        assertNull(authenticate(parts[0] + "." + payload + "." + parts[2]));
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        String token = token(jwtUtils(-60_000));
+
+        assertNull(authenticate(token));
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    @Test
+    void revokedTokenIsRejected() throws Exception {
+        when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+
+        assertNull(authenticate(token(jwtUtils)));
+        verify(tokenRevocationService).isRevoked(any());
+        verify(userDetailsService, never()).loadUserById(any());
+    }
+
+    @Test
+    void userChangeEvictsCachedPrincipalForNextRequest() throws Exception {
+        String token = token(jwtUtils);
+        assertNotNull(authenticate(token));
+
+        // Role change committed; the cached principal still carries the old role until evicted
+        when(userDetailsService.loadUserById(1L)).thenReturn(principal("ROLE_ADMIN", true));
+        assertNotNull(authenticate(token));
+
+        User user = new User();
+        user.setId(1L);
+        principalCache.onEntityChange(new EntityChangeEvent(EntityChangeEvent.ChangeType.UPDATED, user));
+
+        assertNull(authenticate(token));
+        verify(userDetailsService, times(2)).loadUserById(1L);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ConnectSphere.crmji.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtUtilsTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtUtils jwtUtils(long verifiedCacheSize) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret",
+                "test-secret-test-secret-test-secret-test-secret-test-secret-test-secret-0123456789");
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 60_000);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheMaxSize", verifiedCacheSize);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedCacheTtlSeconds", 300L);
+        ReflectionTestUtils.setField(jwtUtils, "meterRegistry", meterRegistry);
+        jwtUtils.init();
+        return jwtUtils;
+    }
+
+    private static String token(JwtUtils jwtUtils) {
+        UserPrincipal principal = new UserPrincipal(1L, "ann@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")), true);
+        return jwtUtils.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    // Signature verifications; cache hits are not timed
+    private long verifications() {
+        return meterRegistry.get("jwt.verify").tag("result", "valid").timer().count();
+    }
+
+    @Test
+    void repeatTokensAreVerifiedOnce() {
+        JwtUtils jwtUtils = jwtUtils(100);
+        String token = token(jwtUtils);
+
+        assertTrue(jwtUtils.parseVerifiedClaims(token).isPresent());
+        assertTrue(jwtUtils.parseVerifiedClaims(token).isPresent());
+        assertEquals(1, verifications());
+    }
+
+    @Test
+    void zeroSizeVerifiesEveryCall() {
+        JwtUtils jwtUtils = jwtUtils(0);
+        String token = token(jwtUtils);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(jwtUtils.parseVerifiedClaims(token).isPresent());
+        }
+        assertEquals(3, verifications());
+    }
+}
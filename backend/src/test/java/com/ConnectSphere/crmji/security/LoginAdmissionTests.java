@@ -0,0 +1,122 @@
+package com.ConnectSphere.crmji.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginAdmissionTests {
+
+    private static final String PASSWORD = "secret";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockLogins;
+    private LoginAdmission admission;
+
+    // Accepts PASSWORD for every account; optionally holds each check until released
+    private Authentication check(Authentication request) {
+        if (blockLogins) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!PASSWORD.equals(request.getCredentials())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(request.getPrincipal(), null, List.of());
+    }
+
+    @BeforeEach
+    void setUp() {
+        admission = new LoginAdmission();
+        ReflectionTestUtils.setField(admission, "authenticationManager", (AuthenticationManager) this::check);
+        ReflectionTestUtils.setField(admission, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(admission, "threads", 1);
+        ReflectionTestUtils.setField(admission, "queueSize", 1);
+        ReflectionTestUtils.setField(admission, "maxWaitMs", 60_000L);
+        ReflectionTestUtils.setField(admission, "maxAccountFailures", 3);
+        ReflectionTestUtils.setField(admission, "accountWindowSeconds", 900L);
+        ReflectionTestUtils.setField(admission, "maxIpFailures", 5);
+        ReflectionTestUtils.setField(admission, "ipWindowSeconds", 300L);
+        ReflectionTestUtils.setField(admission, "maxTracked", 100L);
+        admission.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        admission.shutdown();
+    }
+
+    private void failLogin(String email, String ip) {
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> admission.authenticate(email, "wrong", ip).join());
+        assertInstanceOf(BadCredentialsException.class, error.getCause());
+    }
+
+    @Test
+    void accountIsThrottledAfterRepeatedFailures() {
+        for (int i = 0; i < 3; i++) {
+            failLogin("Ann@Example.com", "10.0.0." + i);
+        }
+        LoginRejectedException rejected = assertThrows(LoginRejectedException.class,
+                () -> admission.authenticate("ann@example.com", PASSWORD, "10.0.0.9"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatus());
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+
+        // Other accounts are unaffected
+        assertTrue(admission.authenticate("bob@example.com", PASSWORD, "10.0.0.9").join().isAuthenticated());
+    }
+
+    @Test
+    void successClearsTheAccountCount() {
+        failLogin("ann@example.com", "10.0.0.1");
+        failLogin("ann@example.com", "10.0.0.1");
+        admission.authenticate("ann@example.com", PASSWORD, "10.0.0.1").join();
+        failLogin("ann@example.com", "10.0.0.1");
+        failLogin("ann@example.com", "10.0.0.1");
+        assertTrue(admission.authenticate("ann@example.com", PASSWORD, "10.0.0.1").join().isAuthenticated());
+    }
+
+    @Test
+    void clientIpIsThrottledAcrossAccounts() {
+        for (int i = 0; i < 5; i++) {
+            failLogin("user" + i + "@example.com", "10.0.0.1");
+        }
+        assertThrows(LoginRejectedException.class, () -> admission.authenticate("new@example.com", PASSWORD, "10.0.0.1"));
+        assertTrue(admission.authenticate("new@example.com", PASSWORD, "10.0.0.2").join().isAuthenticated());
+    }
+
+    @Test
+    void saturatedPoolRejectsImmediately() {
+        blockLogins = true;
+        CompletableFuture<Authentication> running = admission.authenticate("a@example.com", PASSWORD, "10.0.0.1");
+        CompletableFuture<Authentication> queued = admission.authenticate("b@example.com", PASSWORD, "10.0.0.1");
+
+        LoginRejectedException rejected = assertThrows(LoginRejectedException.class,
+                () -> admission.authenticate("c@example.com", PASSWORD, "10.0.0.1"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatus());
+
+        release.countDown();
+        assertTrue(running.join().isAuthenticated());
+        assertTrue(queued.join().isAuthenticated());
+    }
+}
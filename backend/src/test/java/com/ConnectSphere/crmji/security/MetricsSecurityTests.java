@@ -0,0 +1,110 @@
+package com.ConnectSphere.crmji.security;
+
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The Prometheus scrape endpoint through the real security configuration, with a stub in place of the
+ * actuator endpoint and mocks for the JWT collaborators (which this filter chain never reaches).
+ */
+@SpringJUnitWebConfig(MetricsSecurityTests.Config.class)
+@TestPropertySource(properties = {
+        "app.metrics.scrape.username=prometheus",
+        "app.metrics.scrape.password=scrape-secret"
+})
+class MetricsSecurityTests {
+
+    @Configuration
+    @EnableWebMvc
+    @EnableWebSecurity
+    @Import(WebSecurityConfig.class)
+    static class Config {
+
+        @Bean
+        AuthEntryPointJwt authEntryPointJwt() {
+            return new AuthEntryPointJwt();
+        }
+
+        @Bean
+        PrometheusStub prometheusStub() {
+            return new PrometheusStub();
+        }
+    }
+
+    @RestController
+    static class PrometheusStub {
+
+        @GetMapping("/actuator/prometheus")
+        String scrape() {
+            return "# metrics";
+        }
+    }
+
+    @MockitoBean
+    private CustomUserDetailsService userDetailsService;
+
+    @MockitoBean
+    private JwtUtils jwtUtils;
+
+    @MockitoBean
+    private PrincipalCache principalCache;
+
+    @MockitoBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(context.getBean("springSecurityFilterChain", Filter.class))
+                .build();
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder()
+                .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void scrapeWithoutCredentialsIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void scrapeWithWrongPasswordIsUnauthorized() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void scrapeWithCredentialsIsAllowed() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").header("Authorization", basic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,70 @@
+package com.ConnectSphere.crmji.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevokedTokenSetTests {
+
+    private static final long NOW = 1_000_000L;
+
+    private static List<String> tokenIds(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID().toString());
+        }
+        return ids;
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        List<String> added = tokenIds(10_000);
+        added.forEach(filter::put);
+        assertTrue(added.stream().allMatch(filter::mightContain));
+
+        long falsePositives = tokenIds(100_000).stream().filter(filter::mightContain).count();
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives); // ~1,000 expected at 1%
+    }
+
+    @Test
+    void revokedTokensAreFoundOthersAreNot() {
+        RevokedTokenSet revoked = new RevokedTokenSet(100, 0.01);
+        revoked.add("revoked", NOW);
+
+        assertTrue(revoked.contains("revoked"));
+        assertFalse(revoked.contains("other"));
+        assertFalse(revoked.contains(null)); // Tokens issued without a jti
+    }
+
+    @Test
+    void growsBeyondItsInitialCapacity() {
+        RevokedTokenSet revoked = new RevokedTokenSet(10, 0.01);
+        List<String> ids = tokenIds(1_000);
+        ids.forEach(id -> revoked.add(id, NOW));
+
+        assertEquals(1_000, revoked.size());
+        assertTrue(ids.stream().allMatch(revoked::contains));
+        assertTrue(tokenIds(1_000).stream().noneMatch(revoked::contains));
+    }
+
+    @Test
+    void expiredTokensAreForgotten() {
+        RevokedTokenSet revoked = new RevokedTokenSet(100, 0.01);
+        List<String> expiring = tokenIds(50);
+        List<String> live = tokenIds(50);
+        expiring.forEach(id -> revoked.add(id, NOW));
+        live.forEach(id -> revoked.add(id, NOW + 60_000));
+
+        assertEquals(50, revoked.removeExpired(NOW));
+        assertTrue(expiring.stream().noneMatch(revoked::contains));
+        assertTrue(live.stream().allMatch(revoked::contains));
+        assertEquals(50, revoked.size());
+    }
+}
@@ -0,0 +1,133 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Activity;
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.model.Deal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ActivityBulkServiceTests {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private ActivityBulkService service;
+    private final List<EntityChangeEvent> events = new ArrayList<>();
+    private final List<String> existenceChecks = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:activitybulk;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table contacts (id bigint primary key, deleted_at timestamp)");
+        jdbcTemplate.execute("create table deals (id bigint primary key, deleted_at timestamp)");
+        jdbcTemplate.execute("create table activities (id bigint auto_increment primary key, type varchar(50), "
+                + "subject varchar(200), notes text, due_date timestamp, completed boolean, "
+                + "contact_id bigint references contacts(id), deal_id bigint references deals(id), "
+                + "created_at timestamp, updated_at timestamp)");
+        jdbcTemplate.update("insert into contacts (id) values (1), (2)");
+        jdbcTemplate.update("insert into contacts (id, deleted_at) values (3, current_timestamp)");
+        jdbcTemplate.update("insert into deals (id) values (10)");
+
+        service = new ActivityBulkService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "namedJdbcTemplate", new RecordingNamedJdbcTemplate());
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> events.add((EntityChangeEvent) event));
+        ReflectionTestUtils.setField(service, "batchSize", 2);
+        ReflectionTestUtils.setField(service, "maxSize", 100);
+    }
+
+    /**
+     * Records whether each existence check runs inside the insert transaction, and drops the share lock,
+     * which H2 does not support.
+     */
+    private class RecordingNamedJdbcTemplate extends NamedParameterJdbcTemplate {
+
+        RecordingNamedJdbcTemplate() {
+            super(jdbcTemplate);
+        }
+
+        @Override
+        public <T> List<T> queryForList(String sql, SqlParameterSource paramSource, Class<T> elementType) {
+            assertTrue(sql.endsWith(" FOR SHARE"), sql);
+            existenceChecks.add(TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.hasResource(dataSource) ? "in transaction" : "outside transaction");
+            return super.queryForList(sql.substring(0, sql.length() - " FOR SHARE".length()), paramSource, elementType);
+        }
+    }
+
+    private static Activity activity(String subject, Long contactId, Long dealId) {
+        Activity activity = new Activity();
+        activity.setType("CALL");
+        activity.setSubject(subject);
+        if (contactId != null) {
+            Contact contact = new Contact();
+            contact.setId(contactId);
+            activity.setContact(contact);
+        }
+        if (dealId != null) {
+            Deal deal = new Deal();
+            deal.setId(dealId);
+            activity.setDeal(deal);
+        }
+        return activity;
+    }
+
+    private int activityCount() {
+        return jdbcTemplate.queryForObject("select count(*) from activities", Integer.class);
+    }
+
+    @Test
+    void oneMissingReferenceRejectsTheWholeBatch() {
+        IllegalArgumentException deletedContact = assertThrows(IllegalArgumentException.class, () -> service.createActivities(
+                List.of(activity("a", 1L, 10L), activity("b", 2L, null), activity("c", 3L, null))));
+        assertEquals("Contacts not found with IDs: [3]", deletedContact.getMessage());
+
+        IllegalArgumentException missingDeal = assertThrows(IllegalArgumentException.class, () -> service.createActivities(
+                List.of(activity("a", 1L, 10L), activity("b", 2L, 11L))));
+        assertEquals("Deals not found with IDs: [11]", missingDeal.getMessage());
+
+        assertEquals(0, activityCount());
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void existenceChecksRunInTheInsertTransaction() {
+        service.createActivities(List.of(activity("a", 1L, 10L), activity("b", 2L, null)));
+
+        assertEquals(List.of("in transaction", "in transaction"), existenceChecks); // Contacts, then deals
+    }
+
+    @Test
+    void publishesACreatedEventPerActivity() {
+        List<Activity> created = service.createActivities(
+                List.of(activity("a", 1L, 10L), activity("b", 2L, null), activity("c", null, null)));
+
+        assertEquals(jdbcTemplate.queryForList("select id from activities order by id", Long.class),
+                created.stream().map(Activity::getId).toList());
+        assertEquals(created, events.stream().map(event -> {
+            assertEquals(EntityChangeEvent.ChangeType.CREATED, event.changeType());
+            return (Activity) event.entity();
+        }).toList());
+    }
+}
@@ -0,0 +1,161 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BulkDeleteServiceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private BulkDeleteService service;
+    private final List<EntityChangeEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:bulkdelete;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table contacts (id bigint primary key, email varchar(100) unique, "
+                + "updated_at timestamp, deleted_at timestamp)");
+        jdbcTemplate.execute("create table deals (id bigint primary key, contact_id bigint references contacts(id), "
+                + "updated_at timestamp, deleted_at timestamp)");
+        jdbcTemplate.execute("create table activities (id bigint primary key, contact_id bigint references contacts(id), "
+                + "deal_id bigint references deals(id), updated_at timestamp, deleted_at timestamp)");
+        // Contact 1 has deal 10 with activity 100; contact 2 has activity 200 only; contact 3 has nothing
+        jdbcTemplate.execute("insert into contacts (id, email) values (1, 'a@x.com'), (2, 'b@x.com'), (3, 'c@x.com')");
+        jdbcTemplate.execute("insert into deals (id, contact_id) values (10, 1)");
+        jdbcTemplate.execute("insert into activities (id, contact_id, deal_id) values (100, null, 10), (200, 2, null)");
+
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(mock(Cache.class));
+
+        service = new BulkDeleteService();
+        ReflectionTestUtils.setField(service, "namedJdbcTemplate", new NamedParameterJdbcTemplate(dataSource));
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> events.add((EntityChangeEvent) event));
+        ReflectionTestUtils.setField(service, "entityManagerFactory", entityManagerFactory);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxIds", 100);
+        ReflectionTestUtils.setField(service, "maxReportedIds", 100);
+        ReflectionTestUtils.setField(service, "purgeEnabled", true);
+        ReflectionTestUtils.setField(service, "purgeAfterMinutes", 0L);
+        ReflectionTestUtils.setField(service, "purgeBatchSize", 100);
+    }
+
+    private int count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+
+    @Test
+    void withoutCascadeContactsWithDependentsAreBlocked() {
+        BulkDeleteReport report = service.deleteContacts(List.of(1L, 2L, 3L, 4L), false);
+
+        assertEquals(1, report.contactsDeleted());
+        assertEquals(List.of(1L, 2L), report.blockedIds());
+        assertEquals(List.of(4L), report.notFoundIds());
+        assertEquals(2, count("select count(*) from contacts"));
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void cascadeDeletesDealsAndActivitiesFirst() {
+        BulkDeleteReport report = service.deleteContacts(List.of(1L, 2L), true);
+
+        assertEquals(2, report.contactsDeleted());
+        assertEquals(1, report.dealsDeleted());
+        assertEquals(2, report.activitiesDeleted());
+        assertTrue(report.blockedIds().isEmpty());
+        assertEquals(0, count("select count(*) from deals"));
+        assertEquals(0, count("select count(*) from activities"));
+        assertEquals(5, events.stream().filter(e -> e.changeType() == EntityChangeEvent.ChangeType.DELETED).count());
+    }
+
+    @Test
+    void softDeleteTombstonesUntilPurged() {
+        ReflectionTestUtils.setField(service, "softDelete", true);
+
+        BulkDeleteReport report = service.deleteDeals(List.of(10L), true);
+        assertTrue(report.softDelete());
+        assertEquals(1, report.dealsDeleted());
+        assertEquals(1, count("select count(*) from deals where deleted_at is not null"));
+        assertEquals(1, count("select count(*) from activities where id = 100 and deleted_at is not null"));
+
+        // A tombstoned deal no longer blocks its contact, and is not found a second time
+        assertEquals(List.of(10L), service.deleteDeals(List.of(10L), false).notFoundIds());
+        assertTrue(service.deleteContacts(List.of(1L), false).blockedIds().isEmpty());
+
+        service.purgeTombstones(); // activities
+        service.purgeTombstones(); // deals
+        service.purgeTombstones(); // contacts
+        assertEquals(0, count("select count(*) from deals"));
+        assertEquals(2, count("select count(*) from contacts"));
+    }
+
+    @Test
+    void purgeSkipsTombstonesThatLiveRowsReference() {
+        // Live activities linked to a contact and a deal after they were tombstoned
+        jdbcTemplate.update("update contacts set deleted_at = current_timestamp where id in (2, 3)");
+        jdbcTemplate.update("update deals set deleted_at = current_timestamp where id = 10");
+
+        for (int run = 0; run < 4; run++) {
+            service.purgeTombstones();
+        }
+
+        assertEquals(List.of(2L), jdbcTemplate.queryForList("select id from contacts where deleted_at is not null", Long.class));
+        assertEquals(1, count("select count(*) from deals where id = 10"));
+        assertEquals(2, count("select count(*) from activities where deleted_at is null"));
+    }
+
+    @Test
+    void tombstonedEmailCanBeReleased() {
+        ReflectionTestUtils.setField(service, "softDelete", true);
+        service.deleteContacts(List.of(3L), false);
+
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()))
+                .executeWithoutResult(tx -> service.purgeContactsByEmail(List.of("c@x.com", "a@x.com")));
+
+        assertEquals(0, count("select count(*) from contacts where id = 3"));
+        assertEquals(1, count("select count(*) from contacts where id = 1"));
+    }
+
+    @Test
+    void emailsAreNotLookedUpWithoutSoftDelete() {
+        jdbcTemplate.update("update contacts set deleted_at = current_timestamp where id = 3");
+
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()))
+                .executeWithoutResult(tx -> service.purgeContactsByEmail(List.of("c@x.com")));
+
+        assertEquals(1, count("select count(*) from contacts where id = 3")); // Left to the purger
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> service.deleteActivities(List.of()));
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 101; id++) {
+            tooMany.add(id);
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.deleteActivities(tooMany));
+        assertTrue(events.isEmpty());
+    }
+}
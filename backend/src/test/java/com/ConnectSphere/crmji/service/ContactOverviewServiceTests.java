@@ -0,0 +1,93 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.repository.ActivityListItem;
+import com.ConnectSphere.crmji.repository.ActivityRepository;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.ConnectSphere.crmji.repository.DealListItem;
+import com.ConnectSphere.crmji.repository.DealRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ContactOverviewServiceTests {
+
+    private ContactRepository contactRepository;
+    private DealRepository dealRepository;
+    private ActivityRepository activityRepository;
+    private DealService dealService;
+    private ContactOverviewService service;
+
+    @BeforeEach
+    void setUp() {
+        contactRepository = mock(ContactRepository.class);
+        dealRepository = mock(DealRepository.class);
+        activityRepository = mock(ActivityRepository.class);
+        dealService = mock(DealService.class);
+
+        service = new ContactOverviewService();
+        ReflectionTestUtils.setField(service, "contactRepository", contactRepository);
+        ReflectionTestUtils.setField(service, "dealRepository", dealRepository);
+        ReflectionTestUtils.setField(service, "activityRepository", activityRepository);
+        ReflectionTestUtils.setField(service, "dealService", dealService);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "taskDecorator", mock(ObjectProvider.class));
+        ReflectionTestUtils.setField(service, "maxDeals", 2);
+        ReflectionTestUtils.setField(service, "maxActivities", 2);
+        ReflectionTestUtils.setField(service, "threads", 2);
+        ReflectionTestUtils.setField(service, "queueSize", 1);
+        service.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void unknownContactRunsNoOtherQuery() {
+        when(contactRepository.findById(7L)).thenReturn(Optional.empty());
+
+        assertTrue(service.getOverview(7L).isEmpty());
+        verifyNoInteractions(dealRepository, activityRepository, dealService);
+    }
+
+    @Test
+    void overviewListsAreCappedAndFlagged() {
+        Contact contact = new Contact();
+        contact.setId(7L);
+        PipelineAnalytics totals = new PipelineAnalytics(List.of(), 3, BigDecimal.TEN, BigDecimal.ONE, BigDecimal.ONE);
+        when(contactRepository.findById(7L)).thenReturn(Optional.of(contact));
+        when(dealRepository.findByContactIdOrderByIdDesc(7L, Limit.of(3))).thenReturn(LongStream.of(3, 2, 1)
+                .mapToObj(id -> new DealListItem(id, "Deal " + id, null, "PROPOSAL", null, null, null, null)).toList());
+        when(dealService.getPipelineAnalyticsForContact(7L)).thenReturn(totals);
+        when(activityRepository.findByContactIdOrderByIdDesc(7L, Limit.of(3))).thenReturn(
+                List.of(new ActivityListItem(5L, "CALL", "Intro", null, false, null, null, null)));
+
+        ContactOverview overview = service.getOverview(7L).orElseThrow();
+
+        assertSame(contact, overview.contact());
+        assertEquals(List.of(3L, 2L), overview.deals().stream().map(DealListItem::id).toList());
+        assertTrue(overview.hasMoreDeals());
+        assertSame(totals, overview.dealTotals());
+        assertEquals(1, overview.recentActivities().size());
+        assertFalse(overview.hasMoreActivities());
+    }
+}
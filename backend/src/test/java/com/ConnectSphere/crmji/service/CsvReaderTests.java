@@ -0,0 +1,58 @@
+package com.ConnectSphere.crmji.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTests {
+
+    private static CsvReader reader(String csv) {
+        return new CsvReader(new StringReader(csv));
+    }
+
+    @Test
+    void quotedLineBreaksStayInTheFieldAndAdvanceLineNumbers() throws IOException {
+        CsvReader csv = reader("name,notes\nAnn,\"first line\nsecond line\"\r\nBob,plain\n");
+
+        assertEquals(List.of("name", "notes"), csv.readRecord());
+        assertEquals(1, csv.getRecordLineNumber());
+        assertEquals(List.of("Ann", "first line\nsecond line"), csv.readRecord());
+        assertEquals(2, csv.getRecordLineNumber());
+        assertEquals(List.of("Bob", "plain"), csv.readRecord());
+        assertEquals(4, csv.getRecordLineNumber()); // The quoted field spanned lines 2 and 3
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void escapedQuotesAndSeparatorsInQuotedFields() throws IOException {
+        CsvReader csv = reader("\"Say \"\"hi\"\"\",\"a,b\",\"\"\n");
+
+        assertEquals(List.of("Say \"hi\"", "a,b", ""), csv.readRecord());
+    }
+
+    @Test
+    void lastLineWithoutLineBreakIsRead() throws IOException {
+        CsvReader csv = reader("a,b\nc,\"d\"");
+
+        assertEquals(List.of("a", "b"), csv.readRecord());
+        assertEquals(List.of("c", "d"), csv.readRecord());
+        assertEquals(2, csv.getRecordLineNumber());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    void unterminatedQuoteFails() throws IOException {
+        CsvReader csv = reader("a,b\nc,\"never closed\nmore\n");
+
+        csv.readRecord();
+        IOException error = assertThrows(IOException.class, csv::readRecord);
+        assertTrue(error.getMessage().contains("line 2"), error.getMessage());
+    }
+}
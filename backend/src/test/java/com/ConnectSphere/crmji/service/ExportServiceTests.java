@@ -0,0 +1,48 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.model.Contact;
+import com.ConnectSphere.crmji.repository.ContactRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExportServiceTests {
+
+    private static Contact contact(long id) {
+        Contact contact = new Contact();
+        contact.setId(id);
+        contact.setEmail("contact" + id + "@example.com");
+        return contact;
+    }
+
+    @Test
+    void ndjsonHasOneObjectPerLine() throws IOException {
+        ContactRepository contactRepository = mock(ContactRepository.class);
+        when(contactRepository.streamAllForExport()).thenReturn(Stream.of(contact(1), contact(2), contact(3)));
+        ExportService service = new ExportService();
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        ReflectionTestUtils.setField(service, "objectMapper", new ObjectMapper().findAndRegisterModules());
+        ReflectionTestUtils.setField(service, "contactRepository", contactRepository);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(3, service.exportContacts(out, ExportFormat.NDJSON));
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, lines.size());
+        for (String line : lines) {
+            assertTrue(line.startsWith("{\"id\":") && line.endsWith("}"), line);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Lead;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+class LeadConversionServiceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private LeadConversionService service;
+    private final List<EntityChangeEvent> events = new ArrayList<>();
+    private Long failOnLeadId; // Publishing this lead's UPDATED event throws, failing its chunk
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:leadconversion;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table leads (id bigint auto_increment primary key, first_name varchar(50), "
+                + "last_name varchar(50), email varchar(100) unique, phone varchar(20), company varchar(100), "
+                + "status varchar(100), converted_contact_id bigint, converted_at timestamp, "
+                + "created_at timestamp, updated_at timestamp)");
+        jdbcTemplate.execute("create table contacts (id bigint auto_increment primary key, first_name varchar(50), "
+                + "last_name varchar(50), email varchar(100) unique, phone varchar(20), company varchar(100), "
+                + "created_at timestamp, updated_at timestamp, deleted_at timestamp)");
+
+        service = new LeadConversionService();
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "namedJdbcTemplate", new NamedParameterJdbcTemplate(jdbcTemplate));
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> {
+            EntityChangeEvent change = (EntityChangeEvent) event;
+            if (change.entity() instanceof Lead lead && lead.getId().equals(failOnLeadId)) {
+                throw new IllegalStateException("listener failed");
+            }
+            events.add(change);
+        });
+        ReflectionTestUtils.setField(service, "bulkDeleteService", mock(BulkDeleteService.class));
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxIds", 100);
+        ReflectionTestUtils.setField(service, "maxReportedSkipped", 10);
+    }
+
+    private long lead(String firstName, String email, String status) {
+        jdbcTemplate.update("insert into leads (first_name, last_name, email, status, created_at) "
+                + "values (?, 'Lee', ?, ?, current_timestamp)", firstName, email, status);
+        return jdbcTemplate.queryForObject("select id from leads where email = ?", Long.class, email);
+    }
+
+    private long contact(String email) {
+        jdbcTemplate.update("insert into contacts (first_name, last_name, email) values ('Old', 'Contact', ?)", email);
+        return jdbcTemplate.queryForObject("select id from contacts where email = ?", Long.class, email);
+    }
+
+    private Map<String, Object> leadRow(long id) {
+        return jdbcTemplate.queryForMap("select status, converted_contact_id, converted_at from leads where id = ?", id);
+    }
+
+    private Long convertedContactId(long leadId) {
+        return (Long) leadRow(leadId).get("CONVERTED_CONTACT_ID");
+    }
+
+    @Test
+    void alreadyConvertedLeadsAreSkipped() {
+        long converted = lead("Ann", "ann@x.com", "QUALIFIED");
+        jdbcTemplate.update("update leads set converted_contact_id = 99 where id = ?", converted);
+        long open = lead("Bob", "bob@x.com", "QUALIFIED");
+
+        LeadConversionReport byIds = service.convertByIds(List.of(converted, open), null);
+
+        assertEquals(1, byIds.convertedLeads());
+        assertEquals(List.of(converted), byIds.skippedLeadIds());
+        assertEquals(99L, convertedContactId(converted));
+
+        LeadConversionReport byStatus = service.convertByStatus("QUALIFIED", null);
+
+        assertEquals(0, byStatus.convertedLeads());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from contacts", Integer.class));
+    }
+
+    @Test
+    void convertedLeadsPointAtTheirContacts() {
+        long existing = contact("ann@x.com");
+        long linked = lead("Ann", "ANN@x.com", "QUALIFIED");
+        long created = lead("Bob", "bob@x.com", "QUALIFIED");
+        long other = lead("Cy", "cy@x.com", "NEW");
+
+        LeadConversionReport report = service.convertByStatus("QUALIFIED", null);
+
+        assertEquals(2, report.convertedLeads());
+        assertEquals(1, report.contactsCreated());
+        assertEquals(1, report.contactsLinked());
+        assertEquals(existing, convertedContactId(linked));
+        assertEquals(jdbcTemplate.queryForObject("select id from contacts where email = 'bob@x.com'", Long.class),
+                convertedContactId(created));
+        assertNull(convertedContactId(other));
+        for (long id : List.of(linked, created)) {
+            assertEquals(LeadConversionService.CONVERTED_STATUS, leadRow(id).get("STATUS"));
+            assertNotNull(leadRow(id).get("CONVERTED_AT"));
+        }
+
+        List<Long> updatedLeads = events.stream()
+                .filter(event -> event.changeType() == EntityChangeEvent.ChangeType.UPDATED)
+                .map(event -> ((Lead) event.entity()).getId())
+                .toList();
+        assertEquals(List.of(linked, created), updatedLeads);
+    }
+
+    @Test
+    void failedChunkLeavesItsLeadsUnconverted() {
+        List<Long> ids = new ArrayList<>();
+        for (String name : List.of("Ann", "Bob", "Cy", "Di")) {
+            ids.add(lead(name, name.toLowerCase() + "@x.com", "QUALIFIED"));
+        }
+        failOnLeadId = ids.get(3); // The last lead of the second chunk, after its contacts and lead updates were written
+
+        assertThrows(IllegalStateException.class, () -> service.convertByStatus("QUALIFIED", null));
+
+        // The first chunk committed; the second rolled back as a whole
+        for (long id : ids.subList(0, 2)) {
+            assertEquals(LeadConversionService.CONVERTED_STATUS, leadRow(id).get("STATUS"));
+            assertNotNull(convertedContactId(id));
+        }
+        for (long id : ids.subList(2, 4)) {
+            assertEquals("QUALIFIED", leadRow(id).get("STATUS"));
+            assertNull(convertedContactId(id));
+            assertNull(leadRow(id).get("CONVERTED_AT"));
+        }
+        assertEquals(List.of("ann@x.com", "bob@x.com"),
+                jdbcTemplate.queryForList("select email from contacts order by id", String.class));
+    }
+}
@@ -0,0 +1,88 @@
+package com.ConnectSphere.crmji.service;
+
+import com.ConnectSphere.crmji.event.EntityChangeEvent;
+import com.ConnectSphere.crmji.model.Lead;
+import com.ConnectSphere.crmji.repository.LeadRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LeadImportServiceTests {
+
+    private JdbcTemplate jdbcTemplate;
+    private LeadRepository leadRepository;
+    private LeadImportService service;
+    private final List<EntityChangeEvent> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:leadimport;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop all objects");
+        jdbcTemplate.execute("create table leads (id bigint auto_increment primary key, first_name varchar(50), "
+                + "last_name varchar(50), email varchar(100) unique, phone varchar(20), company varchar(100), "
+                + "status varchar(100), created_at timestamp, updated_at timestamp)");
+
+        leadRepository = mock(LeadRepository.class);
+        when(leadRepository.findExistingEmails(anyCollection())).thenReturn(List.of());
+
+        service = new LeadImportService();
+        ReflectionTestUtils.setField(service, "leadRepository", leadRepository);
+        ReflectionTestUtils.setField(service, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(service, "transactionTemplate",
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> events.add((EntityChangeEvent) event));
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "maxReportedErrors", 10);
+    }
+
+    private LeadImportReport importCsv(String csv) throws IOException {
+        return service.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<Long> createdIds() {
+        return events.stream().map(event -> {
+            assertEquals(EntityChangeEvent.ChangeType.CREATED, event.changeType());
+            Lead lead = (Lead) event.entity();
+            assertNotNull(lead.getCreatedAt());
+            return lead.getId();
+        }).toList();
+    }
+
+    @Test
+    void publishesACreatedEventPerImportedLead() throws IOException {
+        LeadImportReport report = importCsv("firstName,lastName,email\nAnn,Lee,ann@x.com\nBob,Ray,bob@x.com\nCy,Fox,\n");
+
+        assertEquals(3, report.importedRows());
+        assertEquals(jdbcTemplate.queryForList("select id from leads order by id", Long.class), createdIds());
+    }
+
+    @Test
+    void rowByRowRetryPublishesOnlyInsertedLeads() throws IOException {
+        // Inserted by someone else after the duplicate check, so the batch fails and rows are retried singly
+        jdbcTemplate.update("insert into leads (first_name, last_name, email) values ('Old', 'Lead', 'bob@x.com')");
+
+        LeadImportReport report = importCsv("firstName,lastName,email\nAnn,Lee,ann@x.com\nBob,Ray,bob@x.com\n");
+
+        assertEquals(1, report.importedRows());
+        assertEquals(jdbcTemplate.queryForList("select id from leads where email = 'ann@x.com'", Long.class), createdIds());
+    }
+}